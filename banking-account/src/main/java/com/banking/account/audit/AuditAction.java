@@ -0,0 +1,49 @@
+package com.banking.account.audit;
+
+/**
+ * What an {@link AuditEvent} records. Reads may be sampled; every action that moves
+ * money or changes an account is always kept.
+ */
+public enum AuditAction {
+    ACCOUNT_CREATED("account-created", false, "customer"),
+    ACCOUNT_READ("account-read", true, null),
+    BALANCE_READ("balance-read", true, null),
+    CUSTOMER_ACCOUNTS_READ("customer-accounts-read", true, "customer"),
+    ACCOUNTS_LISTED("accounts-listed", true, "count"),
+    DEPOSIT("deposit", false, null),
+    WITHDRAWAL("withdrawal", false, null),
+    TRANSFER("transfer", false, "to"),
+    BALANCE_SET("balance-set", false, null),
+    ACCOUNT_RESTORED("account-restored", false, null),
+    ACCOUNT_ACTIVATED("account-activated", false, null),
+    ACCOUNT_DEACTIVATED("account-deactivated", false, null);
+
+    private final String label;
+    private final boolean sampled;
+    private final String relatedKey;
+
+    AuditAction(String label, boolean sampled, String relatedKey) {
+        this.label = label;
+        this.sampled = sampled;
+        this.relatedKey = relatedKey;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Whether events of this action are subject to the read sample rate.
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Field name of the event's related value, such as the receiving account of a
+     * transfer, or null if the action has none.
+     */
+    public String getRelatedKey() {
+        return relatedKey;
+    }
+}
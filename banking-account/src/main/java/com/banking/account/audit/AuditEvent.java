@@ -0,0 +1,91 @@
+package com.banking.account.audit;
+
+import com.banking.core.domain.Money;
+
+import java.time.Instant;
+
+/**
+ * One audited service call. Holds references only; the event is turned into text by
+ * {@link #toJson()} on the audit writer thread, not on the calling thread.
+ */
+public final class AuditEvent {
+    private final long timestamp;
+    private final AuditAction action;
+    private final String accountId;
+    private final String related;
+    private final Money amount;
+
+    /**
+     * @param timestamp milliseconds since the epoch
+     * @param related the value named by {@link AuditAction#getRelatedKey()}, or null
+     * @param amount the amount moved or set, or null
+     */
+    public AuditEvent(long timestamp, AuditAction action, String accountId, String related, Money amount) {
+        this.timestamp = timestamp;
+        this.action = action;
+        this.accountId = accountId;
+        this.related = related;
+        this.amount = amount;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public String getRelated() {
+        return related;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    /**
+     * Formats the event as a single-line JSON object; absent fields are left out.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"time\":\"").append(Instant.ofEpochMilli(timestamp)).append('"');
+        json.append(",\"action\":\"").append(action.getLabel()).append('"');
+        appendField(json, "account", accountId);
+        if (action.getRelatedKey() != null) {
+            appendField(json, action.getRelatedKey(), related);
+        }
+        if (amount != null) {
+            appendField(json, "amount", amount.getAmount().toPlainString());
+            appendField(json, "currency", amount.getCurrency());
+        }
+        return json.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
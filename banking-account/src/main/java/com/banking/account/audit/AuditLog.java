@@ -0,0 +1,277 @@
+package com.banking.account.audit;
+
+import com.banking.core.domain.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous audit trail of service calls. The calling thread only stamps an
+ * {@link AuditEvent} and offers it to a bounded ring buffer; a single writer thread
+ * drains the buffer in batches, formats the events and hands each batch to the
+ * {@link AuditSink}, which flushes once per batch. A request thread never formats
+ * or writes, and waits only in the overload case described below.
+ *
+ * Read actions are kept with the configured sample rate, and dropped if the buffer is
+ * full. Actions that move money or change an account are never sampled or dropped:
+ * when the buffer is full they go to an overflow queue, sixteen times the size of the
+ * buffer, that the writer drains as well, so a burst costs memory rather than
+ * blocking the caller. Only if the writer falls behind by the overflow queue too does
+ * the caller wait for room, rather than lose the event or exhaust the heap. Events
+ * from the overflow queue may be written out of order with those from the buffer;
+ * each carries its own timestamp.
+ *
+ * Once {@link #close()} has started, reads are dropped and every other action is
+ * rejected with an {@link IllegalStateException}. A caller that must not make a change
+ * it cannot audit calls {@link #reserve()} first, which fails the same way while
+ * nothing is changed yet, records the event with {@link #recordReserved} once the
+ * change has succeeded, and then calls {@link #release()}; {@code AccountService}
+ * does this for every change. Close waits for open reservations, and every event
+ * accepted before it started is written before it returns.
+ */
+public class AuditLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    static final int MAX_BATCH = 1024;
+    private static final int OVERFLOW_FACTOR = 16;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final AuditSink sink;
+    private final ArrayBlockingQueue<AuditEvent> buffer;
+    private final ConcurrentLinkedQueue<AuditEvent> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final int overflowCapacity;
+    private final double readSampleRate;
+    private final Thread writer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicInteger recording = new AtomicInteger();
+    private volatile boolean closed;
+
+    public AuditLog(AuditSink sink) {
+        this(sink, DEFAULT_CAPACITY, 1.0);
+    }
+
+    /**
+     * @param capacity events the ring buffer holds before reads are dropped and other
+     *                 events overflow
+     * @param readSampleRate fraction of read actions to keep, from 0 to 1
+     */
+    public AuditLog(AuditSink sink, int capacity, double readSampleRate) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Audit sink cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (!(readSampleRate >= 0.0 && readSampleRate <= 1.0)) {
+            throw new IllegalArgumentException("Read sample rate must be between 0 and 1");
+        }
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.overflowCapacity = capacity * OVERFLOW_FACTOR;
+        this.readSampleRate = readSampleRate;
+        this.writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns the process-wide log that {@link com.banking.account.service.AccountService}
+     * uses unless given one: every event, written through {@link LoggerAuditSink}.
+     */
+    public static AuditLog shared() {
+        return Shared.INSTANCE;
+    }
+
+    public void record(AuditAction action, String accountId, Money amount) {
+        record(action, accountId, null, amount);
+    }
+
+    /**
+     * Queues an event, normally without blocking.
+     *
+     * @param related the value named by {@link AuditAction#getRelatedKey()}, or null
+     * @throws IllegalStateException if the log is closed and the action is not a read
+     */
+    public void record(AuditAction action, String accountId, String related, Money amount) {
+        if (action.isSampled()) {
+            if (readSampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= readSampleRate) {
+                return;
+            }
+            if (closed) {
+                dropped.incrementAndGet();
+                return;
+            }
+            AuditEvent event = new AuditEvent(System.currentTimeMillis(), action, accountId, related, amount);
+            if (!buffer.offer(event)) {
+                dropped.incrementAndGet();
+            }
+            return;
+        }
+        reserve();
+        try {
+            recordReserved(action, accountId, related, amount);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Reserves the log for the events of a change about to be made. Until the matching
+     * {@link #release()}, {@link #recordReserved} accepts events even if close has
+     * started, and close waits for them.
+     *
+     * @throws IllegalStateException if the log is closed
+     */
+    public void reserve() {
+        // Counted before the check, so the writer does not stop before the event is in
+        recording.incrementAndGet();
+        if (closed) {
+            recording.decrementAndGet();
+            throw new IllegalStateException("Audit log is closed");
+        }
+    }
+
+    /**
+     * Queues an event under a reservation taken with {@link #reserve()}. Never rejects
+     * an event that is not a read.
+     */
+    public void recordReserved(AuditAction action, String accountId, String related, Money amount) {
+        if (action.isSampled()) {
+            record(action, accountId, related, amount);
+            return;
+        }
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), action, accountId, related, amount);
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (overflowSize.incrementAndGet() <= overflowCapacity) {
+            overflow.add(event);
+        } else {
+            overflowSize.decrementAndGet();
+            waitForRoom(event);
+        }
+    }
+
+    /**
+     * Ends a reservation taken with {@link #reserve()}, whether or not the change
+     * succeeded and its events were recorded.
+     */
+    public void release() {
+        recording.decrementAndGet();
+    }
+
+    /**
+     * Returns how many events were dropped because the buffer was full or the log closed.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns how many times a caller had to wait because the writer had fallen behind
+     * by the whole buffer and overflow queue.
+     */
+    public long getWaitCount() {
+        return waits.get();
+    }
+
+    /**
+     * Returns how many events the sink has accepted.
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Stops accepting events, waits for open reservations, writes every event accepted,
+     * stops the writer thread and closes the sink.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Events queued after the writer's last drain
+        List<AuditEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (drain(batch) > 0) {
+            write(batch);
+        }
+        sink.close();
+    }
+
+    private void waitForRoom(AuditEvent event) {
+        waits.incrementAndGet();
+        try {
+            buffer.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Still never lose it; the bound is exceeded by one
+            overflowSize.incrementAndGet();
+            overflow.add(event);
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            AuditEvent first;
+            try {
+                first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first != null) {
+                batch.add(first);
+            }
+            if (drain(batch) == 0) {
+                if (closed && recording.get() == 0) {
+                    return;
+                }
+                continue;
+            }
+            write(batch);
+        }
+    }
+
+    private int drain(List<AuditEvent> batch) {
+        buffer.drainTo(batch, MAX_BATCH - batch.size());
+        AuditEvent event;
+        while (batch.size() < MAX_BATCH && (event = overflow.poll()) != null) {
+            overflowSize.decrementAndGet();
+            batch.add(event);
+        }
+        return batch.size();
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            sink.write(batch);
+            written.addAndGet(batch.size());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write {} audit events", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static final class Shared {
+        static final AuditLog INSTANCE = new AuditLog(new LoggerAuditSink());
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.account.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of audit events. Only the {@link AuditLog} writer thread calls a sink,
+ * so implementations need not be thread-safe.
+ */
+public interface AuditSink extends Closeable {
+
+    /**
+     * Writes a batch of events, in order, and flushes them once.
+     */
+    void write(List<AuditEvent> events) throws IOException;
+}
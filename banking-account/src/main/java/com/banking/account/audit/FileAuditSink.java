@@ -0,0 +1,36 @@
+package com.banking.account.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a file as JSON lines. Each batch is written through one buffer
+ * and flushed to the operating system once.
+ */
+public class FileAuditSink implements AuditSink {
+    private final BufferedWriter writer;
+
+    public FileAuditSink(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) throws IOException {
+        for (AuditEvent event : events) {
+            writer.write(event.toJson());
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.banking.account.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Passes events to the {@code com.banking.account.audit} SLF4J logger at INFO, one
+ * JSON line each. The logging backend's appenders then run on the audit writer
+ * thread instead of the request thread.
+ */
+public class LoggerAuditSink implements AuditSink {
+    private static final Logger logger = LoggerFactory.getLogger("com.banking.account.audit");
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        for (AuditEvent event : events) {
+            logger.info(event.toJson());
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
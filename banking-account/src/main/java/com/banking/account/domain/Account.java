@@ -8,19 +8,18 @@ import com.banking.core.domain.Money;
 import com.banking.core.exception.InsufficientFundsException;
 import com.banking.core.exception.InvalidAccountException;
 
-import java.security.SecureRandom;
 import java.util.Objects;
 
 /**
  * Represents a bank account with balance and account details.
  */
 public class Account {
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static volatile AccountIdGenerator idGenerator = SecureAccountIdGenerator.random();
     private final String accountId;
     private final String customerId;
     private final AccountType accountType;
-    private Money balance;
-    private boolean active;
+    private volatile Money balance;
+    private volatile boolean active;
 
     public Account(String customerId, AccountType accountType, Money initialBalance) {
         if (customerId == null || customerId.trim().isEmpty()) {
@@ -33,7 +32,7 @@ public class Account {
             throw new IllegalArgumentException("Initial balance cannot be null");
         }
         
-        this.accountId = generateSecureAccountId();
+        this.accountId = idGenerator.nextId();
         this.customerId = customerId;
         this.accountType = accountType;
         this.balance = initialBalance;
@@ -48,18 +47,15 @@ public class Account {
         this.active = active;
     }
 
-    private String generateSecureAccountId() {
-        byte[] randomBytes = new byte[16];
-        SECURE_RANDOM.nextBytes(randomBytes);
-        return bytesToHex(randomBytes);
-    }
-
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
+    /**
+     * Sets how IDs of newly opened accounts are generated, for example
+     * {@link SecureAccountIdGenerator#timeOrdered()}. Existing accounts keep their IDs.
+     */
+    public static void setIdGenerator(AccountIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Account ID generator cannot be null");
         }
-        return result.toString();
+        idGenerator = generator;
     }
 
     public String getAccountId() {
@@ -82,7 +78,7 @@ public class Account {
         return active;
     }
 
-    public void deposit(Money amount) {
+    public synchronized void deposit(Money amount) {
         validateAccount();
         if (amount == null || amount.getAmount().compareTo(java.math.BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
@@ -90,7 +86,7 @@ public class Account {
         this.balance = this.balance.add(amount);
     }
 
-    public void withdraw(Money amount) {
+    public synchronized void withdraw(Money amount) {
         validateAccount();
         if (amount == null || amount.getAmount().compareTo(java.math.BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
@@ -0,0 +1,13 @@
+package com.banking.account.domain;
+
+/**
+ * Produces IDs for newly opened accounts. Implementations must be thread-safe and
+ * return IDs that are unpredictable and, for practical purposes, unique.
+ *
+ * @see SecureAccountIdGenerator
+ */
+@FunctionalInterface
+public interface AccountIdGenerator {
+
+    String nextId();
+}
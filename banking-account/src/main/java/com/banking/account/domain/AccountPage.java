@@ -0,0 +1,33 @@
+package com.banking.account.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of accounts from a keyset-paginated listing. The cursor is opaque to
+ * callers: pass it back unchanged to fetch the following page.
+ */
+public class AccountPage {
+    private final List<Account> accounts;
+    private final String nextCursor;
+
+    public AccountPage(List<Account> accounts, String nextCursor) {
+        this.accounts = Collections.unmodifiableList(accounts);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Account> getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * Returns the cursor for the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.account.domain;
+
+import com.banking.core.domain.Money;
+
+/**
+ * A single balance change to apply as part of a batch: a credit to one account, a
+ * debit from one account, or both for a transfer. Both legs of a transfer are applied
+ * or rejected together.
+ */
+public final class BalanceMovement {
+    private final String debitAccountId;
+    private final String creditAccountId;
+    private final Money amount;
+
+    private BalanceMovement(String debitAccountId, String creditAccountId, Money amount) {
+        if (debitAccountId == null && creditAccountId == null) {
+            throw new IllegalArgumentException("Movement must debit or credit an account");
+        }
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        this.debitAccountId = debitAccountId;
+        this.creditAccountId = creditAccountId;
+        this.amount = amount;
+    }
+
+    public static BalanceMovement credit(String accountId, Money amount) {
+        return new BalanceMovement(null, accountId, amount);
+    }
+
+    public static BalanceMovement debit(String accountId, Money amount) {
+        return new BalanceMovement(accountId, null, amount);
+    }
+
+    public static BalanceMovement transfer(String fromAccountId, String toAccountId, Money amount) {
+        if (fromAccountId == null || toAccountId == null) {
+            throw new IllegalArgumentException("Transfer requires both accounts");
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        return new BalanceMovement(fromAccountId, toAccountId, amount);
+    }
+
+    /**
+     * Returns the account to debit, or null for a pure credit.
+     */
+    public String getDebitAccountId() {
+        return debitAccountId;
+    }
+
+    /**
+     * Returns the account to credit, or null for a pure debit.
+     */
+    public String getCreditAccountId() {
+        return creditAccountId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BalanceMovement{debit='%s', credit='%s', amount=%s}",
+                debitAccountId, creditAccountId, amount);
+    }
+}
@@ -3,13 +3,19 @@ FIXED CODE FOR: banking-account/src/main/java/com/banking/account/domain/Encrypt
 ================================================================================
 package com.banking.account.domain;
 
-import com.banking.account.util.AWSKMSEncryption;
+import com.banking.account.util.FieldEncryption;
 import com.banking.core.domain.AccountType;
 import com.banking.core.domain.Money;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Wrapper class that stores encrypted sensitive account data in memory.
@@ -20,30 +26,47 @@ import java.math.BigDecimal;
  * are encrypted at rest in memory using AWS KMS for key management. This provides protection 
  * against memory dump attacks and unauthorized access to financial data.
  * 
+ * The encryption engine is shared by all instances and supplied by the owning service,
+ * so field encryption can be done locally under a cached KMS data key (envelope mode)
+ * instead of one KMS round-trip per field.
+ * 
+ * The sensitive fields are packed into one binary record and sealed with a single
+ * {@link FieldEncryption#seal} call, authenticated together with the record version and
+ * the account ID index, so a record cannot be moved to another repository key. The
+ * stored form is the record version (1), in the clear so a reader knows the layout
+ * before opening it, followed by the sealed record. Record plaintext layout:
+ * <pre>
+ *   account ID length (2) | account ID | customer ID length (2) | customer ID |
+ *   currency length (1) | currency | balance scale (2) | unscaled balance length (1) | unscaled balance
+ * </pre>
+ * The balance comes last, so a balance update rewrites only the tail of the opened record
+ * before sealing it again.
+ * 
  * Production-ready implementation:
  * - Uses AWS KMS for secure key management
  * - Follows PCI DSS, SOX, and banking security regulations
  */
 public class EncryptedAccount {
     private static final Logger logger = LoggerFactory.getLogger(EncryptedAccount.class);
-    private final AWSKMSEncryption encryption;
-    private final String encryptedAccountId;
-    private final String encryptedCustomerId;
+    private static final byte RECORD_VERSION = 1;
+    private final FieldEncryption encryption;
+    private final String accountIdIndex;     // Blind index of the account ID, used as the repository key
     private final AccountType accountType;
-    private String encryptedBalanceAmount;  // Encrypted balance amount (mutable for updates)
-    private String encryptedCurrency;       // Encrypted currency (mutable for updates)
+    private volatile byte[] sealedRecord;    // Replaced whole on balance updates, so readers never see half an update
     private boolean active;
     
-    public EncryptedAccount(Account account) {
-        this.encryption = new AWSKMSEncryption();
+    public EncryptedAccount(Account account, String accountIdIndex, FieldEncryption encryption) {
+        if (accountIdIndex == null || accountIdIndex.isEmpty()) {
+            throw new IllegalArgumentException("Account ID index cannot be null or empty");
+        }
+        if (encryption == null) {
+            throw new IllegalArgumentException("Encryption cannot be null");
+        }
+        this.encryption = encryption;
+        this.accountIdIndex = accountIdIndex;
         try {
-            this.encryptedAccountId = encryption.encrypt(account.getAccountId());
-            this.encryptedCustomerId = encryption.encrypt(account.getCustomerId());
             this.accountType = account.getAccountType();
-            Money balance = account.getBalance();
-            // Encrypt balance amount and currency
-            this.encryptedBalanceAmount = encryption.encrypt(balance.getAmount().toString());
-            this.encryptedCurrency = encryption.encrypt(balance.getCurrency());
+            this.sealedRecord = seal(encodeRecord(account.getAccountId(), account.getCustomerId(), account.getBalance()));
             this.active = account.isActive();
         } catch (Exception e) {
             logger.error("Error encrypting account data", e);
@@ -51,39 +74,98 @@ public class EncryptedAccount {
         }
     }
     
+    /**
+     * Rebuilds an account from its stored form, as kept by a store that holds the sealed
+     * record rather than this object. Nothing is decrypted.
+     */
+    public EncryptedAccount(String accountIdIndex, AccountType accountType, boolean active, byte[] sealedRecord,
+                            FieldEncryption encryption) {
+        if (accountIdIndex == null || accountIdIndex.isEmpty()) {
+            throw new IllegalArgumentException("Account ID index cannot be null or empty");
+        }
+        if (accountType == null) {
+            throw new IllegalArgumentException("Account type cannot be null");
+        }
+        if (sealedRecord == null) {
+            throw new IllegalArgumentException("Sealed record cannot be null");
+        }
+        if (encryption == null) {
+            throw new IllegalArgumentException("Encryption cannot be null");
+        }
+        this.encryption = encryption;
+        this.accountIdIndex = accountIdIndex;
+        this.accountType = accountType;
+        this.sealedRecord = sealedRecord;
+        this.active = active;
+    }
+    
     /**
      * Converts encrypted account back to Account domain object.
      * Decrypts all sensitive fields including balance information.
      */
     public Account toAccount() {
+        return toAccount(null);
+    }
+    
+    /**
+     * Converts encrypted account back to Account domain object when the caller
+     * already knows the plaintext account ID (e.g. it was looked up by it),
+     * saving the account ID decoding.
+     */
+    public Account toAccount(String accountId) {
         try {
-            // Decrypt balance information
-            String decryptedAmount = encryption.decrypt(encryptedBalanceAmount);
-            String decryptedCurrency = encryption.decrypt(encryptedCurrency);
-            Money decryptedBalance = new Money(new BigDecimal(decryptedAmount), decryptedCurrency);
-            
-            return new Account(
-                encryption.decrypt(encryptedAccountId),
-                encryption.decrypt(encryptedCustomerId),
-                accountType,
-                decryptedBalance,
-                active
-            );
+            return decodeAccount(open(), accountId);
         } catch (Exception e) {
             logger.error("Error decrypting account data", e);
             throw new RuntimeException("Failed to convert EncryptedAccount to Account", e);
         }
     }
     
+    /**
+     * Converts encrypted account back to Account domain object without waiting on KMS,
+     * so a bulk read can start decrypting every record before it waits for any.
+     */
+    public CompletableFuture<Account> toAccountAsync() {
+        return CompletableFuture.completedFuture(sealedRecord)
+                .thenCompose(stored -> encryption.openAsync(ciphertext(stored), associatedData()))
+                .thenApply(record -> decodeAccount(record, null))
+                .exceptionally(failure -> {
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    logger.error("Error decrypting account data", cause);
+                    throw new RuntimeException("Failed to convert EncryptedAccount to Account", cause);
+                });
+    }
+    
+    /**
+     * Decrypts only what is needed to return the balance.
+     */
+    public Money getBalance() {
+        try {
+            ByteBuffer record = ByteBuffer.wrap(open());
+            skipString(record, null);
+            skipString(record, null);
+            return readBalance(record);
+        } catch (Exception e) {
+            logger.error("Error decrypting balance", e);
+            throw new RuntimeException("Failed to get balance", e);
+        }
+    }
+    
     /**
      * Updates balance (used for deposit/withdraw operations).
-     * Encrypts the new balance amount and currency before storing.
+     * Opens the record, replaces the balance at its tail and seals it again; the
+     * identifying fields are carried over as bytes and never decoded.
      */
     public void updateBalance(Money newBalance) {
         try {
-            // Encrypt the new balance amount and currency before storing
-            this.encryptedBalanceAmount = encryption.encrypt(newBalance.getAmount().toString());
-            this.encryptedCurrency = encryption.encrypt(newBalance.getCurrency());
+            byte[] record = open();
+            ByteBuffer identity = ByteBuffer.wrap(record);
+            skipString(identity, null);
+            skipString(identity, null);
+            byte[] balance = encodeBalance(newBalance);
+            byte[] updated = Arrays.copyOf(record, identity.position() + balance.length);
+            System.arraycopy(balance, 0, updated, identity.position(), balance.length);
+            this.sealedRecord = seal(updated);
         } catch (Exception e) {
             logger.error("Error updating encrypted balance", e);
             throw new RuntimeException("Failed to update balance", e);
@@ -91,11 +173,24 @@ public class EncryptedAccount {
     }
     
     /**
-     * Gets encrypted account ID for map key lookup.
-     * Note: We use encrypted version as key to maintain security.
+     * Gets the blind index of the account ID for map key lookup.
+     * Note: The index is a keyed hash, so the key reveals nothing about the account ID
+     * while still being deterministic, unlike the encrypted account ID.
+     */
+    public String getAccountIdIndex() {
+        return accountIdIndex;
+    }
+    
+    /**
+     * Gets a copy of the stored record holding every sensitive field: the record
+     * version followed by the sealed fields.
      */
-    public String getEncryptedAccountId() {
-        return encryptedAccountId;
+    public byte[] getSealedRecord() {
+        return sealedRecord.clone();
+    }
+    
+    public AccountType getAccountType() {
+        return accountType;
     }
     
     /**
@@ -122,7 +217,7 @@ public class EncryptedAccount {
      */
     public String getAccountId() {
         try {
-            return encryption.decrypt(encryptedAccountId);
+            return readString(ByteBuffer.wrap(open()));
         } catch (Exception e) {
             logger.error("Error decrypting account ID", e);
             throw new RuntimeException("Failed to get account ID", e);
@@ -134,10 +229,111 @@ public class EncryptedAccount {
      */
     public String getCustomerId() {
         try {
-            return encryption.decrypt(encryptedCustomerId);
+            ByteBuffer record = ByteBuffer.wrap(open());
+            skipString(record, null);
+            return readString(record);
         } catch (Exception e) {
             logger.error("Error decrypting customer ID", e);
             throw new RuntimeException("Failed to get customer ID", e);
         }
     }
-}
\ No newline at end of file
+    
+    private Account decodeAccount(byte[] opened, String accountId) {
+        ByteBuffer record = ByteBuffer.wrap(opened);
+        String decryptedAccountId = accountId == null ? readString(record) : skipString(record, accountId);
+        String decryptedCustomerId = readString(record);
+        Money decryptedBalance = readBalance(record);
+        
+        return new Account(
+            decryptedAccountId,
+            decryptedCustomerId,
+            accountType,
+            decryptedBalance,
+            active
+        );
+    }
+    
+    private byte[] seal(byte[] record) {
+        byte[] sealed = encryption.seal(record, associatedData());
+        byte[] stored = new byte[1 + sealed.length];
+        stored[0] = RECORD_VERSION;
+        System.arraycopy(sealed, 0, stored, 1, sealed.length);
+        return stored;
+    }
+    
+    private byte[] open() {
+        return encryption.open(ciphertext(sealedRecord), associatedData());
+    }
+    
+    /**
+     * Checks the version a stored record starts with and returns the sealed part.
+     */
+    private static byte[] ciphertext(byte[] stored) {
+        if (stored.length == 0 || stored[0] != RECORD_VERSION) {
+            throw new IllegalStateException("Unsupported account record version "
+                    + (stored.length == 0 ? "(empty record)" : Byte.toUnsignedInt(stored[0])));
+        }
+        return Arrays.copyOfRange(stored, 1, stored.length);
+    }
+    
+    private byte[] associatedData() {
+        byte[] index = accountIdIndex.getBytes(StandardCharsets.UTF_8);
+        byte[] associatedData = new byte[1 + index.length];
+        associatedData[0] = RECORD_VERSION;
+        System.arraycopy(index, 0, associatedData, 1, index.length);
+        return associatedData;
+    }
+    
+    private static byte[] encodeRecord(String accountId, String customerId, Money balance) {
+        byte[] accountIdBytes = accountId.getBytes(StandardCharsets.UTF_8);
+        byte[] customerIdBytes = customerId.getBytes(StandardCharsets.UTF_8);
+        byte[] balanceBytes = encodeBalance(balance);
+        ByteBuffer record = ByteBuffer.allocate(4 + accountIdBytes.length + customerIdBytes.length + balanceBytes.length);
+        putString(record, accountIdBytes);
+        putString(record, customerIdBytes);
+        return record.put(balanceBytes).array();
+    }
+    
+    private static byte[] encodeBalance(Money balance) {
+        byte[] currency = balance.getCurrency().getBytes(StandardCharsets.UTF_8);
+        byte[] unscaled = balance.getAmount().unscaledValue().toByteArray();
+        int scale = balance.getAmount().scale();
+        if (currency.length > 0xFF || unscaled.length > 0xFF || scale != (short) scale) {
+            throw new IllegalArgumentException("Balance cannot be encoded: " + balance);
+        }
+        return ByteBuffer.allocate(4 + currency.length + unscaled.length)
+                .put((byte) currency.length).put(currency)
+                .putShort((short) scale)
+                .put((byte) unscaled.length).put(unscaled)
+                .array();
+    }
+    
+    private static void putString(ByteBuffer record, byte[] value) {
+        if (value.length > 0xFFFF) {
+            throw new IllegalArgumentException("Field too long to encode: " + value.length + " bytes");
+        }
+        record.putShort((short) value.length).put(value);
+    }
+    
+    private static String readString(ByteBuffer record) {
+        int length = Short.toUnsignedInt(record.getShort());
+        String value = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+    
+    private static String skipString(ByteBuffer record, String value) {
+        int length = Short.toUnsignedInt(record.getShort());
+        record.position(record.position() + length);
+        return value;
+    }
+    
+    private static Money readBalance(ByteBuffer record) {
+        byte[] currency = new byte[Byte.toUnsignedInt(record.get())];
+        record.get(currency);
+        int scale = record.getShort();
+        byte[] unscaled = new byte[Byte.toUnsignedInt(record.get())];
+        record.get(unscaled);
+        return new Money(new BigDecimal(new BigInteger(unscaled), scale), new String(currency, StandardCharsets.UTF_8));
+    }
+}
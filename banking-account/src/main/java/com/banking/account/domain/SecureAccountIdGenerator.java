@@ -0,0 +1,104 @@
+package com.banking.account.domain;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Account IDs of 128 bits written as 32 lowercase hex characters, drawn from a CSPRNG.
+ *
+ * Each thread has its own DRBG, seeded from the platform entropy source, and takes
+ * random bytes from it a buffer at a time, so concurrent account creation neither
+ * contends on one {@link SecureRandom} nor pays a generator call per ID. Hex encoding
+ * goes through a lookup table.
+ *
+ * In {@link #timeOrdered()} mode the first 48 bits are the creation time in
+ * milliseconds and the remaining 80 bits are random, as in a ULID but in the same hex
+ * form as random IDs. IDs created later sort later, so stores keyed or indexed by the
+ * plain account ID insert near the end of the index instead of at random positions.
+ * The account repository itself is keyed by the blind index of the ID, which does not
+ * preserve order, and the creation time becomes visible in the ID.
+ */
+public final class SecureAccountIdGenerator implements AccountIdGenerator {
+    private static final int ID_BYTES = 16;
+    private static final int TIMESTAMP_BYTES = 6;
+    private static final int BUFFER_BYTES = 512;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<RandomBuffer> RANDOM = ThreadLocal.withInitial(RandomBuffer::new);
+
+    private final boolean timeOrdered;
+    private final LongSupplier clock;
+
+    SecureAccountIdGenerator(boolean timeOrdered, LongSupplier clock) {
+        this.timeOrdered = timeOrdered;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a generator of fully random IDs.
+     */
+    public static SecureAccountIdGenerator random() {
+        return new SecureAccountIdGenerator(false, System::currentTimeMillis);
+    }
+
+    /**
+     * Returns a generator of IDs that start with their creation time.
+     */
+    public static SecureAccountIdGenerator timeOrdered() {
+        return new SecureAccountIdGenerator(true, System::currentTimeMillis);
+    }
+
+    @Override
+    public String nextId() {
+        byte[] id = new byte[ID_BYTES];
+        if (timeOrdered) {
+            long millis = clock.getAsLong();
+            for (int i = TIMESTAMP_BYTES - 1; i >= 0; i--) {
+                id[i] = (byte) millis;
+                millis >>>= 8;
+            }
+            RANDOM.get().next(id, TIMESTAMP_BYTES, ID_BYTES - TIMESTAMP_BYTES);
+        } else {
+            RANDOM.get().next(id, 0, ID_BYTES);
+        }
+        return toHex(id);
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * One thread's generator and its unused random bytes.
+     */
+    private static final class RandomBuffer {
+        private final SecureRandom random = newGenerator();
+        private final byte[] buffer = new byte[BUFFER_BYTES];
+        private int position = BUFFER_BYTES;
+
+        void next(byte[] target, int offset, int length) {
+            if (position + length > BUFFER_BYTES) {
+                random.nextBytes(buffer);
+                position = 0;
+            }
+            System.arraycopy(buffer, position, target, offset, length);
+            // Bytes handed out are not kept around in the buffer
+            Arrays.fill(buffer, position, position + length, (byte) 0);
+            position += length;
+        }
+
+        private static SecureRandom newGenerator() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
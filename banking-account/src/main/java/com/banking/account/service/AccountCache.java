@@ -0,0 +1,244 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of decrypted accounts, keyed by account ID, so repeated
+ * reads of a hot account skip the repository lookup and the decryption.
+ *
+ * Eviction is Caffeine's W-TinyLFU: a small admission window in front of a segmented
+ * LRU main region, admitting a candidate only if its estimated access frequency beats
+ * the eviction victim's. A scan of cold accounts therefore cannot flush the hot set.
+ * Entries also expire a fixed time after they were written, which bounds staleness
+ * if the store is ever changed by something other than this service.
+ *
+ * The cache holds private copies: callers always receive a fresh {@link Account}, so
+ * mutating a returned account never changes what the cache holds.
+ *
+ * Concurrent misses on one account share a single load: the first caller reads and
+ * decrypts the account while the others wait on its future, which is dropped again
+ * when the load completes. Loads run outside the cache's locks, so a {@link #put} or
+ * {@link #invalidate} never waits for one. A load overtaken by a put or invalidate of
+ * the same account still answers its waiters but is not cached, so a slow load can
+ * never overwrite a newer value written through.
+ */
+public class AccountCache {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final Cache<String, Account> cache;
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final ConcurrentMap<String, CompletableFuture<Account>> loads = new ConcurrentHashMap<>();
+    private final Ticker ticker;
+
+    public AccountCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maximumSize the most accounts to keep; zero disables caching
+     * @param timeToLive how long an entry may be served after it was written
+     */
+    public AccountCache(long maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    AccountCache(long maximumSize, Duration timeToLive, Ticker ticker, Executor maintenanceExecutor) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .ticker(ticker)
+                .executor(maintenanceExecutor)
+                .recordStats(() -> new EvictionStats(statsCounter))
+                .build();
+    }
+
+    /**
+     * Returns a copy of the cached account, loading and caching it first if absent.
+     * Exceptions thrown by the loader propagate, to every caller waiting on that load,
+     * and nothing is cached.
+     */
+    public Account get(String accountId, Function<String, Account> loader) {
+        return copyOf(load(accountId, loader));
+    }
+
+    /**
+     * Returns the cached balance, loading the account first if absent.
+     */
+    public Money getBalance(String accountId, Function<String, Account> loader) {
+        return load(accountId, loader).getBalance();
+    }
+
+    /**
+     * Caches the given state of an account, replacing any earlier one.
+     */
+    public void put(Account account) {
+        loads.remove(account.getAccountId());
+        cache.put(account.getAccountId(), copyOf(account));
+    }
+
+    public void invalidate(String accountId) {
+        loads.remove(accountId);
+        cache.invalidate(accountId);
+    }
+
+    public void invalidateAll() {
+        loads.clear();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns hit, miss, load and eviction counts since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Runs pending eviction and expiry now rather than on the next access.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /**
+     * Returns the cached account or the result of the account's one in-flight load,
+     * starting that load on this thread if there is none.
+     */
+    private Account load(String accountId, Function<String, Account> loader) {
+        Account cached = cache.asMap().get(accountId);
+        if (cached != null) {
+            statsCounter.recordHits(1);
+            return cached;
+        }
+        statsCounter.recordMisses(1);
+        CompletableFuture<Account> load = new CompletableFuture<>();
+        CompletableFuture<Account> inFlight = loads.putIfAbsent(accountId, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        // A load may have finished between the miss and registering this one
+        cached = cache.asMap().get(accountId);
+        if (cached != null) {
+            loads.remove(accountId, load);
+            load.complete(cached);
+            return cached;
+        }
+
+        long started = ticker.read();
+        Account loaded;
+        try {
+            loaded = copyOf(loader.apply(accountId));
+        } catch (RuntimeException | Error e) {
+            statsCounter.recordLoadFailure(ticker.read() - started);
+            loads.remove(accountId, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+        statsCounter.recordLoadSuccess(ticker.read() - started);
+        // Put and invalidate unregister the load before writing, so it is cached only
+        // if neither overtook it; checked and inserted under the cache's entry lock
+        cache.asMap().computeIfAbsent(accountId, id -> loads.remove(id, load) ? loaded : null);
+        loads.remove(accountId, load);
+        load.complete(loaded);
+        return loaded;
+    }
+
+    private static Account await(CompletableFuture<Account> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hits, misses and loads are counted by {@link #load}, where a load is one read
+     * however many callers share it; the cache's own counts of those are dropped, and
+     * only its evictions are passed on.
+     */
+    private static final class EvictionStats implements StatsCounter {
+        private final StatsCounter delegate;
+
+        EvictionStats(StatsCounter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void recordHits(int count) {
+        }
+
+        @Override
+        public void recordMisses(int count) {
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void recordEviction() {
+            delegate.recordEviction();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void recordEviction(int weight) {
+            delegate.recordEviction(weight);
+        }
+
+        @Override
+        public void recordEviction(int weight, RemovalCause cause) {
+            delegate.recordEviction(weight, cause);
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            return delegate.snapshot();
+        }
+    }
+
+    private static Account copyOf(Account account) {
+        return new Account(account.getAccountId(), account.getCustomerId(), account.getAccountType(),
+                account.getBalance(), account.isActive());
+    }
+}
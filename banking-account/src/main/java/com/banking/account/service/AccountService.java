@@ -3,176 +3,911 @@ FIXED CODE FOR: banking-account/src/main/java/com/banking/account/service/Accoun
 ================================================================================
 package com.banking.account.service;
 
+import com.banking.account.audit.AuditAction;
+import com.banking.account.audit.AuditLog;
 import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountPage;
+import com.banking.account.domain.BalanceMovement;
 import com.banking.account.domain.EncryptedAccount;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.BlindIndexKeyFile;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.FieldEncryption;
+import com.banking.account.util.KmsCryptoGateway;
 import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Currencies;
+import com.banking.core.domain.FastMoney;
 import com.banking.core.domain.Money;
+import com.banking.core.exception.InsufficientFundsException;
 import com.banking.core.exception.InvalidAccountException;
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.Operation;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
 import software.amazon.awssdk.services.kms.KmsClient;
-import software.amazon.awssdk.services.kms.model.DecryptRequest;
-import software.amazon.awssdk.services.kms.model.DecryptResponse;
-import software.amazon.awssdk.services.kms.model.EncryptRequest;
-import software.amazon.awssdk.services.kms.model.EncryptResponse;
-import software.amazon.awssdk.core.SdkBytes;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 @Service
 public class AccountService {
+    public static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_FETCH_SIZE = 500;
+    private static final Runnable NO_COMMIT = () -> { };
+
     private final AccountRepository accountRepository;
-    private final KmsClient kmsClient;
-    private final String kmsKeyId;
+    private final BlindIndex accountIdIndex;
+    private final FieldEncryption fieldEncryption;
+    private final AccountLedger ledger;
+    private final AccountCache cache;
+    private final CustomerAccountIndex customerIndex;
+    private final AuditLog auditLog;
 
+    /**
+     * Creates the service in envelope-encryption mode: account fields are sealed
+     * locally under a cached KMS data key shared by every account.
+     *
+     * @param indexKeyFile where the KMS-encrypted blind index keys are kept; it is
+     *                     created with a new key on first start and must stay with the
+     *                     repository, since accounts are stored under their index
+     */
     @Autowired
-    public AccountService(AccountRepository accountRepository, KmsClient kmsClient, String kmsKeyId) {
+    public AccountService(AccountRepository accountRepository, KmsClient kmsClient, String kmsKeyId,
+                          Path indexKeyFile) {
+        this(accountRepository,
+             new BlindIndex(kmsClient, kmsKeyId, "account-id", new BlindIndexKeyFile(indexKeyFile)),
+             new EnvelopeEncryption(new DataKeyCache(kmsClient, kmsKeyId)));
+    }
+
+    /**
+     * Creates the service in envelope-encryption mode, unwrapping data keys that are
+     * not cached through {@code kmsAsyncClient}, so bulk reads of accounts sealed under
+     * many data keys wait on those KMS calls in parallel rather than one by one.
+     */
+    public AccountService(AccountRepository accountRepository, KmsClient kmsClient, KmsAsyncClient kmsAsyncClient,
+                          String kmsKeyId, Path indexKeyFile) {
+        this(accountRepository,
+             new BlindIndex(kmsClient, kmsKeyId, "account-id", new BlindIndexKeyFile(indexKeyFile)),
+             new EnvelopeEncryption(new DataKeyCache(kmsClient, kmsKeyId,
+                     new KmsCryptoGateway(kmsAsyncClient, kmsKeyId))));
+    }
+
+    public AccountService(AccountRepository accountRepository, BlindIndex accountIdIndex,
+                          FieldEncryption fieldEncryption) {
+        this(accountRepository, accountIdIndex, fieldEncryption, new AccountLedger());
+    }
+
+    public AccountService(AccountRepository accountRepository, BlindIndex accountIdIndex,
+                          FieldEncryption fieldEncryption, AccountLedger ledger) {
+        this(accountRepository, accountIdIndex, fieldEncryption, ledger, new AccountCache());
+    }
+
+    /**
+     * @param cache decrypted accounts served by {@link #getAccount} and {@link #getBalance};
+     *              every balance or status change made here updates or invalidates it
+     */
+    public AccountService(AccountRepository accountRepository, BlindIndex accountIdIndex,
+                          FieldEncryption fieldEncryption, AccountLedger ledger, AccountCache cache) {
+        this(accountRepository, accountIdIndex, fieldEncryption, ledger, cache,
+             new CustomerAccountIndex(accountIdIndex));
+    }
+
+    /**
+     * @param customerIndex customer-to-accounts index serving {@link #getAccountsByCustomer};
+     *                      every account created or restored here is added to it
+     */
+    public AccountService(AccountRepository accountRepository, BlindIndex accountIdIndex,
+                          FieldEncryption fieldEncryption, AccountLedger ledger, AccountCache cache,
+                          CustomerAccountIndex customerIndex) {
+        this(accountRepository, accountIdIndex, fieldEncryption, ledger, cache, customerIndex, AuditLog.shared());
+    }
+
+    /**
+     * @param auditLog receives an event for every account read and change made here,
+     *                 in place of per-call log lines, without blocking the caller
+     */
+    public AccountService(AccountRepository accountRepository, BlindIndex accountIdIndex,
+                          FieldEncryption fieldEncryption, AccountLedger ledger, AccountCache cache,
+                          CustomerAccountIndex customerIndex, AuditLog auditLog) {
         this.accountRepository = accountRepository;
-        this.kmsClient = kmsClient;
-        this.kmsKeyId = kmsKeyId;
+        this.accountIdIndex = accountIdIndex;
+        this.fieldEncryption = fieldEncryption;
+        this.ledger = ledger;
+        this.cache = cache;
+        this.customerIndex = customerIndex;
+        this.auditLog = auditLog;
     }
 
     @Transactional
     public Account createAccount(String customerId, AccountType accountType, Money initialBalance) {
-        logger.info("Creating account for customer: {}, type: {}, initial balance: {}", customerId, accountType, initialBalance);
+        return createAccount(customerId, accountType, initialBalance, account -> { });
+    }
+
+    /**
+     * Creates an account, passing it to {@code beforeSave} once its ID is assigned and
+     * before it is stored. If {@code beforeSave} throws, nothing is stored, so a caller
+     * that journals the opening there never stores an account the journal lacks.
+     */
+    @Transactional
+    public Account createAccount(String customerId, AccountType accountType, Money initialBalance,
+                                 Consumer<Account> beforeSave) {
+        long started = Metrics.begin(Operation.ACCOUNT_CREATE);
+        try {
+            return doCreateAccount(customerId, accountType, initialBalance, beforeSave);
+        } finally {
+            Metrics.end(Operation.ACCOUNT_CREATE, started);
+        }
+    }
+
+    private Account doCreateAccount(String customerId, AccountType accountType, Money initialBalance,
+                                    Consumer<Account> beforeSave) {
+        auditLog.reserve();
+        try {
+            Account createdAccount = storeNewAccount(customerId, accountType, initialBalance, beforeSave);
+            auditLog.recordReserved(AuditAction.ACCOUNT_CREATED, createdAccount.getAccountId(), customerId,
+                    initialBalance);
+            return createdAccount;
+        } finally {
+            auditLog.release();
+        }
+    }
+
+    private Account storeNewAccount(String customerId, AccountType accountType, Money initialBalance,
+                                    Consumer<Account> beforeSave) {
         Account account = new Account(customerId, accountType, initialBalance);
-        EncryptedAccount encryptedAccount = new EncryptedAccount(account, encryptData(account.getAccountId()));
-        Account createdAccount = accountRepository.save(encryptedAccount).toAccount(decryptData(encryptedAccount.getEncryptedAccountId()));
-        logger.info("Account created successfully: {}", createdAccount.getAccountId());
+        beforeSave.accept(account);
+        String accountKey = accountIdIndex.compute(account.getAccountId());
+        EncryptedAccount encryptedAccount = new EncryptedAccount(account, accountKey, fieldEncryption);
+        // Index before saving so a reader never sees a stored account the index misses;
+        // a key whose save failed is dropped again, and lookups skip keys with no row.
+        customerIndex.add(customerId, accountKey);
+        Account createdAccount;
+        try {
+            createdAccount = save(encryptedAccount).toAccount(account.getAccountId());
+        } catch (RuntimeException e) {
+            customerIndex.remove(customerId, accountKey);
+            throw e;
+        }
+        cache.put(createdAccount);
         return createdAccount;
     }
 
     @Transactional(readOnly = true)
     public Account getAccount(String accountId) {
-        logger.info("Retrieving account: {}", accountId);
-        EncryptedAccount encryptedAccount = accountRepository.findById(encryptData(accountId))
-                .orElseThrow(() -> {
-                    logger.warn("Account not found: {}", accountId);
-                    return new InvalidAccountException("Account not found: " + accountId);
-                });
-        Account account = encryptedAccount.toAccount(decryptData(encryptedAccount.getEncryptedAccountId()));
-        logger.info("Account retrieved successfully: {}", accountId);
-        return account;
+        long started = Metrics.begin(Operation.ACCOUNT_GET);
+        try {
+            Account account = cache.get(accountId, this::loadAccount);
+            auditLog.record(AuditAction.ACCOUNT_READ, accountId, null);
+            return account;
+        } finally {
+            Metrics.end(Operation.ACCOUNT_GET, started);
+        }
     }
 
+    /**
+     * Returns the customer's accounts in the order they were created. Only those accounts
+     * are read and decrypted, through the customer index; the first call after startup
+     * also indexes any accounts that were already in the store.
+     */
     @Transactional(readOnly = true)
     public List<Account> getAccountsByCustomer(String customerId) {
-        logger.info("Retrieving accounts for customer: {}", customerId);
-        List<Account> customerAccounts = new ArrayList<>();
-        for (EncryptedAccount encryptedAccount : accountRepository.findByCustomerId(customerId)) {
-            customerAccounts.add(encryptedAccount.toAccount(decryptData(encryptedAccount.getEncryptedAccountId())));
+        ensureCustomerIndexComplete();
+        List<EncryptedAccount> rows = new ArrayList<>();
+        for (String accountKey : customerIndex.accountKeys(customerId)) {
+            findByKey(accountKey).ifPresent(rows::add);
         }
-        logger.info("Retrieved {} accounts for customer: {}", customerAccounts.size(), customerId);
+        List<Account> customerAccounts = decryptAll(rows);
+        auditLog.record(AuditAction.CUSTOMER_ACCOUNTS_READ, null, customerId, null);
         return customerAccounts;
     }
 
     @Transactional(readOnly = true)
     public List<Account> getAllAccounts() {
-        logger.info("Retrieving all accounts");
-        List<Account> allAccounts = new ArrayList<>();
-        for (EncryptedAccount encryptedAccount : accountRepository.findAll()) {
-            allAccounts.add(encryptedAccount.toAccount(decryptData(encryptedAccount.getEncryptedAccountId())));
-        }
-        logger.info("Retrieved {} accounts in total", allAccounts.size());
+        List<Account> allAccounts = decryptAll(accountRepository.findAll());
+        auditLog.record(AuditAction.ACCOUNTS_LISTED, null, String.valueOf(allAccounts.size()), null);
         return allAccounts;
     }
 
+    /**
+     * Returns one page of accounts in repository key order. Keyset pagination: the
+     * cursor is the blind index of the last account returned, so each page is a bounded
+     * range read and deep pages cost the same as the first.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit the page size, between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public AccountPage getAccountsPage(String cursor, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Fetch one extra row to learn whether another page follows
+        List<EncryptedAccount> rows = accountRepository.findPageAfter(cursor, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<Account> accounts = decryptAll(hasNext ? rows.subList(0, limit) : rows);
+        String nextCursor = hasNext ? rows.get(limit - 1).getAccountIdIndex() : null;
+        auditLog.record(AuditAction.ACCOUNTS_LISTED, null, String.valueOf(accounts.size()), null);
+        return new AccountPage(accounts, nextCursor);
+    }
+
+    /**
+     * Streams every account to the consumer in repository key order. Rows are read and
+     * decrypted a page at a time, so memory use is bounded by {@link #STREAM_FETCH_SIZE} no matter how many accounts exist.
+     */
+    @Transactional(readOnly = true)
+    public void forEachAccount(Consumer<Account> consumer) {
+        long count = 0;
+        String cursor = null;
+        List<EncryptedAccount> rows;
+        do {
+            rows = accountRepository.findPageAfter(cursor, STREAM_FETCH_SIZE);
+            decryptAll(rows).forEach(consumer);
+            if (!rows.isEmpty()) {
+                cursor = rows.get(rows.size() - 1).getAccountIdIndex();
+            }
+            count += rows.size();
+        } while (rows.size() == STREAM_FETCH_SIZE);
+        auditLog.record(AuditAction.ACCOUNTS_LISTED, null, String.valueOf(count), null);
+    }
+
     @Transactional
     public void deactivateAccount(String accountId) {
-        logger.info("Deactivating account: {}", accountId);
-        EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
-        encryptedAccount.deactivate();
-        accountRepository.save(encryptedAccount);
-        logger.info("Account deactivated successfully: {}", accountId);
+        audited(AuditAction.ACCOUNT_DEACTIVATED, accountId, null, null, () -> ledger.execute(accountId, () -> {
+            EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
+            encryptedAccount.deactivate();
+            try {
+                save(encryptedAccount);
+            } finally {
+                cache.invalidate(accountId);
+            }
+        }));
     }
 
     @Transactional
     public void activateAccount(String accountId) {
-        logger.info("Activating account: {}", accountId);
-        EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
-        encryptedAccount.activate();
-        accountRepository.save(encryptedAccount);
-        logger.info("Account activated successfully: {}", accountId);
+        audited(AuditAction.ACCOUNT_ACTIVATED, accountId, null, null, () -> ledger.execute(accountId, () -> {
+            EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
+            encryptedAccount.activate();
+            try {
+                save(encryptedAccount);
+            } finally {
+                cache.invalidate(accountId);
+            }
+        }));
     }
 
     @Transactional(readOnly = true)
     public Money getBalance(String accountId) {
-        logger.info("Retrieving balance for account: {}", accountId);
-        Account account = getAccount(accountId);
-        logger.info("Balance retrieved for account {}: {}", accountId, account.getBalance());
-        return account.getBalance();
+        long started = Metrics.begin(Operation.ACCOUNT_GET_BALANCE);
+        try {
+            Money balance = cache.getBalance(accountId, this::loadAccount);
+            auditLog.record(AuditAction.BALANCE_READ, accountId, null);
+            return balance;
+        } finally {
+            Metrics.end(Operation.ACCOUNT_GET_BALANCE, started);
+        }
     }
 
     @Transactional
     public void deposit(String accountId, Money amount) {
-        logger.info("Depositing {} to account: {}", amount, accountId);
-        EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
-        Account account = encryptedAccount.toAccount(decryptData(encryptedAccount.getEncryptedAccountId()));
-        account.deposit(amount);
-        encryptedAccount.updateBalance(account.getBalance());
-        accountRepository.save(encryptedAccount);
-        logger.info("Deposit successful for account {}: {}", accountId, amount);
+        deposit(accountId, amount, NO_COMMIT);
+    }
+
+    /**
+     * Deposits {@code amount} and runs {@code commit} while the account is still locked,
+     * after the new balance is written. If {@code commit} throws, the balance is
+     * restored and the exception rethrown, so a caller that journals the deposit in
+     * {@code commit} never leaves a balance change without its journal record.
+     */
+    @Transactional
+    public void deposit(String accountId, Money amount, Runnable commit) {
+        long started = Metrics.begin(Operation.ACCOUNT_DEPOSIT);
+        try {
+            audited(AuditAction.DEPOSIT, accountId, null, amount, () -> ledger.execute(accountId, () -> {
+                EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
+                Account account = encryptedAccount.toAccount(accountId);
+                Money originalBalance = account.getBalance();
+                account.deposit(amount);
+                writeBalance(accountId, encryptedAccount, account, originalBalance, commit);
+            }));
+        } finally {
+            Metrics.end(Operation.ACCOUNT_DEPOSIT, started);
+        }
     }
 
     @Transactional
     public void withdraw(String accountId, Money amount) {
-        logger.info("Withdrawing {} from account: {}", amount, accountId);
-        EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
-        Account account = encryptedAccount.toAccount(decryptData(encryptedAccount.getEncryptedAccountId()));
-        account.withdraw(amount);
+        withdraw(accountId, amount, NO_COMMIT);
+    }
+
+    /**
+     * Withdraws {@code amount} and runs {@code commit} while the account is still
+     * locked, as {@link #deposit(String, Money, Runnable)} does.
+     */
+    @Transactional
+    public void withdraw(String accountId, Money amount, Runnable commit) {
+        long started = Metrics.begin(Operation.ACCOUNT_WITHDRAW);
+        try {
+            audited(AuditAction.WITHDRAWAL, accountId, null, amount, () -> ledger.execute(accountId, () -> {
+                EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
+                Account account = encryptedAccount.toAccount(accountId);
+                Money originalBalance = account.getBalance();
+                account.withdraw(amount);
+                writeBalance(accountId, encryptedAccount, account, originalBalance, commit);
+            }));
+        } finally {
+            Metrics.end(Operation.ACCOUNT_WITHDRAW, started);
+        }
+    }
+
+    /**
+     * Runs {@code change} and records its audit event once it has succeeded. The audit
+     * log is reserved first, so a closed log rejects the change before anything is
+     * written rather than after it has been made.
+     */
+    private void audited(AuditAction action, String accountId, String related, Money amount, Runnable change) {
+        auditLog.reserve();
+        try {
+            change.run();
+            auditLog.recordReserved(action, accountId, related, amount);
+        } finally {
+            auditLog.release();
+        }
+    }
+
+    /**
+     * Writes the changed balance of one account, then runs {@code commit}; if it throws,
+     * the original balance is written back.
+     */
+    private void writeBalance(String accountId, EncryptedAccount encryptedAccount, Account account,
+                              Money originalBalance, Runnable commit) {
         encryptedAccount.updateBalance(account.getBalance());
-        accountRepository.save(encryptedAccount);
-        logger.info("Withdrawal successful for account {}: {}", accountId, amount);
+        save(encryptedAccount);
+        try {
+            commit.run();
+        } catch (RuntimeException e) {
+            encryptedAccount.updateBalance(originalBalance);
+            saveRestored(encryptedAccount, e);
+            cache.invalidate(accountId);
+            throw e;
+        }
+        cache.put(account);
     }
 
+    /**
+     * Moves money between two accounts atomically. Both accounts are locked together in
+     * the ledger's global order, both legs are validated in memory before anything is
+     * written, and both balances are restored if either write fails.
+     */
     @Transactional
-    void updateAccountBalance(String accountId, Money newBalance) {
-        logger.info("Updating balance for account {}: {}", accountId, newBalance);
-        EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
-        encryptedAccount.updateBalance(newBalance);
-        accountRepository.save(encryptedAccount);
-        logger.info("Balance updated successfully for account {}: {}", accountId, newBalance);
+    public void transfer(String fromAccountId, String toAccountId, Money amount) {
+        transfer(fromAccountId, toAccountId, amount, NO_COMMIT);
     }
 
-    private EncryptedAccount findAccountByIdOrThrow(String accountId) {
-        return accountRepository.findById(encryptData(accountId))
-                .orElseThrow(() -> {
-                    logger.warn("Account not found: {}", accountId);
-                    return new InvalidAccountException("Account not found: " + accountId);
+    /**
+     * Transfers {@code amount} and runs {@code commit} while both accounts are still
+     * locked, after both balances are written. If {@code commit} throws, both balances
+     * are restored and the exception rethrown.
+     */
+    @Transactional
+    public void transfer(String fromAccountId, String toAccountId, Money amount, Runnable commit) {
+        long started = Metrics.begin(Operation.ACCOUNT_TRANSFER);
+        try {
+            audited(AuditAction.TRANSFER, fromAccountId, toAccountId, amount,
+                    () -> doTransfer(fromAccountId, toAccountId, amount, commit));
+        } finally {
+            Metrics.end(Operation.ACCOUNT_TRANSFER, started);
+        }
+    }
+
+    private void doTransfer(String fromAccountId, String toAccountId, Money amount, Runnable commit) {
+        if (fromAccountId != null && fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        ledger.execute(fromAccountId, toAccountId, () -> {
+            EncryptedAccount encryptedFrom = findAccountByIdOrThrow(fromAccountId);
+            EncryptedAccount encryptedTo = findAccountByIdOrThrow(toAccountId);
+            Account from = encryptedFrom.toAccount(fromAccountId);
+            Account to = encryptedTo.toAccount(toAccountId);
+            Money originalFromBalance = from.getBalance();
+            Money originalToBalance = to.getBalance();
+            from.withdraw(amount);
+            to.deposit(amount);
+
+            try {
+                encryptedFrom.updateBalance(from.getBalance());
+                encryptedTo.updateBalance(to.getBalance());
+                save(encryptedFrom);
+                save(encryptedTo);
+                commit.run();
+            } catch (RuntimeException e) {
+                logger.error("Transfer from {} to {} failed, restoring both balances", fromAccountId, toAccountId, e);
+                encryptedFrom.updateBalance(originalFromBalance);
+                encryptedTo.updateBalance(originalToBalance);
+                saveRestored(encryptedFrom, e);
+                saveRestored(encryptedTo, e);
+                cache.invalidate(fromAccountId);
+                cache.invalidate(toAccountId);
+                throw e;
+            }
+            cache.put(from);
+            cache.put(to);
+        });
+    }
+
+    /**
+     * Applies a batch of movements, netting them per account. Every touched account is
+     * locked once in the ledger's global order, read and decrypted once, and written
+     * once with its final balance, however many movements it appears in.
+     *
+     * Movements are checked in order against the running balances, so a debit is
+     * rejected only if the movements before it leave too little money. A rejected
+     * movement changes nothing; the rest of the batch still applies. A movement is
+     * accepted or rejected, and a balance written, exactly as {@link #deposit},
+     * {@link #withdraw} and {@link #transfer} would.
+     *
+     * @return the exception for each rejected movement, keyed by its index
+     */
+    @Transactional
+    public Map<Integer, RuntimeException> applyMovements(List<BalanceMovement> movements) {
+        return applyMovements(movements, rejected -> { });
+    }
+
+    /**
+     * Like {@link #applyMovements(List)}, but passes the rejected movements to
+     * {@code commit} while the accounts are still locked, after the final balances are
+     * written. If {@code commit} throws, every balance is restored and the exception
+     * rethrown, so the movements it journals and the balances change together.
+     */
+    @Transactional
+    public Map<Integer, RuntimeException> applyMovements(List<BalanceMovement> movements,
+                                                         Consumer<Map<Integer, RuntimeException>> commit) {
+        long started = Metrics.begin(Operation.ACCOUNT_APPLY_MOVEMENTS);
+        try {
+            return doApplyMovements(movements, commit);
+        } finally {
+            Metrics.end(Operation.ACCOUNT_APPLY_MOVEMENTS, started);
+        }
+    }
+
+    private Map<Integer, RuntimeException> doApplyMovements(List<BalanceMovement> movements,
+                                                            Consumer<Map<Integer, RuntimeException>> commit) {
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (BalanceMovement movement : movements) {
+            if (movement.getDebitAccountId() != null) {
+                accountIds.add(movement.getDebitAccountId());
+            }
+            if (movement.getCreditAccountId() != null) {
+                accountIds.add(movement.getCreditAccountId());
+            }
+        }
+        auditLog.reserve();
+        try {
+            Map<Integer, RuntimeException> rejected = applyLocked(accountIds, movements, commit);
+            for (int i = 0; i < movements.size(); i++) {
+                // Checked only when needed, as the lookup boxes the index
+                if (rejected.isEmpty() || !rejected.containsKey(i)) {
+                    audit(movements.get(i));
+                }
+            }
+            return rejected;
+        } finally {
+            auditLog.release();
+        }
+    }
+
+    private Map<Integer, RuntimeException> applyLocked(Set<String> accountIds, List<BalanceMovement> movements,
+                                                       Consumer<Map<Integer, RuntimeException>> commit) {
+        return ledger.execute(accountIds, () -> {
+            Map<String, EncryptedAccount> encryptedAccounts = new HashMap<>();
+            Map<String, RunningBalance> balances = new HashMap<>();
+            for (String accountId : accountIds) {
+                findAccountById(accountId).ifPresent(encryptedAccount -> {
+                    encryptedAccounts.put(accountId, encryptedAccount);
+                    balances.put(accountId, new RunningBalance(encryptedAccount.toAccount(accountId)));
                 });
+            }
+
+            Map<Integer, RuntimeException> failures = new TreeMap<>();
+            Set<String> touched = new LinkedHashSet<>();
+            for (int i = 0; i < movements.size(); i++) {
+                try {
+                    applyMovement(movements.get(i), balances, touched);
+                } catch (RuntimeException e) {
+                    failures.put(i, e);
+                }
+            }
+            try {
+                saveBalances(touched, encryptedAccounts, balances);
+            } catch (RuntimeException e) {
+                touched.forEach(cache::invalidate);
+                throw e;
+            }
+            try {
+                commit.accept(failures);
+            } catch (RuntimeException e) {
+                restoreBalances(touched, encryptedAccounts, balances, e);
+                touched.forEach(cache::invalidate);
+                throw e;
+            }
+            for (String accountId : touched) {
+                cache.put(balances.get(accountId).toAccount());
+            }
+            return failures;
+        });
+    }
+
+    private void audit(BalanceMovement movement) {
+        if (movement.getDebitAccountId() == null) {
+            auditLog.recordReserved(AuditAction.DEPOSIT, movement.getCreditAccountId(), null, movement.getAmount());
+        } else if (movement.getCreditAccountId() == null) {
+            auditLog.recordReserved(AuditAction.WITHDRAWAL, movement.getDebitAccountId(), null, movement.getAmount());
+        } else {
+            auditLog.recordReserved(AuditAction.TRANSFER, movement.getDebitAccountId(), movement.getCreditAccountId(),
+                    movement.getAmount());
+        }
+    }
+
+    private static void applyMovement(BalanceMovement movement, Map<String, RunningBalance> balances,
+                                      Set<String> touched) {
+        String debitAccountId = movement.getDebitAccountId();
+        String creditAccountId = movement.getCreditAccountId();
+        RunningBalance debit = debitAccountId == null ? null : requireLoaded(balances, debitAccountId);
+        RunningBalance credit = creditAccountId == null ? null : requireLoaded(balances, creditAccountId);
+        if (debit != null) {
+            debit.mark();
+            debit.withdraw(movement.getAmount());
+        }
+        if (credit != null) {
+            try {
+                credit.deposit(movement.getAmount());
+            } catch (RuntimeException e) {
+                if (debit != null) {
+                    debit.reset();
+                }
+                throw e;
+            }
+        }
+        if (debit != null) {
+            touched.add(debitAccountId);
+        }
+        if (credit != null) {
+            touched.add(creditAccountId);
+        }
+    }
+
+    private static RunningBalance requireLoaded(Map<String, RunningBalance> balances, String accountId) {
+        RunningBalance balance = balances.get(accountId);
+        if (balance == null) {
+            throw new InvalidAccountException("Account not found: " + accountId);
+        }
+        return balance;
+    }
+
+    /**
+     * Writes the final balance of each touched account, restoring every balance already
+     * updated if one of the writes fails.
+     */
+    private void saveBalances(Set<String> accountIds, Map<String, EncryptedAccount> encryptedAccounts,
+                              Map<String, RunningBalance> balances) {
+        List<String> updated = new ArrayList<>();
+        try {
+            for (String accountId : accountIds) {
+                EncryptedAccount encryptedAccount = encryptedAccounts.get(accountId);
+                updated.add(accountId);
+                encryptedAccount.updateBalance(balances.get(accountId).getBalance());
+                save(encryptedAccount);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Batch write failed, restoring {} balances", updated.size(), e);
+            restoreBalances(updated, encryptedAccounts, balances, e);
+            throw e;
+        }
+    }
+
+    private void restoreBalances(Collection<String> accountIds, Map<String, EncryptedAccount> encryptedAccounts,
+                                 Map<String, RunningBalance> balances, RuntimeException failure) {
+        for (String accountId : accountIds) {
+            encryptedAccounts.get(accountId).updateBalance(balances.get(accountId).getOriginalBalance());
+            saveRestored(encryptedAccounts.get(accountId), failure);
+        }
+    }
+
+    /**
+     * Writes back a balance restored after a failed write, for stores such as
+     * {@link MappedAccountStore} that keep a copy of the record rather than the saved
+     * instance. A failure here is attached to the one being rolled back.
+     */
+    private void saveRestored(EncryptedAccount encryptedAccount, RuntimeException failure) {
+        try {
+            save(encryptedAccount);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Puts an account rebuilt elsewhere (for example from a transaction journal) back
+     * into the store under its original ID. An existing account only takes the restored
+     * balance; a missing one is recreated as given.
+     */
+    @Transactional
+    public void restoreAccount(Account account) {
+        audited(AuditAction.ACCOUNT_RESTORED, account.getAccountId(), null, account.getBalance(),
+                () -> ledger.execute(account.getAccountId(), () -> {
+            Optional<EncryptedAccount> existing = findAccountById(account.getAccountId());
+            try {
+                if (existing.isPresent()) {
+                    existing.get().updateBalance(account.getBalance());
+                    save(existing.get());
+                } else {
+                    String accountKey = accountIdIndex.compute(account.getAccountId());
+                    customerIndex.add(account.getCustomerId(), accountKey);
+                    save(new EncryptedAccount(account, accountKey, fieldEncryption));
+                }
+            } finally {
+                cache.invalidate(account.getAccountId());
+            }
+        }));
+    }
+
+    @Transactional
+    void updateAccountBalance(String accountId, Money newBalance) {
+        audited(AuditAction.BALANCE_SET, accountId, null, newBalance, () -> ledger.execute(accountId, () -> {
+            EncryptedAccount encryptedAccount = findAccountByIdOrThrow(accountId);
+            encryptedAccount.updateBalance(newBalance);
+            try {
+                save(encryptedAccount);
+            } finally {
+                cache.invalidate(accountId);
+            }
+        }));
+    }
+
+    /**
+     * Returns hit, miss and eviction counts of the decrypted-account cache.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Indexes every stored account once, reading the store a page at a time and
+     * decrypting only the customer ID of each row. Accounts created concurrently are
+     * indexed by {@link #createAccount} as well, and adding one twice is harmless.
+     */
+    private void ensureCustomerIndexComplete() {
+        if (customerIndex.isComplete()) {
+            return;
+        }
+        synchronized (customerIndex) {
+            if (customerIndex.isComplete()) {
+                return;
+            }
+            long count = 0;
+            String cursor = null;
+            List<EncryptedAccount> rows;
+            do {
+                rows = accountRepository.findPageAfter(cursor, STREAM_FETCH_SIZE);
+                for (EncryptedAccount row : rows) {
+                    customerIndex.add(row.getCustomerId(), row.getAccountIdIndex());
+                    cursor = row.getAccountIdIndex();
+                }
+                count += rows.size();
+            } while (rows.size() == STREAM_FETCH_SIZE);
+            customerIndex.markComplete();
+            logger.info("Customer index built from {} stored accounts", count);
+        }
+    }
+
+    /**
+     * Decrypts the rows in their order, starting on every row before waiting on any,
+     * so KMS unwraps of data keys that are not cached overlap instead of running one
+     * after another.
+     */
+    private static List<Account> decryptAll(List<EncryptedAccount> rows) {
+        List<CompletableFuture<Account>> decrypting = new ArrayList<>(rows.size());
+        for (EncryptedAccount row : rows) {
+            decrypting.add(row.toAccountAsync());
+        }
+        List<Account> accounts = new ArrayList<>(rows.size());
+        for (CompletableFuture<Account> account : decrypting) {
+            try {
+                accounts.add(account.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return accounts;
     }
 
-    private String encryptData(String data) {
+    private Optional<EncryptedAccount> findByKey(String accountKey) {
+        long started = Metrics.begin(Operation.REPOSITORY_FIND);
         try {
-            EncryptRequest encryptRequest = EncryptRequest.builder()
-                    .keyId(kmsKeyId)
-                    .plaintext(SdkBytes.fromUtf8String(data))
-                    .build();
-            EncryptResponse encryptResponse = kmsClient.encrypt(encryptRequest);
-            String encryptedData = Base64.getEncoder().encodeToString(encryptResponse.ciphertextBlob().asByteArray());
-            logger.debug("Data encrypted successfully");
-            return encryptedData;
-        } catch (Exception e) {
-            logger.error("Error encrypting data", e);
-            throw new RuntimeException("Error encrypting data", e);
+            return accountRepository.findById(accountKey);
+        } finally {
+            Metrics.end(Operation.REPOSITORY_FIND, started);
         }
     }
 
-    private String decryptData(String encryptedData) {
+    private EncryptedAccount save(EncryptedAccount encryptedAccount) {
+        long started = Metrics.begin(Operation.REPOSITORY_SAVE);
         try {
-            DecryptRequest decryptRequest = DecryptRequest.builder()
-                    .ciphertextBlob(SdkBytes.fromByteArray(Base64.getDecoder().decode(encryptedData)))
-                    .keyId(kmsKeyId)
-                    .build();
-            DecryptResponse decryptResponse = kmsClient.decrypt(decryptRequest);
-            String decryptedData = decryptResponse.plaintext().asUtf8String();
-            logger.debug("Data decrypted successfully");
-            return decryptedData;
-        } catch (Exception e) {
-            logger.error("Error decrypting data", e);
-            throw new RuntimeException("Error decrypting data", e);
+            return accountRepository.save(encryptedAccount);
+        } finally {
+            Metrics.end(Operation.REPOSITORY_SAVE, started);
+        }
+    }
+
+    private Account loadAccount(String accountId) {
+        return findAccountByIdOrThrow(accountId).toAccount(accountId);
+    }
+
+    private EncryptedAccount findAccountByIdOrThrow(String accountId) {
+        return findAccountById(accountId)
+                .orElseThrow(() -> new InvalidAccountException("Account not found: " + accountId));
+    }
+
+    /**
+     * Looks an account up by the blind index of its ID. This is a local HMAC, so no
+     * KMS round-trip is needed; older index keys are only tried after a key rotation.
+     */
+    private Optional<EncryptedAccount> findAccountById(String accountId) {
+        for (String key : accountIdIndex.candidates(accountId)) {
+            Optional<EncryptedAccount> encryptedAccount = findByKey(key);
+            if (encryptedAccount.isPresent()) {
+                return encryptedAccount;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * An account's balance while a batch is applied, held as a {@link FastMoney} count of
+     * minor units: each movement is checked and applied with long arithmetic, and only
+     * the final balance becomes a {@link Money} again. The checks are those of
+     * {@link Account#deposit} and {@link Account#withdraw}, and so is the result: an
+     * account whose balance or amounts do not fit in minor units (a fraction of a cent,
+     * a currency {@link Currencies} does not know, a long overflow) carries on in
+     * {@link BigDecimal}, and the final balance has the scale those methods would give
+     * it, the largest scale among the balance and the amounts applied.
+     */
+    private static final class RunningBalance {
+        private final Account account;
+        private final String currency;
+        private final int currencyId;
+        private long minorUnits;
+        private int scale;
+        // Set once the balance no longer fits in minor units
+        private BigDecimal decimal;
+        private long markedMinorUnits;
+        private int markedScale;
+        private BigDecimal markedDecimal;
+
+        RunningBalance(Account account) {
+            this.account = account;
+            this.currency = account.getBalance().getCurrency();
+            BigDecimal amount = account.getBalance().getAmount();
+            this.scale = amount.scale();
+            int id = -1;
+            try {
+                id = Currencies.idOf(currency);
+                this.minorUnits = FastMoney.toMinorUnits(amount, id);
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                this.decimal = amount;
+            }
+            this.currencyId = id;
+        }
+
+        void withdraw(Money amount) {
+            requireValid(amount, "Withdrawal amount must be positive", "Cannot compare different currencies");
+            BigDecimal value = amount.getAmount();
+            if (decimal == null) {
+                long units = minorUnitsOf(value);
+                if (units >= 0) {
+                    if (minorUnits < units) {
+                        throw insufficientFunds(amount);
+                    }
+                    minorUnits -= units;
+                    scale = Math.max(scale, value.scale());
+                    return;
+                }
+                decimal = currentAmount();
+            }
+            if (decimal.compareTo(value) < 0) {
+                throw insufficientFunds(amount);
+            }
+            decimal = decimal.subtract(value);
+        }
+
+        void deposit(Money amount) {
+            requireValid(amount, "Deposit amount must be positive", "Cannot add different currencies");
+            BigDecimal value = amount.getAmount();
+            if (decimal == null) {
+                long units = minorUnitsOf(value);
+                if (units >= 0 && minorUnits <= Long.MAX_VALUE - units) {
+                    minorUnits += units;
+                    scale = Math.max(scale, value.scale());
+                    return;
+                }
+                decimal = currentAmount();
+            }
+            decimal = decimal.add(value);
+        }
+
+        /**
+         * Remembers the balance, so a movement whose other leg fails can be undone.
+         */
+        void mark() {
+            markedMinorUnits = minorUnits;
+            markedScale = scale;
+            markedDecimal = decimal;
+        }
+
+        void reset() {
+            minorUnits = markedMinorUnits;
+            scale = markedScale;
+            decimal = markedDecimal;
+        }
+
+        Money getBalance() {
+            return new Money(currentAmount(), currency);
+        }
+
+        Money getOriginalBalance() {
+            return account.getBalance();
+        }
+
+        Account toAccount() {
+            return new Account(account.getAccountId(), account.getCustomerId(), account.getAccountType(),
+                    getBalance(), account.isActive());
+        }
+
+        private BigDecimal currentAmount() {
+            if (decimal != null) {
+                return decimal;
+            }
+            // Exact: no amount applied had more fractional digits than the scale
+            return BigDecimal.valueOf(minorUnits, Currencies.scaleOf(currencyId)).setScale(scale);
+        }
+
+        /**
+         * Returns the amount in minor units, or -1 if it is not a whole number of them.
+         */
+        private long minorUnitsOf(BigDecimal value) {
+            try {
+                return FastMoney.toMinorUnits(value, currencyId);
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+        }
+
+        private void requireValid(Money amount, String notPositive, String otherCurrency) {
+            if (!account.isActive()) {
+                throw new InvalidAccountException("Account " + account.getAccountId() + " is not active");
+            }
+            if (amount == null || amount.getAmount().signum() <= 0) {
+                throw new IllegalArgumentException(notPositive);
+            }
+            // Compared as strings so that codes from requests are not interned
+            if (!currency.equals(amount.getCurrency())) {
+                throw new IllegalArgumentException(otherCurrency);
+            }
+        }
+
+        private InsufficientFundsException insufficientFunds(Money amount) {
+            return new InsufficientFundsException(
+                String.format("Insufficient funds. Balance: %s, Requested: %s", getBalance(), amount)
+            );
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.banking.account.service;
+
+import com.banking.account.util.BlindIndex;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Secondary index from a customer to the repository keys of that customer's accounts,
+ * so listing a customer's accounts touches only those accounts instead of scanning and
+ * decrypting the whole store.
+ *
+ * Neither side holds plaintext: customers are keyed by a blind index of the customer ID
+ * and accounts are held by the blind index of their account ID, which is the key
+ * {@link AccountRepository#findById} expects. Customer keys are computed under the
+ * account-ID index key with a distinct prefix, so no extra key material is needed and a
+ * customer key can never collide with an account key.
+ *
+ * The index is derived state. {@link AccountService} adds every account it creates or
+ * restores, and fills in accounts that were already stored with a single keyset scan
+ * the first time the index is queried.
+ */
+public class CustomerAccountIndex {
+    private static final String CUSTOMER_PREFIX = "customer-id\0";
+
+    private final BlindIndex blindIndex;
+    private final ConcurrentHashMap<String, Set<String>> accountKeysByCustomer = new ConcurrentHashMap<>();
+    private volatile boolean complete;
+
+    public CustomerAccountIndex(BlindIndex blindIndex) {
+        this.blindIndex = blindIndex;
+    }
+
+    /**
+     * Records that the account stored under {@code accountKey} belongs to the customer.
+     * Adding the same pair again has no effect. The key is added inside the map's
+     * atomic update, so a concurrent {@link #remove} that empties the customer's set
+     * cannot drop the set this adds to.
+     */
+    public void add(String customerId, String accountKey) {
+        accountKeysByCustomer.compute(customerKey(customerId), (key, accountKeys) -> {
+            Set<String> keys = accountKeys == null ? new CopyOnWriteArraySet<>() : accountKeys;
+            keys.add(accountKey);
+            return keys;
+        });
+    }
+
+    public void remove(String customerId, String accountKey) {
+        accountKeysByCustomer.computeIfPresent(customerKey(customerId), (key, accountKeys) -> {
+            accountKeys.remove(accountKey);
+            return accountKeys.isEmpty() ? null : accountKeys;
+        });
+    }
+
+    /**
+     * Returns the repository keys of the customer's accounts in the order they were
+     * added. After a key rotation entries indexed under older keys are included too.
+     */
+    public Set<String> accountKeys(String customerId) {
+        List<String> candidates = blindIndex.candidates(CUSTOMER_PREFIX + customerId);
+        if (candidates.size() == 1) {
+            Set<String> accountKeys = accountKeysByCustomer.get(candidates.get(0));
+            return accountKeys == null ? Collections.emptySet() : Collections.unmodifiableSet(accountKeys);
+        }
+        Set<String> accountKeys = new LinkedHashSet<>();
+        for (String candidate : candidates) {
+            accountKeys.addAll(accountKeysByCustomer.getOrDefault(candidate, Collections.emptySet()));
+        }
+        return accountKeys;
+    }
+
+    /**
+     * Returns whether every account already in the store has been indexed.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    void markComplete() {
+        complete = true;
+    }
+
+    /**
+     * Returns the number of customers with at least one indexed account.
+     */
+    public int customerCount() {
+        return accountKeysByCustomer.size();
+    }
+
+    private String customerKey(String customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer ID cannot be null");
+        }
+        return blindIndex.compute(CUSTOMER_PREFIX + customerId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.EncryptedAccount;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link AccountRepository} over a {@link MappedAccountStore}, so {@link AccountService}
+ * can keep its accounts in the mapped file. Every call goes straight to the store; the
+ * store stays owned, and closed, by whoever opened it.
+ */
+public class MappedAccountRepository implements AccountRepository {
+    private final MappedAccountStore store;
+
+    public MappedAccountRepository(MappedAccountStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("Store cannot be null");
+        }
+        this.store = store;
+    }
+
+    @Override
+    public EncryptedAccount save(EncryptedAccount account) {
+        return store.save(account);
+    }
+
+    @Override
+    public Optional<EncryptedAccount> findById(String accountIdIndex) {
+        return store.findById(accountIdIndex);
+    }
+
+    @Override
+    public List<EncryptedAccount> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public List<EncryptedAccount> findByCustomerId(String customerId) {
+        return store.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<EncryptedAccount> findPageAfter(String afterAccountIdIndex, int limit) {
+        return store.findPageAfter(afterAccountIdIndex, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedAccountRepository[" + store.getFile() + "]";
+    }
+}
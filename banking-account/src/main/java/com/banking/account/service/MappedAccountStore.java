@@ -0,0 +1,423 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.EncryptedAccount;
+import com.banking.account.util.FieldEncryption;
+import com.banking.core.domain.AccountType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Account store kept outside the heap, in fixed-size slots of a memory-mapped file. An
+ * account held here costs no heap between requests: {@link #findById} builds a
+ * short-lived {@link EncryptedAccount} from its slot and {@link #save} writes the slot
+ * back in place. The file is the store, so a restart maps it again and serves every
+ * account at once, with nothing to reload or decrypt.
+ *
+ * Each account gets the next free slot when first saved, and the slot number is its
+ * dense int surrogate for as long as the file lives. A hash table of slot numbers in
+ * the same file maps the blind index of the account ID to its slot.
+ *
+ * File layout, big-endian:
+ * <pre>
+ *   header (64): magic (4) | format version (4) | slot size (4) | capacity (4) | used slots (4)
+ *   table: slot number + 1 per entry, 0 if empty, two or more entries per slot
+ *   slots: sequence (4) | active (1) | account type (1) | index length (2) | record length (4) |
+ *          account ID index | sealed record
+ * </pre>
+ * Readers copy a slot without locking and retry if its sequence shows a write in
+ * progress or changed meanwhile; writers to one slot take turns on the same sequence.
+ * Only the sealed record is copied out, into the array the cipher opens.
+ *
+ * Saves do not take part in Spring transactions: a slot is written when {@link #save}
+ * returns. The file is flushed by {@link #force()}, {@link #close()} or the operating
+ * system; the transaction journal, not this store, is what survives a crash.
+ */
+public class MappedAccountStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedAccountStore.class);
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final int DEFAULT_SLOT_SIZE = 512;
+    public static final int MAX_CAPACITY = 1 << 27;
+
+    private static final int MAGIC = 0x424B4153;  // "BKAS"
+    private static final int FORMAT_VERSION = 2;  // 2: sealed records start with their record version
+    private static final int HEADER_BYTES = 64;
+    private static final int USED_SLOTS_OFFSET = 16;
+    private static final int SLOT_HEADER_BYTES = 12;
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path file;
+    private final FieldEncryption encryption;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer table;
+    private final int slotSize;
+    private final int capacity;
+    private final int tableMask;
+    private final int segmentShift;
+    private final MappedByteBuffer[] segments;
+    private volatile int usedSlots;
+    private volatile boolean closed;
+
+    public MappedAccountStore(Path file, FieldEncryption encryption) throws IOException {
+        this(file, encryption, DEFAULT_CAPACITY, DEFAULT_SLOT_SIZE);
+    }
+
+    /**
+     * Opens the store in {@code file}, creating it if it does not exist. The capacity and
+     * slot size only apply to a new file; an existing one keeps its own.
+     *
+     * @param capacity most accounts the file can hold
+     * @param slotSize bytes per account, rounded up to a multiple of 8; the account ID
+     *                 index and sealed record must fit in it after a 12-byte header
+     */
+    public MappedAccountStore(Path file, FieldEncryption encryption, int capacity, int slotSize) throws IOException {
+        if (encryption == null) {
+            throw new IllegalArgumentException("Encryption cannot be null");
+        }
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (slotSize <= SLOT_HEADER_BYTES) {
+            throw new IllegalArgumentException("Slot size must be more than " + SLOT_HEADER_BYTES + " bytes");
+        }
+        this.file = file;
+        this.encryption = encryption;
+        boolean created = !Files.exists(file) || Files.size(file) == 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, FORMAT_VERSION);
+                header.putInt(8, (slotSize + 7) & ~7);
+                header.putInt(12, capacity);
+                header.putInt(USED_SLOTS_OFFSET, 0);
+            } else {
+                checkHeader();
+            }
+            this.slotSize = header.getInt(8);
+            this.capacity = header.getInt(12);
+            this.usedSlots = header.getInt(USED_SLOTS_OFFSET);
+            this.tableMask = Integer.highestOneBit(this.capacity * 2 - 1) * 2 - 1;
+            this.table = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES, (tableMask + 1L) * 4);
+            this.segmentShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(MAX_SEGMENT_BYTES / this.slotSize));
+            long slotsStart = HEADER_BYTES + (tableMask + 1L) * 4;
+            long segmentBytes = (long) this.slotSize << segmentShift;
+            this.segments = new MappedByteBuffer[(int) ((this.capacity + (1L << segmentShift) - 1) >> segmentShift)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = slotsStart + i * segmentBytes;
+                long length = Math.min(segmentBytes, (long) this.capacity * this.slotSize - i * segmentBytes);
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            }
+            if (created) {
+                header.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        logger.info("Mapped account store {} with {} of {} slots used", file, usedSlots, capacity);
+    }
+
+    /**
+     * Writes an account to its slot, taking the next free slot if it is new.
+     *
+     * @throws IllegalArgumentException if the account does not fit in a slot
+     * @throws IllegalStateException if the account is new and every slot is taken
+     */
+    public EncryptedAccount save(EncryptedAccount account) {
+        checkOpen();
+        byte[] index = account.getAccountIdIndex().getBytes(StandardCharsets.UTF_8);
+        byte[] sealedRecord = account.getSealedRecord();
+        if (index.length > 0xFFFF || SLOT_HEADER_BYTES + index.length + sealedRecord.length > slotSize) {
+            throw new IllegalArgumentException("Account does not fit in a " + slotSize + "-byte slot");
+        }
+        int slot = slotOf(index);
+        if (slot < 0) {
+            synchronized (this) {
+                slot = slotOf(index);
+                if (slot < 0) {
+                    insert(index, account, sealedRecord);
+                    return account;
+                }
+            }
+        }
+        update(slot, index.length, account, sealedRecord);
+        return account;
+    }
+
+    public Optional<EncryptedAccount> findById(String accountIdIndex) {
+        checkOpen();
+        int slot = slotOf(accountIdIndex.getBytes(StandardCharsets.UTF_8));
+        return slot < 0 ? Optional.empty() : Optional.of(read(slot, accountIdIndex));
+    }
+
+    public List<EncryptedAccount> findAll() {
+        return findPageAfter(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns up to {@code limit} accounts in slot order, starting after the account
+     * with the given index, or from the first slot if it is null.
+     */
+    public List<EncryptedAccount> findPageAfter(String afterAccountIdIndex, int limit) {
+        checkOpen();
+        int from = 0;
+        if (afterAccountIdIndex != null) {
+            from = slotOf(afterAccountIdIndex.getBytes(StandardCharsets.UTF_8)) + 1;
+            if (from == 0) {
+                throw new IllegalArgumentException("Unknown page cursor");
+            }
+        }
+        int to = (int) Math.min(usedSlots, (long) from + limit);
+        List<EncryptedAccount> page = new ArrayList<>(Math.max(0, Math.min(to - from, 1 << 16)));
+        for (int slot = from; slot < to; slot++) {
+            page.add(read(slot, null));
+        }
+        return page;
+    }
+
+    /**
+     * Scans every slot, decrypting customer IDs; {@link CustomerAccountIndex} answers
+     * the same question from an index.
+     */
+    public List<EncryptedAccount> findByCustomerId(String customerId) {
+        List<EncryptedAccount> matches = new ArrayList<>();
+        for (EncryptedAccount account : findAll()) {
+            if (account.getCustomerId().equals(customerId)) {
+                matches.add(account);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the slot, and so the int surrogate, of an account, or -1 if it is not stored.
+     */
+    public int slotOf(String accountIdIndex) {
+        checkOpen();
+        return slotOf(accountIdIndex.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int size() {
+        return usedSlots;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Returns this store as an {@link AccountRepository} for {@link AccountService}.
+     */
+    public AccountRepository asRepository() {
+        return new MappedAccountRepository(this);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Flushes every written slot to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        table.force();
+        header.force();
+    }
+
+    /**
+     * Flushes the store and closes the file. The mapping itself is released when the
+     * buffers are collected.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        force();
+        channel.close();
+    }
+
+    private void insert(byte[] index, EncryptedAccount account, byte[] sealedRecord) {
+        int slot = usedSlots;
+        if (slot == capacity) {
+            throw new IllegalStateException("Mapped account store is full at " + capacity + " accounts");
+        }
+        ByteBuffer segment = segmentOf(slot);
+        int offset = offsetOf(slot);
+        segment.putShort(offset + 6, (short) index.length);
+        slice(segment, offset + SLOT_HEADER_BYTES).put(index);
+        INTS.setRelease(segment, offset, 0);
+        update(slot, index.length, account, sealedRecord);
+        header.putInt(USED_SLOTS_OFFSET, slot + 1);
+        usedSlots = slot + 1;
+        // Published last, so a reader that finds the slot finds it complete
+        int entry = hash(index) & tableMask;
+        while ((int) INTS.getAcquire(table, entry * 4) != 0) {
+            entry = (entry + 1) & tableMask;
+        }
+        INTS.setRelease(table, entry * 4, slot + 1);
+    }
+
+    private void update(int slot, int indexLength, EncryptedAccount account, byte[] sealedRecord) {
+        ByteBuffer segment = segmentOf(slot);
+        int offset = offsetOf(slot);
+        int sequence;
+        do {
+            sequence = (int) INTS.getVolatile(segment, offset);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (INTS.compareAndSet(segment, offset, sequence, sequence + 1)) {
+                break;
+            }
+        } while (true);
+        segment.put(offset + 4, (byte) (account.isActive() ? 1 : 0));
+        segment.put(offset + 5, (byte) account.getAccountType().ordinal());
+        segment.putInt(offset + 8, sealedRecord.length);
+        slice(segment, offset + SLOT_HEADER_BYTES + indexLength).put(sealedRecord);
+        INTS.setRelease(segment, offset, sequence + 2);
+    }
+
+    private EncryptedAccount read(int slot, String accountIdIndex) {
+        ByteBuffer segment = segmentOf(slot);
+        int offset = offsetOf(slot);
+        while (true) {
+            int sequence = (int) INTS.getAcquire(segment, offset);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            boolean active = segment.get(offset + 4) != 0;
+            int type = Byte.toUnsignedInt(segment.get(offset + 5));
+            int indexLength = Short.toUnsignedInt(segment.getShort(offset + 6));
+            int recordLength = segment.getInt(offset + 8);
+            boolean fits = recordLength >= 0 && SLOT_HEADER_BYTES + indexLength + recordLength <= slotSize
+                    && type < ACCOUNT_TYPES.length;
+            byte[] index = null;
+            byte[] sealedRecord = null;
+            if (fits) {
+                if (accountIdIndex == null) {
+                    index = new byte[indexLength];
+                    slice(segment, offset + SLOT_HEADER_BYTES).get(index);
+                }
+                sealedRecord = new byte[recordLength];
+                slice(segment, offset + SLOT_HEADER_BYTES + indexLength).get(sealedRecord);
+            }
+            VarHandle.loadLoadFence();
+            if ((int) INTS.getVolatile(segment, offset) != sequence) {
+                continue;
+            }
+            if (!fits) {
+                throw new IllegalStateException("Corrupt slot " + slot + " in " + file);
+            }
+            return new EncryptedAccount(
+                    accountIdIndex != null ? accountIdIndex : new String(index, StandardCharsets.UTF_8),
+                    ACCOUNT_TYPES[type], active, sealedRecord, encryption);
+        }
+    }
+
+    private int slotOf(byte[] index) {
+        int entry = hash(index) & tableMask;
+        while (true) {
+            int slot = (int) INTS.getAcquire(table, entry * 4) - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            if (slot < capacity && indexMatches(slot, index)) {
+                return slot;
+            }
+            entry = (entry + 1) & tableMask;
+        }
+    }
+
+    private boolean indexMatches(int slot, byte[] index) {
+        ByteBuffer segment = segmentOf(slot);
+        int offset = offsetOf(slot);
+        if (Short.toUnsignedInt(segment.getShort(offset + 6)) != index.length) {
+            return false;
+        }
+        int start = offset + SLOT_HEADER_BYTES;
+        for (int i = 0; i < index.length; i++) {
+            if (segment.get(start + i) != index[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer segmentOf(int slot) {
+        return segments[slot >>> segmentShift];
+    }
+
+    private int offsetOf(int slot) {
+        return (slot & ((1 << segmentShift) - 1)) * slotSize;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        return view;
+    }
+
+    private static int hash(byte[] index) {
+        int hash = 1;
+        for (byte b : index) {
+            hash = 31 * hash + b;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private void checkHeader() throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a mapped account store: " + file);
+        }
+        int version = header.getInt(4);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported mapped account store version " + version);
+        }
+        int storedSlotSize = header.getInt(8);
+        int storedCapacity = header.getInt(12);
+        int used = header.getInt(USED_SLOTS_OFFSET);
+        if (storedSlotSize <= SLOT_HEADER_BYTES || storedCapacity <= 0 || storedCapacity > MAX_CAPACITY
+                || used < 0 || used > storedCapacity) {
+            throw new IOException("Corrupt mapped account store header: " + file);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Mapped account store is closed");
+        }
+    }
+}
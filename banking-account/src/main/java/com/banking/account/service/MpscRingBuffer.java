@@ -0,0 +1,82 @@
+package com.banking.account.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer, the feed of a ledger
+ * shard. Each slot carries a sequence number, as in a Disruptor ring: a producer claims
+ * the next position with one CAS and publishes its element by advancing the slot's
+ * sequence, and the consumer takes the element once it sees that sequence, then hands
+ * the slot back for the next lap. Neither side ever blocks.
+ */
+final class MpscRingBuffer<E> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;  // Consumer thread only
+
+    MpscRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an element, returning false without waiting if the ring is full.
+     */
+    boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                return false;  // The consumer has not freed this slot from the last lap
+            }
+        }
+        elements[index] = element;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Takes the next element, or returns null if none is published yet. Consumer only.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.set(index, head + elements.length);
+        head++;
+        return element;
+    }
+
+    /**
+     * Returns whether the next element is published. Consumer only.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
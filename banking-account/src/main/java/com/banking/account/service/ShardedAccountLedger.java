@@ -0,0 +1,308 @@
+package com.banking.account.service;
+
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.Operation;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer alternative to the striped locks of {@link AccountLedger}. Accounts are
+ * hash-partitioned across a fixed number of shards, each owned by one worker thread fed
+ * by a lock-free {@link MpscRingBuffer}. A caller hands its operation to the shard that
+ * owns the account and waits for the result. The worker runs its operations one at a
+ * time, so they take no locks, and the threads calling about a hot account never
+ * contend for it; they only queue.
+ *
+ * An operation spanning several shards is handed off in two phases, in ascending shard
+ * order. Each shard but the last, on reaching it, forwards it to the next one and then
+ * holds, running nothing else. The last shard runs the operation while every involved
+ * shard is quiet and then releases the held ones. A shard only ever holds for a higher
+ * one, so hand-offs cannot wait on each other in a cycle.
+ *
+ * Operations run on the shard threads, not the caller's, so anything bound to the
+ * calling thread, such as a Spring transaction, does not cover them. An operation may
+ * start another on its own shard, which runs inline, but not on any other shard.
+ *
+ * Time from the hand-off until the operation starts is reported as
+ * {@link Operation#LEDGER_LOCK_WAIT}.
+ */
+public class ShardedAccountLedger extends AccountLedger implements Closeable {
+    public static final int DEFAULT_RING_CAPACITY = 1024;
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long CLOSE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Shard[] shards;
+    private volatile boolean closed;
+
+    /**
+     * Creates one shard per available processor.
+     */
+    public ShardedAccountLedger() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedAccountLedger(int shards) {
+        this(shards, DEFAULT_RING_CAPACITY);
+    }
+
+    /**
+     * @param shards number of worker threads, rounded up to a power of two
+     * @param ringCapacity operations a shard holds queued before callers wait for room
+     */
+    public ShardedAccountLedger(int shards, int ringCapacity) {
+        super(checkShards(shards));
+        if (ringCapacity <= 0) {
+            throw new IllegalArgumentException("Ring capacity must be positive");
+        }
+        this.shards = new Shard[getStripeCount()];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard(i, ringCapacity);
+        }
+        for (Shard shard : this.shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Runs an operation on the shard owning the given account.
+     */
+    @Override
+    public <T> T execute(String accountId, Supplier<T> operation) {
+        return run(new int[]{stripeOf(accountId)}, operation);
+    }
+
+    /**
+     * Runs an operation with the shards of both accounts held, handed off in
+     * ascending shard order.
+     */
+    @Override
+    public <T> T execute(String firstAccountId, String secondAccountId, Supplier<T> operation) {
+        int first = stripeOf(firstAccountId);
+        int second = stripeOf(secondAccountId);
+        int[] order = first == second
+                ? new int[]{first}
+                : new int[]{Math.min(first, second), Math.max(first, second)};
+        return run(order, operation);
+    }
+
+    /**
+     * Runs an operation with the shards of every given account held, handed off in
+     * ascending shard order. Each shard is visited once however many accounts share it.
+     */
+    @Override
+    public <T> T execute(Collection<String> accountIds, Supplier<T> operation) {
+        TreeSet<Integer> involved = new TreeSet<>();
+        for (String accountId : accountIds) {
+            involved.add(stripeOf(accountId));
+        }
+        if (involved.isEmpty()) {
+            return operation.get();
+        }
+        int[] order = new int[involved.size()];
+        int i = 0;
+        for (int shard : involved) {
+            order[i++] = shard;
+        }
+        return run(order, operation);
+    }
+
+    /**
+     * Stops the shard threads. Operations still queued, or handed off while the ledger
+     * closes, fail with {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        boolean interrupted = false;
+        for (Shard shard : shards) {
+            while (shard.thread.isAlive()) {
+                try {
+                    shard.thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T run(int[] order, Supplier<T> operation) {
+        Thread current = Thread.currentThread();
+        if (current instanceof ShardThread && ((ShardThread) current).ledger() == this) {
+            if (order.length == 1 && order[0] == ((ShardThread) current).index) {
+                return operation.get();
+            }
+            throw new IllegalStateException("A ledger operation cannot start one on another shard");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ledger is closed");
+        }
+        Handoff<T> handoff = new Handoff<>(order, operation);
+        shards[order[0]].submit(handoff);
+        return handoff.await();
+    }
+
+    private static int checkShards(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        return shards;
+    }
+
+    /**
+     * One operation on its way through the shards in {@code order}. The fields a shard
+     * writes before forwarding are published to the next by the ring's sequence.
+     */
+    private final class Handoff<T> {
+        private final int[] order;
+        private final Supplier<T> operation;
+        private final Thread caller = Thread.currentThread();
+        private final Thread[] held;
+        private final long started = Metrics.begin(Operation.LEDGER_LOCK_WAIT);
+        private int stage;
+        private T result;
+        private Throwable failure;
+        private volatile boolean done;
+
+        Handoff(int[] order, Supplier<T> operation) {
+            this.order = order;
+            this.operation = operation;
+            this.held = new Thread[order.length - 1];
+        }
+
+        /**
+         * Called by the worker of {@code order[stage]}: forwards and holds, or on the
+         * last shard runs the operation and releases the others.
+         */
+        void runOn(Shard shard) {
+            if (stage < held.length) {
+                held[stage] = shard.thread;
+                stage++;
+                shards[order[stage]].submit(this);
+                while (!done && !closed) {
+                    LockSupport.park(this);
+                }
+                return;
+            }
+            Metrics.end(Operation.LEDGER_LOCK_WAIT, started);
+            try {
+                result = operation.get();
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+            finish();
+        }
+
+        void fail(RuntimeException e) {
+            failure = e;
+            finish();
+        }
+
+        T await() {
+            boolean interrupted = false;
+            while (!done) {
+                LockSupport.parkNanos(this, CLOSE_CHECK_NANOS);
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                }
+                if (!done && closed && !shards[order[stage]].thread.isAlive()) {
+                    fail(new IllegalStateException("Ledger is closed"));
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return result;
+        }
+
+        private void finish() {
+            done = true;
+            for (Thread thread : held) {
+                LockSupport.unpark(thread);
+            }
+            LockSupport.unpark(caller);
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final int index;
+        private final MpscRingBuffer<Handoff<?>> ring;
+        private final ShardThread thread;
+        private volatile boolean parked;
+
+        Shard(int index, int ringCapacity) {
+            this.index = index;
+            this.ring = new MpscRingBuffer<>(ringCapacity);
+            this.thread = new ShardThread(this, index);
+        }
+
+        void submit(Handoff<?> handoff) {
+            while (!ring.offer(handoff)) {
+                if (closed) {
+                    throw new IllegalStateException("Ledger is closed");
+                }
+                Thread.yield();
+            }
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (!closed) {
+                Handoff<?> handoff = ring.poll();
+                if (handoff != null) {
+                    idle = 0;
+                    handoff.runOn(this);
+                } else if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    // Published before the recheck, so a producer that misses the flag
+                    // has already made its element visible to it
+                    parked = true;
+                    if (ring.isEmpty() && !closed) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    idle = 0;
+                }
+            }
+            Handoff<?> handoff;
+            while ((handoff = ring.poll()) != null) {
+                handoff.fail(new IllegalStateException("Ledger is closed"));
+            }
+        }
+    }
+
+    private final class ShardThread extends Thread {
+        private final int index;
+
+        ShardThread(Shard shard, int index) {
+            super(shard, "ledger-shard-" + index);
+            this.index = index;
+            setDaemon(true);
+        }
+
+        ShardedAccountLedger ledger() {
+            return ShardedAccountLedger.this;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.banking.account.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.kms.model.DataKeySpec;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyRequest;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyed-HMAC blind index for looking up encrypted records by a sensitive value.
+ *
+ * The index of a value is HMAC-SHA256(indexKey, purpose || 0x00 || value). It is
+ * deterministic, so it can be used as a repository key, but reveals nothing about
+ * the value without the index key. Index keys are KMS data keys: the plaintext key
+ * is cached locally and only the KMS-encrypted copy needs to be persisted, so
+ * computing an index never leaves the process.
+ *
+ * Rotation keeps previously issued keys around so records indexed under an older
+ * key can still be found through {@link #candidates(String)} until they are
+ * re-indexed and the old key is retired.
+ *
+ * An index that serves stored records must be created over a {@link BlindIndexKeyFile}
+ * (or from keys exported earlier): a freshly generated key computes different indexes,
+ * so records written before a restart would not be found after it.
+ */
+public class BlindIndex {
+    private static final Logger logger = LoggerFactory.getLogger(BlindIndex.class);
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final KmsClient kmsClient;
+    private final String kmsKeyId;
+    private final byte[] purpose;
+    private final BlindIndexKeyFile keyFile;
+    private volatile List<IndexKey> keys;  // Newest first
+
+    /**
+     * Creates a blind index with a freshly generated index key.
+     */
+    public BlindIndex(KmsClient kmsClient, String kmsKeyId, String purpose) {
+        this(kmsClient, kmsKeyId, purpose, Collections.emptyList());
+    }
+
+    /**
+     * Creates a blind index from previously exported KMS-encrypted index keys,
+     * newest first. Each key is unwrapped with one KMS call at construction time.
+     * Keys are numbered by position, the oldest being version 1, so the list must hold
+     * every key issued; after {@link #retireOldKeys()}, use a {@link BlindIndexKeyFile},
+     * which stores each key's version.
+     */
+    public BlindIndex(KmsClient kmsClient, String kmsKeyId, String purpose, List<byte[]> encryptedKeys) {
+        this(kmsClient, kmsKeyId, purpose, numbered(encryptedKeys), null);
+    }
+
+    /**
+     * Creates a blind index from the keys stored in {@code keyFile}. If the file does not
+     * exist yet, a key is generated and written to it; every later {@link #rotate()} and
+     * {@link #retireOldKeys()} rewrites the file before the change takes effect.
+     */
+    public BlindIndex(KmsClient kmsClient, String kmsKeyId, String purpose, BlindIndexKeyFile keyFile) {
+        this(kmsClient, kmsKeyId, purpose, requireKeyFile(keyFile).load(), keyFile);
+    }
+
+    private BlindIndex(KmsClient kmsClient, String kmsKeyId, String purpose, Map<Integer, byte[]> encryptedKeys,
+                       BlindIndexKeyFile keyFile) {
+        if (kmsClient == null) {
+            throw new IllegalArgumentException("KmsClient cannot be null");
+        }
+        if (purpose == null || purpose.isEmpty()) {
+            throw new IllegalArgumentException("Index purpose cannot be null or empty");
+        }
+        this.kmsClient = kmsClient;
+        this.kmsKeyId = kmsKeyId;
+        this.purpose = purpose.getBytes(StandardCharsets.UTF_8);
+        this.keyFile = keyFile;
+
+        List<IndexKey> unwrapped = new ArrayList<>();
+        for (Map.Entry<Integer, byte[]> encryptedKey : encryptedKeys.entrySet()) {
+            unwrapped.add(unwrapKey(encryptedKey.getKey(), encryptedKey.getValue()));
+        }
+        this.keys = Collections.unmodifiableList(unwrapped);
+        if (unwrapped.isEmpty()) {
+            rotate();
+        }
+    }
+
+    /**
+     * Computes the index of a value under the current index key.
+     */
+    public String compute(String value) {
+        return compute(keys.get(0), value);
+    }
+
+    /**
+     * Computes the index of a value under every retained index key, newest first.
+     * Lookups should try each candidate in order until one matches.
+     */
+    public List<String> candidates(String value) {
+        List<IndexKey> current = keys;
+        if (current.size() == 1) {
+            return Collections.singletonList(compute(current.get(0), value));
+        }
+        List<String> result = new ArrayList<>(current.size());
+        for (IndexKey key : current) {
+            result.add(compute(key, value));
+        }
+        return result;
+    }
+
+    /**
+     * Generates a new index key through KMS and makes it current.
+     * Previously issued keys are retained for lookups. With a key file, the new key is
+     * written to it first, and the rotation fails if it cannot be.
+     */
+    public synchronized void rotate() {
+        GenerateDataKeyResponse response = kmsClient.generateDataKey(GenerateDataKeyRequest.builder()
+                .keyId(kmsKeyId)
+                .keySpec(DataKeySpec.AES_256)
+                .build());
+        List<IndexKey> rotated = new ArrayList<>(keys.size() + 1);
+        int version = keys.isEmpty() ? 1 : keys.get(0).version + 1;
+        rotated.add(new IndexKey(version, response.plaintext().asByteArray(), response.ciphertextBlob().asByteArray()));
+        rotated.addAll(keys);
+        persist(rotated);
+        this.keys = Collections.unmodifiableList(rotated);
+        logger.info("Blind index key rotated to version {}", version);
+    }
+
+    /**
+     * Drops every index key except the current one. Call once all records have
+     * been re-indexed under the current key.
+     */
+    public synchronized void retireOldKeys() {
+        List<IndexKey> retained = Collections.singletonList(keys.get(0));
+        persist(retained);
+        this.keys = retained;
+    }
+
+    public int getCurrentKeyVersion() {
+        return keys.get(0).version;
+    }
+
+    /**
+     * Returns the KMS-encrypted index keys, newest first, for persisting alongside the data.
+     */
+    public List<byte[]> exportEncryptedKeys() {
+        return export(keys);
+    }
+
+    private void persist(List<IndexKey> retained) {
+        if (keyFile != null) {
+            Map<Integer, byte[]> versioned = new LinkedHashMap<>();
+            for (IndexKey key : retained) {
+                versioned.put(key.version, key.encryptedKey.clone());
+            }
+            keyFile.store(versioned);
+        }
+    }
+
+    private static Map<Integer, byte[]> numbered(List<byte[]> encryptedKeys) {
+        Map<Integer, byte[]> versioned = new LinkedHashMap<>();
+        int version = encryptedKeys.size();
+        for (byte[] encryptedKey : encryptedKeys) {
+            versioned.put(version--, encryptedKey);
+        }
+        return versioned;
+    }
+
+    private static List<byte[]> export(List<IndexKey> retained) {
+        List<byte[]> exported = new ArrayList<>();
+        for (IndexKey key : retained) {
+            exported.add(key.encryptedKey.clone());
+        }
+        return exported;
+    }
+
+    private static BlindIndexKeyFile requireKeyFile(BlindIndexKeyFile keyFile) {
+        if (keyFile == null) {
+            throw new IllegalArgumentException("Key file cannot be null");
+        }
+        return keyFile;
+    }
+
+    private String compute(IndexKey key, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Indexed value cannot be null");
+        }
+        try {
+            Mac mac = CryptoEngine.mac(MAC_ALGORITHM, key.secretKey);
+            mac.update(purpose);
+            mac.update((byte) 0);
+            byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return key.version + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (Exception e) {
+            logger.error("Error computing blind index", e);
+            throw new RuntimeException("Error computing blind index", e);
+        }
+    }
+
+    private IndexKey unwrapKey(int version, byte[] encryptedKey) {
+        byte[] plaintext = kmsClient.decrypt(DecryptRequest.builder()
+                .keyId(kmsKeyId)
+                .ciphertextBlob(SdkBytes.fromByteArray(encryptedKey))
+                .build())
+                .plaintext()
+                .asByteArray();
+        return new IndexKey(version, plaintext, encryptedKey.clone());
+    }
+
+    private static final class IndexKey {
+        private final int version;
+        private final SecretKeySpec secretKey;
+        private final byte[] encryptedKey;
+
+        private IndexKey(int version, byte[] plaintextKey, byte[] encryptedKey) {
+            this.version = version;
+            this.secretKey = new SecretKeySpec(plaintextKey, MAC_ALGORITHM);
+            this.encryptedKey = encryptedKey;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.banking.account.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the KMS-encrypted keys of a {@link BlindIndex} in a local file, newest first,
+ * one {@code version:Base64 key} per line, so every start computes the same indexes as
+ * the last one. The version is stored because it is part of every index: it cannot be
+ * inferred from a key's position once older keys have been retired.
+ *
+ * Records are stored under their blind index, so the file belongs with the data: an
+ * index built under a key that was not kept can never be computed again, and the
+ * records under it can no longer be found. The file holds only KMS ciphertext.
+ */
+public class BlindIndexKeyFile {
+    private final Path file;
+
+    public BlindIndexKeyFile(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Key file cannot be null");
+        }
+        this.file = file;
+    }
+
+    /**
+     * Returns the stored keys by version, newest first, or an empty map if the file does
+     * not exist yet.
+     */
+    public Map<Integer, byte[]> load() {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read blind index key file " + file, e);
+        }
+        Map<Integer, byte[]> encryptedKeys = new LinkedHashMap<>();
+        for (String line : lines) {
+            String entry = line.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Malformed blind index key file " + file);
+            }
+            int version = Integer.parseInt(entry.substring(0, separator));
+            encryptedKeys.put(version, Base64.getDecoder().decode(entry.substring(separator + 1)));
+        }
+        return encryptedKeys;
+    }
+
+    /**
+     * Replaces the stored keys atomically, so a crash leaves either the old or the new
+     * list. The new file is flushed to disk before it replaces the old one.
+     *
+     * @param encryptedKeys the keys by version, newest first
+     */
+    public void store(Map<Integer, byte[]> encryptedKeys) {
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<Integer, byte[]> key : encryptedKeys.entrySet()) {
+            content.append(key.getKey()).append(':')
+                    .append(Base64.getEncoder().encodeToString(key.getValue())).append('\n');
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    ByteBuffer bytes = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.US_ASCII));
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    channel.force(true);
+                }
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            forceDirectory(parent);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write blind index key file " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Flushes the rename itself. Not every platform can open a directory for this, and
+     * where it cannot, the rename is left to the file system.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened as channels on some platforms
+        }
+    }
+}
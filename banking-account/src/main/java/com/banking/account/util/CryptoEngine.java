@@ -0,0 +1,165 @@
+package com.banking.account.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread {@link Cipher}, {@link Mac} and {@link MessageDigest} instances for the
+ * crypto hot paths. {@code getInstance} walks the provider list on every call, and
+ * initializing a cipher or MAC with a key expands the key schedule (or, for HMAC, the
+ * padded inner and outer keys). For small inputs such as an account ID those steps cost
+ * more than the operation itself, so each thread keeps its instances and, where the key
+ * does not change between calls, keeps them initialized.
+ *
+ * Instances handed out are confined to the calling thread and only valid until that
+ * thread next asks the engine for the same algorithm; they must not be cached or passed
+ * to another thread. JCA objects are not thread-safe, which is why they are not shared.
+ */
+public final class CryptoEngine {
+    private static final ThreadLocal<Instances> INSTANCES = ThreadLocal.withInitial(Instances::new);
+
+    private CryptoEngine() {
+    }
+
+    /**
+     * Returns this thread's digest for the algorithm, reset and ready for input.
+     */
+    public static MessageDigest digest(String algorithm) {
+        Map<String, MessageDigest> digests = INSTANCES.get().digests;
+        MessageDigest digest = digests.get(algorithm);
+        if (digest == null) {
+            try {
+                digest = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Digest algorithm not available: " + algorithm, e);
+            }
+            digests.put(algorithm, digest);
+        } else {
+            digest.reset();
+        }
+        return digest;
+    }
+
+    /**
+     * Returns this thread's MAC for the algorithm, initialized with the key and ready for
+     * input. The key is only re-applied when it differs from the one used last time on
+     * this thread, compared by identity, so callers should pass the same {@link Key}
+     * object for the same key.
+     */
+    public static Mac mac(String algorithm, Key key) throws InvalidKeyException {
+        Map<String, KeyedMac> macs = INSTANCES.get().macs;
+        KeyedMac keyed = macs.get(algorithm);
+        if (keyed == null) {
+            try {
+                keyed = new KeyedMac(Mac.getInstance(algorithm));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MAC algorithm not available: " + algorithm, e);
+            }
+            macs.put(algorithm, keyed);
+        }
+        if (keyed.key != key) {
+            keyed.key = null;
+            keyed.mac.init(key);
+            keyed.key = key;
+        } else {
+            keyed.mac.reset();
+        }
+        return keyed.mac;
+    }
+
+    /**
+     * Returns this thread's cipher for the transformation. The caller must initialize
+     * it before every use, as transformations with a per-message IV such as AES-GCM
+     * require. The provider still skips the key expansion when the key is unchanged.
+     */
+    public static Cipher cipher(String transformation) {
+        Map<String, Cipher> ciphers = INSTANCES.get().ciphers;
+        Cipher cipher = ciphers.get(transformation);
+        if (cipher == null) {
+            cipher = newCipher(transformation);
+            ciphers.put(transformation, cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * Encrypts or decrypts the input in one step with a cipher kept initialized for this
+     * mode and key, so repeated calls skip initialization entirely. Only for
+     * transformations without per-message parameters; a failed call discards the cipher
+     * so the next one starts from a clean state.
+     *
+     * @param mode {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+     */
+    public static byte[] doFinal(String transformation, int mode, Key key, byte[] input)
+            throws GeneralSecurityException {
+        Map<String, KeyedCipher> ciphers = INSTANCES.get().initializedCiphers(mode);
+        KeyedCipher keyed = ciphers.get(transformation);
+        if (keyed == null) {
+            keyed = new KeyedCipher(newCipher(transformation));
+            ciphers.put(transformation, keyed);
+        }
+        try {
+            if (keyed.key != key) {
+                keyed.key = null;
+                keyed.cipher.init(mode, key);
+                keyed.key = key;
+            }
+            return keyed.cipher.doFinal(input);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            ciphers.remove(transformation);
+            throw e;
+        }
+    }
+
+    private static Cipher newCipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Cipher transformation not available: " + transformation, e);
+        }
+    }
+
+    private static final class Instances {
+        final Map<String, MessageDigest> digests = new HashMap<>();
+        final Map<String, KeyedMac> macs = new HashMap<>();
+        final Map<String, Cipher> ciphers = new HashMap<>();
+        final Map<String, KeyedCipher> encryptCiphers = new HashMap<>();
+        final Map<String, KeyedCipher> decryptCiphers = new HashMap<>();
+
+        Map<String, KeyedCipher> initializedCiphers(int mode) {
+            if (mode == Cipher.ENCRYPT_MODE) {
+                return encryptCiphers;
+            }
+            if (mode == Cipher.DECRYPT_MODE) {
+                return decryptCiphers;
+            }
+            throw new IllegalArgumentException("Unsupported cipher mode: " + mode);
+        }
+    }
+
+    private static final class KeyedMac {
+        final Mac mac;
+        Key key;
+
+        KeyedMac(Mac mac) {
+            this.mac = mac;
+        }
+    }
+
+    private static final class KeyedCipher {
+        final Cipher cipher;
+        Key key;
+
+        KeyedCipher(Cipher cipher) {
+            this.cipher = cipher;
+        }
+    }
+}
@@ -4,14 +4,9 @@ FIXED CODE FOR: banking-account/src/main/java/com/banking/account/util/DataEncry
 package com.banking.account.util;
 
 import javax.crypto.Cipher;
-import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,6 +16,11 @@ import java.util.logging.Logger;
  * This implementation uses AES encryption with a key derived from an environment variable.
  * For production use, ensure the BANKING_ENCRYPTION_KEY environment variable is securely set.
  * 
+ * The key is not derived when the class loads. It comes from a {@link LazyKeyMaterial}
+ * that runs the PBKDF2 derivation on first use, or earlier in the background through
+ * {@link #warmUp()}. A deployment can install a {@link SealedKeyFile} provider with
+ * {@link #setKeyMaterial} so restarts unwrap a stored key instead of deriving it again.
+ * 
  * Recommended security measures:
  * - Use Hardware Security Modules (HSM) for key management
  * - Implement key rotation policies
@@ -30,18 +30,42 @@ public class DataEncryption {
     
     private static final String ALGORITHM = "AES";
     private static final String ENV_KEY_NAME = "BANKING_ENCRYPTION_KEY";
+    private static final int KDF_ITERATIONS = 65536;
+    private static final int KEY_LENGTH_BITS = 256;
     private static final Logger LOGGER = Logger.getLogger(DataEncryption.class.getName());
     
-    private static final SecretKey SECRET_KEY;
+    private static volatile LazyKeyMaterial keyMaterial = new LazyKeyMaterial(passphraseKeyMaterial());
     
-    static {
-        try {
-            String envKey = getEnvironmentKey();
-            SECRET_KEY = deriveKey(envKey);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Failed to initialize encryption key", e);
-            throw new RuntimeException("Failed to initialize encryption key", e);
-        }
+    /**
+     * Returns the default key source: PBKDF2 over the BANKING_ENCRYPTION_KEY environment
+     * variable, which is only read when a key is actually derived.
+     */
+    public static KeyMaterialProvider passphraseKeyMaterial() {
+        return new Pbkdf2KeyMaterial(DataEncryption::getEnvironmentKey, ENV_KEY_NAME.getBytes(),
+                KDF_ITERATIONS, KEY_LENGTH_BITS, ALGORITHM);
+    }
+    
+    /**
+     * Replaces the key source. Data encrypted under the previous key can no longer be
+     * decrypted unless the new source yields the same key.
+     */
+    public static void setKeyMaterial(KeyMaterialProvider provider) {
+        keyMaterial = provider instanceof LazyKeyMaterial ? (LazyKeyMaterial) provider : new LazyKeyMaterial(provider);
+    }
+    
+    /**
+     * Starts obtaining the key in the background so the first encrypt or decrypt does
+     * not have to wait for it.
+     */
+    public static CompletableFuture<?> warmUp() {
+        return keyMaterial.warmUp();
+    }
+    
+    /**
+     * Returns the current key source, for its load and first-use timings.
+     */
+    public static LazyKeyMaterial getKeyMaterial() {
+        return keyMaterial;
     }
     
     private static String getEnvironmentKey() {
@@ -53,13 +77,6 @@ public class DataEncryption {
         return envKey;
     }
     
-    private static SecretKey deriveKey(String keyMaterial) throws NoSuchAlgorithmException, InvalidKeySpecException {
-        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-        PBEKeySpec spec = new PBEKeySpec(keyMaterial.toCharArray(), ENV_KEY_NAME.getBytes(), 65536, 256);
-        SecretKey tmp = factory.generateSecret(spec);
-        return new SecretKeySpec(tmp.getEncoded(), ALGORITHM);
-    }
-    
     /**
      * Encrypts sensitive string data.
      * @param plainText The plain text to encrypt
@@ -71,9 +88,8 @@ public class DataEncryption {
         }
         
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, SECRET_KEY);
-            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            byte[] encryptedBytes = CryptoEngine.doFinal(ALGORITHM, Cipher.ENCRYPT_MODE, keyMaterial.getKey(),
+                    plainText.getBytes(StandardCharsets.UTF_8));
             return Base64.getEncoder().encodeToString(encryptedBytes);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Encryption failed", e);
@@ -92,9 +108,8 @@ public class DataEncryption {
         }
         
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, SECRET_KEY);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
+            byte[] decryptedBytes = CryptoEngine.doFinal(ALGORITHM, Cipher.DECRYPT_MODE, keyMaterial.getKey(),
+                    Base64.getDecoder().decode(encryptedText));
             return new String(decryptedBytes, StandardCharsets.UTF_8);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Decryption failed", e);
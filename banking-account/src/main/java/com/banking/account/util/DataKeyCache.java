@@ -0,0 +1,235 @@
+package com.banking.account.util;
+
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.kms.model.DataKeySpec;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyRequest;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyResponse;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches KMS data keys for envelope encryption.
+ *
+ * One data key is used for encryption until it is older than the configured TTL
+ * or has been used the configured number of times, at which point a new one is
+ * generated through KMS. Keys needed for decryption are looked up by their
+ * KMS-encrypted blob in a bounded LRU cache, so KMS is only asked to unwrap a
+ * data key the first time a record sealed under it is read. Given a
+ * {@link KmsCryptoGateway}, those unwraps go through it: concurrent misses on one
+ * key share a call, and {@link #decryptionKeyAsync} lets a bulk read overlap them.
+ */
+public class DataKeyCache {
+    private static final Logger logger = LoggerFactory.getLogger(DataKeyCache.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final long DEFAULT_MAX_USES = 100_000;
+    public static final int DEFAULT_MAX_DECRYPTION_KEYS = 1_000;
+
+    private final KmsClient kmsClient;
+    private final String kmsKeyId;
+    private final long ttlNanos;
+    private final long maxUses;
+    private final Map<ByteBuffer, SecretKey> decryptionKeys;
+    private final KmsCryptoGateway unwrapGateway;
+    private volatile DataKey current;
+
+    public DataKeyCache(KmsClient kmsClient, String kmsKeyId) {
+        this(kmsClient, kmsKeyId, (KmsCryptoGateway) null);
+    }
+
+    /**
+     * @param unwrapGateway asynchronous path for data key unwraps, or null to call
+     *                      {@code kmsClient} synchronously
+     */
+    public DataKeyCache(KmsClient kmsClient, String kmsKeyId, KmsCryptoGateway unwrapGateway) {
+        this(kmsClient, kmsKeyId, DEFAULT_TTL, DEFAULT_MAX_USES, DEFAULT_MAX_DECRYPTION_KEYS, unwrapGateway);
+    }
+
+    public DataKeyCache(KmsClient kmsClient, String kmsKeyId, Duration ttl, long maxUses, int maxDecryptionKeys) {
+        this(kmsClient, kmsKeyId, ttl, maxUses, maxDecryptionKeys, null);
+    }
+
+    public DataKeyCache(KmsClient kmsClient, String kmsKeyId, Duration ttl, long maxUses, int maxDecryptionKeys,
+                        KmsCryptoGateway unwrapGateway) {
+        if (kmsClient == null) {
+            throw new IllegalArgumentException("KmsClient cannot be null");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Data key TTL must be positive");
+        }
+        if (maxUses <= 0) {
+            throw new IllegalArgumentException("Data key max uses must be positive");
+        }
+        this.kmsClient = kmsClient;
+        this.kmsKeyId = kmsKeyId;
+        this.ttlNanos = ttl.toNanos();
+        this.maxUses = maxUses;
+        this.unwrapGateway = unwrapGateway;
+        this.decryptionKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, SecretKey> eldest) {
+                return size() > maxDecryptionKeys;
+            }
+        };
+    }
+
+    /**
+     * Returns the data key to encrypt the next field with, counting one use
+     * against it and generating a new key if the current one has expired.
+     */
+    public DataKey acquireEncryptionKey() {
+        DataKey key = current;
+        if (key != null && key.tryUse(ttlNanos, maxUses)) {
+            return key;
+        }
+        return refresh(key);
+    }
+
+    /**
+     * Returns the plaintext data key for a KMS-encrypted data key blob,
+     * calling KMS only when the key is not cached.
+     */
+    public SecretKey decryptionKey(byte[] encryptedKey) {
+        SecretKey cached = cachedDecryptionKey(encryptedKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (unwrapGateway != null) {
+            return decryptionKeyAsync(encryptedKey).join();
+        }
+        return remember(encryptedKey.clone(), unwrap(encryptedKey));
+    }
+
+    /**
+     * Returns the plaintext data key for a KMS-encrypted data key blob without
+     * waiting on KMS: a cached key comes back completed, and a missing one is
+     * unwrapped through the gateway, or synchronously if there is none.
+     */
+    public CompletableFuture<SecretKey> decryptionKeyAsync(byte[] encryptedKey) {
+        SecretKey cached = cachedDecryptionKey(encryptedKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        byte[] blob = encryptedKey.clone();
+        if (unwrapGateway == null) {
+            try {
+                return CompletableFuture.completedFuture(remember(blob, unwrap(blob)));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return unwrapGateway.decrypt(blob)
+                .thenApply(plaintext -> remember(blob, new SecretKeySpec(plaintext, "AES")));
+    }
+
+    private SecretKey cachedDecryptionKey(byte[] encryptedKey) {
+        DataKey key = current;
+        if (key != null && key.matches(encryptedKey)) {
+            return key.secretKey;
+        }
+        synchronized (decryptionKeys) {
+            return decryptionKeys.get(ByteBuffer.wrap(encryptedKey));
+        }
+    }
+
+    private SecretKey remember(byte[] encryptedKey, SecretKey secretKey) {
+        synchronized (decryptionKeys) {
+            decryptionKeys.put(ByteBuffer.wrap(encryptedKey), secretKey);
+        }
+        return secretKey;
+    }
+
+    private synchronized DataKey refresh(DataKey expired) {
+        DataKey key = current;
+        if (key != expired && key.tryUse(ttlNanos, maxUses)) {
+            return key;  // Another thread already refreshed it
+        }
+        GenerateDataKeyResponse response;
+        long started = Metrics.begin(Operation.KMS_GENERATE_DATA_KEY);
+        try {
+            response = kmsClient.generateDataKey(GenerateDataKeyRequest.builder()
+                    .keyId(kmsKeyId)
+                    .keySpec(DataKeySpec.AES_256)
+                    .build());
+        } finally {
+            Metrics.end(Operation.KMS_GENERATE_DATA_KEY, started);
+        }
+        DataKey fresh = new DataKey(
+                new SecretKeySpec(response.plaintext().asByteArray(), "AES"),
+                response.ciphertextBlob().asByteArray());
+        fresh.tryUse(ttlNanos, maxUses);
+        synchronized (decryptionKeys) {
+            decryptionKeys.put(ByteBuffer.wrap(fresh.encryptedKey), fresh.secretKey);
+        }
+        this.current = fresh;
+        logger.debug("Generated new data key");
+        return fresh;
+    }
+
+    private SecretKey unwrap(byte[] encryptedKey) {
+        byte[] plaintext;
+        long started = Metrics.begin(Operation.KMS_DECRYPT);
+        try {
+            plaintext = kmsClient.decrypt(DecryptRequest.builder()
+                    .keyId(kmsKeyId)
+                    .ciphertextBlob(SdkBytes.fromByteArray(encryptedKey))
+                    .build())
+                    .plaintext()
+                    .asByteArray();
+        } finally {
+            Metrics.end(Operation.KMS_DECRYPT, started);
+        }
+        return new SecretKeySpec(plaintext, "AES");
+    }
+
+    /**
+     * A plaintext data key together with its KMS-encrypted form.
+     */
+    public static final class DataKey {
+        private final SecretKey secretKey;
+        private final byte[] encryptedKey;
+        private final long createdAtNanos = System.nanoTime();
+        private final AtomicLong uses = new AtomicLong();
+
+        private DataKey(SecretKey secretKey, byte[] encryptedKey) {
+            this.secretKey = secretKey;
+            this.encryptedKey = encryptedKey;
+        }
+
+        public SecretKey getSecretKey() {
+            return secretKey;
+        }
+
+        /**
+         * KMS-encrypted data key, to be stored with every ciphertext sealed under it.
+         */
+        public byte[] getEncryptedKey() {
+            return encryptedKey;
+        }
+
+        private boolean tryUse(long ttlNanos, long maxUses) {
+            if (System.nanoTime() - createdAtNanos >= ttlNanos) {
+                return false;
+            }
+            return uses.incrementAndGet() <= maxUses;
+        }
+
+        private boolean matches(byte[] otherEncryptedKey) {
+            return Arrays.equals(encryptedKey, otherEncryptedKey);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.banking.account.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envelope encryption of account fields: AES-GCM is done locally under a KMS
+ * data key from a {@link DataKeyCache}, so encrypting or decrypting a field
+ * normally makes no KMS call at all.
+ *
+ * Ciphertext layout (Base64 encoded):
+ * <pre>
+ *   version (1) | encrypted data key length (2) | encrypted data key | IV (12) | ciphertext + tag
+ * </pre>
+ * The header is bound to the ciphertext as GCM additional authenticated data, followed
+ * by any associated data the caller passes to {@link #seal}.
+ */
+public class EnvelopeEncryption implements FieldEncryption {
+    private static final Logger logger = LoggerFactory.getLogger(EnvelopeEncryption.class);
+    private static final byte FORMAT_VERSION = 1;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final byte[] NO_ASSOCIATED_DATA = new byte[0];
+
+    private final DataKeyCache dataKeyCache;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public EnvelopeEncryption(DataKeyCache dataKeyCache) {
+        if (dataKeyCache == null) {
+            throw new IllegalArgumentException("DataKeyCache cannot be null");
+        }
+        this.dataKeyCache = dataKeyCache;
+    }
+
+    @Override
+    public String encrypt(String plainText) {
+        return Base64.getEncoder().encodeToString(seal(plainText.getBytes(StandardCharsets.UTF_8), NO_ASSOCIATED_DATA));
+    }
+
+    @Override
+    public String decrypt(String cipherText) {
+        return new String(open(Base64.getDecoder().decode(cipherText), NO_ASSOCIATED_DATA), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Seals binary data in the envelope layout above, without Base64. The associated
+     * data is authenticated after the header.
+     */
+    @Override
+    public byte[] seal(byte[] plaintext, byte[] associatedData) {
+        try {
+            DataKeyCache.DataKey dataKey = dataKeyCache.acquireEncryptionKey();
+            byte[] encryptedKey = dataKey.getEncryptedKey();
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+
+            int headerLength = 3 + encryptedKey.length;
+            ByteBuffer buffer = ByteBuffer.allocate(headerLength + IV_LENGTH + plaintext.length + TAG_LENGTH_BITS / 8);
+            buffer.put(FORMAT_VERSION).putShort((short) encryptedKey.length).put(encryptedKey).put(iv);
+
+            Cipher cipher = CryptoEngine.cipher(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, dataKey.getSecretKey(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            cipher.updateAAD(buffer.array(), 0, headerLength);
+            cipher.updateAAD(associatedData);
+            cipher.doFinal(ByteBuffer.wrap(plaintext), buffer);
+            return buffer.array();
+        } catch (Exception e) {
+            logger.error("Envelope encryption failed", e);
+            throw new RuntimeException("Envelope encryption failed", e);
+        }
+    }
+
+    @Override
+    public byte[] open(byte[] envelope, byte[] associatedData) {
+        try {
+            byte[] encryptedKey = readEncryptedKey(envelope);
+            return decrypt(dataKeyCache.decryptionKey(encryptedKey), envelope, encryptedKey.length, associatedData);
+        } catch (Exception e) {
+            logger.error("Envelope decryption failed", e);
+            throw new RuntimeException("Envelope decryption failed", e);
+        }
+    }
+
+    /**
+     * Opens sealed data without waiting on KMS: if the data key is not cached, the
+     * AES-GCM step runs once the {@link DataKeyCache} has it unwrapped.
+     */
+    @Override
+    public CompletableFuture<byte[]> openAsync(byte[] envelope, byte[] associatedData) {
+        byte[] encryptedKey;
+        try {
+            encryptedKey = readEncryptedKey(envelope);
+        } catch (RuntimeException e) {
+            logger.error("Envelope decryption failed", e);
+            return CompletableFuture.failedFuture(new RuntimeException("Envelope decryption failed", e));
+        }
+        return dataKeyCache.decryptionKeyAsync(encryptedKey).thenApply(dataKey -> {
+            try {
+                return decrypt(dataKey, envelope, encryptedKey.length, associatedData);
+            } catch (Exception e) {
+                logger.error("Envelope decryption failed", e);
+                throw new RuntimeException("Envelope decryption failed", e);
+            }
+        });
+    }
+
+    private static byte[] readEncryptedKey(byte[] envelope) {
+        ByteBuffer buffer = ByteBuffer.wrap(envelope);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported envelope version: " + version);
+        }
+        byte[] encryptedKey = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(encryptedKey);
+        return encryptedKey;
+    }
+
+    private static byte[] decrypt(SecretKey dataKey, byte[] envelope, int encryptedKeyLength,
+                                  byte[] associatedData) throws GeneralSecurityException {
+        int headerLength = 3 + encryptedKeyLength;
+        Cipher cipher = CryptoEngine.cipher(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(TAG_LENGTH_BITS, envelope, headerLength, IV_LENGTH));
+        cipher.updateAAD(envelope, 0, headerLength);
+        cipher.updateAAD(associatedData);
+        int offset = headerLength + IV_LENGTH;
+        return cipher.doFinal(envelope, offset, envelope.length - offset);
+    }
+}
@@ -0,0 +1,76 @@
+package com.banking.account.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Encrypts and decrypts individual sensitive fields of a stored record.
+ *
+ * Implementations must be thread-safe: a single instance is shared by every
+ * {@link com.banking.account.domain.EncryptedAccount}.
+ */
+public interface FieldEncryption {
+
+    /**
+     * Encrypts a field value.
+     * @param plainText The plain text to encrypt
+     * @return Base64 encoded ciphertext
+     */
+    String encrypt(String plainText);
+
+    /**
+     * Decrypts a field value produced by {@link #encrypt(String)}.
+     * @param cipherText The Base64 encoded ciphertext
+     * @return Decrypted plain text
+     */
+    String decrypt(String cipherText);
+
+    /**
+     * Encrypts and authenticates binary data, binding it to the associated data, which
+     * is not stored in the result and must be supplied again to {@link #open}.
+     *
+     * The default implementation goes through {@link #encrypt(String)}, carrying the
+     * associated data inside the ciphertext; implementations that encrypt locally should
+     * override it with a native binary format.
+     */
+    default byte[] seal(byte[] plaintext, byte[] associatedData) {
+        ByteBuffer framed = ByteBuffer.allocate(4 + associatedData.length + plaintext.length);
+        framed.putInt(associatedData.length).put(associatedData).put(plaintext);
+        return encrypt(Base64.getEncoder().encodeToString(framed.array())).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decrypts data produced by {@link #seal}, failing if it was tampered with or the
+     * associated data differs.
+     */
+    default byte[] open(byte[] sealed, byte[] associatedData) {
+        ByteBuffer framed = ByteBuffer.wrap(Base64.getDecoder().decode(decrypt(new String(sealed, StandardCharsets.UTF_8))));
+        int associatedLength = framed.getInt();
+        if (associatedLength < 0 || associatedLength > framed.remaining()) {
+            throw new IllegalArgumentException("Malformed sealed data");
+        }
+        byte[] boundData = new byte[associatedLength];
+        framed.get(boundData);
+        if (!MessageDigest.isEqual(boundData, associatedData)) {
+            throw new IllegalArgumentException("Associated data does not match sealed data");
+        }
+        return Arrays.copyOfRange(framed.array(), framed.position(), framed.limit());
+    }
+
+    /**
+     * Asynchronous {@link #open}, for callers opening many records at once. The
+     * default opens on the calling thread and returns a completed future;
+     * implementations whose open may wait on KMS override it so those waits overlap.
+     */
+    default CompletableFuture<byte[]> openAsync(byte[] sealed, byte[] associatedData) {
+        try {
+            return CompletableFuture.completedFuture(open(sealed, associatedData));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.account.util;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Source of a symmetric key, such as one derived from a passphrase or loaded from a
+ * sealed key file. Implementations may be slow; wrap them in {@link LazyKeyMaterial}
+ * to obtain the key once, off the startup path.
+ */
+public interface KeyMaterialProvider {
+
+    /**
+     * Returns the key, obtaining it if necessary.
+     * @throws IllegalStateException if the key cannot be obtained
+     */
+    SecretKey getKey();
+
+    /**
+     * Describes where the key comes from, for logs.
+     */
+    String describe();
+}
@@ -0,0 +1,135 @@
+package com.banking.account.util;
+
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.Operation;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.DecryptResponse;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking KMS decryption for callers that need many blobs unwrapped at once,
+ * such as a bulk read meeting records sealed under data keys that are not cached.
+ *
+ * Every call returns a future immediately. Requests for a blob that is already waiting
+ * or in flight are coalesced onto that request, so a burst of reads under one data key
+ * costs one KMS call. KMS has no batch decrypt, so coalescing is all the batching there
+ * is; distinct blobs are sent as separate calls, at most {@code maxInFlight} at a time,
+ * and the rest wait in arrival order for a call to complete.
+ */
+public class KmsCryptoGateway {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private final KmsAsyncClient kmsClient;
+    private final String kmsKeyId;
+    private final int maxInFlight;
+    private final Map<ByteBuffer, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+    private final Queue<Call> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public KmsCryptoGateway(KmsAsyncClient kmsClient, String kmsKeyId) {
+        this(kmsClient, kmsKeyId, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public KmsCryptoGateway(KmsAsyncClient kmsClient, String kmsKeyId, int maxInFlight) {
+        if (kmsClient == null) {
+            throw new IllegalArgumentException("KmsAsyncClient cannot be null");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight calls must be positive");
+        }
+        this.kmsClient = kmsClient;
+        this.kmsKeyId = kmsKeyId;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Decrypts a KMS ciphertext blob. The future completes on the thread that
+     * completes the KMS call, with the plaintext or with the KMS failure; a failure
+     * is not remembered, so a later call for the same blob asks KMS again.
+     */
+    public CompletableFuture<byte[]> decrypt(byte[] ciphertextBlob) {
+        ByteBuffer key = ByteBuffer.wrap(ciphertextBlob.clone());
+        CompletableFuture<byte[]> result = pending.get(key);
+        if (result != null) {
+            return result;
+        }
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        result = pending.putIfAbsent(key, created);
+        if (result != null) {
+            return result;
+        }
+        waiting.add(new Call(key, created));
+        dispatch();
+        return created;
+    }
+
+    /**
+     * Returns how many KMS calls are outstanding.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void dispatch() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;  // The next completion dispatches again
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Call call = waiting.poll();
+            if (call == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            send(call);
+        }
+    }
+
+    private void send(Call call) {
+        long started = Metrics.begin(Operation.KMS_DECRYPT);
+        CompletableFuture<DecryptResponse> response;
+        try {
+            response = kmsClient.decrypt(DecryptRequest.builder()
+                    .keyId(kmsKeyId)
+                    .ciphertextBlob(SdkBytes.fromByteBuffer(call.blob.duplicate()))
+                    .build());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((decrypted, failure) -> {
+            Metrics.end(Operation.KMS_DECRYPT, started);
+            inFlight.decrementAndGet();
+            dispatch();
+            // Completed before it is removed, so a request arriving in between still
+            // finds the result instead of calling KMS again
+            if (failure != null) {
+                call.result.completeExceptionally(failure);
+            } else {
+                call.result.complete(decrypted.plaintext().asByteArray());
+            }
+            pending.remove(call.blob, call.result);
+        });
+    }
+
+    private static final class Call {
+        final ByteBuffer blob;
+        final CompletableFuture<byte[]> result;
+
+        Call(ByteBuffer blob, CompletableFuture<byte[]> result) {
+            this.blob = blob;
+            this.result = result;
+        }
+    }
+}
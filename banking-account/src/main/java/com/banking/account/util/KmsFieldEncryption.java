@@ -0,0 +1,51 @@
+package com.banking.account.util;
+
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Direct mode: every field is encrypted and decrypted by a remote KMS call
+ * through {@link AWSKMSEncryption}. Kept for deployments that must not hold
+ * plaintext key material in process memory; {@link EnvelopeEncryption} is
+ * the default.
+ */
+public class KmsFieldEncryption implements FieldEncryption {
+    private static final Logger logger = LoggerFactory.getLogger(KmsFieldEncryption.class);
+    private final AWSKMSEncryption encryption;
+
+    public KmsFieldEncryption() {
+        this(new AWSKMSEncryption());
+    }
+
+    public KmsFieldEncryption(AWSKMSEncryption encryption) {
+        this.encryption = encryption;
+    }
+
+    @Override
+    public String encrypt(String plainText) {
+        long started = Metrics.begin(Operation.KMS_ENCRYPT);
+        try {
+            return encryption.encrypt(plainText);
+        } catch (Exception e) {
+            logger.error("Error encrypting field", e);
+            throw new RuntimeException("Error encrypting field", e);
+        } finally {
+            Metrics.end(Operation.KMS_ENCRYPT, started);
+        }
+    }
+
+    @Override
+    public String decrypt(String cipherText) {
+        long started = Metrics.begin(Operation.KMS_DECRYPT);
+        try {
+            return encryption.decrypt(cipherText);
+        } catch (Exception e) {
+            logger.error("Error decrypting field", e);
+            throw new RuntimeException("Error decrypting field", e);
+        } finally {
+            Metrics.end(Operation.KMS_DECRYPT, started);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.banking.account.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Obtains a key from a slow provider once, on first use or ahead of it in the
+ * background, and hands out the same key afterwards.
+ *
+ * {@link #warmUp()} starts loading on a daemon thread so the work overlaps the rest of
+ * startup. A caller that needs the key while the warm-up is still running waits for it
+ * rather than loading a second time. A failed load is not remembered: the next call
+ * tries again.
+ *
+ * How long the load took and how long the first caller had to wait for it are logged
+ * and available from {@link #getLoadTime()} and {@link #getFirstUseWait()}.
+ */
+public class LazyKeyMaterial implements KeyMaterialProvider {
+    private static final Logger logger = LoggerFactory.getLogger(LazyKeyMaterial.class);
+
+    private final KeyMaterialProvider delegate;
+    private final Object lock = new Object();
+    private volatile SecretKey key;
+    private volatile Duration loadTime;
+    private volatile Duration firstUseWait;
+
+    public LazyKeyMaterial(KeyMaterialProvider delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Key material provider cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SecretKey getKey() {
+        SecretKey loaded = key;
+        if (loaded != null) {
+            if (firstUseWait == null) {
+                recordFirstUse(Duration.ZERO);
+            }
+            return loaded;
+        }
+        long start = System.nanoTime();
+        loaded = load();
+        if (firstUseWait == null) {
+            recordFirstUse(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return loaded;
+    }
+
+    /**
+     * Starts loading the key on a background daemon thread, unless it is already loaded.
+     * Failures are logged and left for the first real use to retry.
+     */
+    public CompletableFuture<SecretKey> warmUp() {
+        SecretKey loaded = key;
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+        CompletableFuture<SecretKey> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(load());
+            } catch (RuntimeException e) {
+                logger.warn("Background key warm-up from {} failed ({}); it will be retried on first use",
+                        delegate.describe(), e.getMessage());
+                result.completeExceptionally(e);
+            }
+        }, "key-material-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+
+    @Override
+    public String describe() {
+        return delegate.describe();
+    }
+
+    public boolean isLoaded() {
+        return key != null;
+    }
+
+    /**
+     * Returns how long the provider took to produce the key, once it has.
+     */
+    public Optional<Duration> getLoadTime() {
+        return Optional.ofNullable(loadTime);
+    }
+
+    /**
+     * Returns how long the first {@link #getKey()} call was blocked, zero if the key was
+     * already warm by then.
+     */
+    public Optional<Duration> getFirstUseWait() {
+        return Optional.ofNullable(firstUseWait);
+    }
+
+    private void recordFirstUse(Duration wait) {
+        firstUseWait = wait;
+        logger.info("First use of key material waited {} ms", wait.toMillis());
+    }
+
+    private SecretKey load() {
+        synchronized (lock) {
+            if (key == null) {
+                long start = System.nanoTime();
+                SecretKey loaded = delegate.getKey();
+                loadTime = Duration.ofNanos(System.nanoTime() - start);
+                key = loaded;
+                logger.info("Key material from {} ready in {} ms", delegate.describe(), loadTime.toMillis());
+            }
+            return key;
+        }
+    }
+}
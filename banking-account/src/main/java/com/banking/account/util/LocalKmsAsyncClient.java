@@ -0,0 +1,75 @@
+package com.banking.account.util;
+
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.DecryptResponse;
+import software.amazon.awssdk.services.kms.model.EncryptRequest;
+import software.amazon.awssdk.services.kms.model.EncryptResponse;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyRequest;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous view of a {@link LocalKmsClient}, returned by {@link LocalKmsClient#async()}.
+ * Each call is answered by one scheduler thread once the injected latency has passed,
+ * so any number of calls can be outstanding at once without a thread waiting on each.
+ */
+final class LocalKmsAsyncClient implements KmsAsyncClient {
+    private final LocalKmsClient kms;
+    private final long latencyNanos;
+    private final ScheduledExecutorService scheduler;
+
+    LocalKmsAsyncClient(LocalKmsClient kms, long latencyNanos) {
+        this.kms = kms;
+        this.latencyNanos = latencyNanos;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "local-kms");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    @Override
+    public CompletableFuture<EncryptResponse> encrypt(EncryptRequest request) {
+        return later(() -> kms.encryptNow(request));
+    }
+
+    @Override
+    public CompletableFuture<DecryptResponse> decrypt(DecryptRequest request) {
+        return later(() -> kms.decryptNow(request));
+    }
+
+    @Override
+    public CompletableFuture<GenerateDataKeyResponse> generateDataKey(GenerateDataKeyRequest request) {
+        return later(() -> kms.generateDataKeyNow(request));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> later(Supplier<T> call) {
+        CompletableFuture<T> response = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            try {
+                response.complete(call.get());
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }, latencyNanos, TimeUnit.NANOSECONDS);
+        return response;
+    }
+}
@@ -0,0 +1,177 @@
+package com.banking.account.util;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.DecryptResponse;
+import software.amazon.awssdk.services.kms.model.EncryptRequest;
+import software.amazon.awssdk.services.kms.model.EncryptResponse;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyRequest;
+import software.amazon.awssdk.services.kms.model.GenerateDataKeyResponse;
+import software.amazon.awssdk.services.kms.model.InvalidCiphertextException;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for AWS KMS, used for local runs, tests and benchmarks.
+ *
+ * Ciphertext blobs are AES-GCM sealed under a random master key that lives only
+ * as long as this instance. An optional fixed latency is injected into every call
+ * to approximate a network round-trip, and call counters make it possible to
+ * assert how many KMS requests a code path issues. {@link #async()} gives the same
+ * KMS behind the asynchronous client interface.
+ *
+ * NOT for production use: the master key is never persisted.
+ */
+public class LocalKmsClient implements KmsClient {
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final SecretKey masterKey;
+    private final long latencyNanos;
+    private final AtomicLong encryptCalls = new AtomicLong();
+    private final AtomicLong decryptCalls = new AtomicLong();
+    private final AtomicLong generateDataKeyCalls = new AtomicLong();
+
+    public LocalKmsClient() {
+        this(Duration.ZERO);
+    }
+
+    public LocalKmsClient(Duration latency) {
+        byte[] keyBytes = new byte[32];
+        secureRandom.nextBytes(keyBytes);
+        this.masterKey = new SecretKeySpec(keyBytes, "AES");
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public EncryptResponse encrypt(EncryptRequest request) {
+        simulateLatency();
+        return encryptNow(request);
+    }
+
+    @Override
+    public DecryptResponse decrypt(DecryptRequest request) {
+        simulateLatency();
+        return decryptNow(request);
+    }
+
+    @Override
+    public GenerateDataKeyResponse generateDataKey(GenerateDataKeyRequest request) {
+        simulateLatency();
+        return generateDataKeyNow(request);
+    }
+
+    /**
+     * Returns an asynchronous view of this KMS: same master key and call counters, with
+     * the latency applied by completing each call later instead of blocking a thread,
+     * so concurrent calls overlap the way network round-trips do. Each view has its own
+     * scheduler thread, stopped by closing the view.
+     */
+    public KmsAsyncClient async() {
+        return new LocalKmsAsyncClient(this, latencyNanos);
+    }
+
+    public long getEncryptCalls() {
+        return encryptCalls.get();
+    }
+
+    public long getDecryptCalls() {
+        return decryptCalls.get();
+    }
+
+    public long getGenerateDataKeyCalls() {
+        return generateDataKeyCalls.get();
+    }
+
+    public long getTotalCalls() {
+        return encryptCalls.get() + decryptCalls.get() + generateDataKeyCalls.get();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    /**
+     * The calls themselves, counted but without latency.
+     */
+    EncryptResponse encryptNow(EncryptRequest request) {
+        encryptCalls.incrementAndGet();
+        byte[] ciphertext = seal(request.plaintext().asByteArray());
+        return EncryptResponse.builder()
+                .keyId(request.keyId())
+                .ciphertextBlob(SdkBytes.fromByteArray(ciphertext))
+                .build();
+    }
+
+    DecryptResponse decryptNow(DecryptRequest request) {
+        decryptCalls.incrementAndGet();
+        byte[] plaintext = open(request.ciphertextBlob().asByteArray());
+        return DecryptResponse.builder()
+                .keyId(request.keyId())
+                .plaintext(SdkBytes.fromByteArray(plaintext))
+                .build();
+    }
+
+    GenerateDataKeyResponse generateDataKeyNow(GenerateDataKeyRequest request) {
+        generateDataKeyCalls.incrementAndGet();
+        int length = request.numberOfBytes() != null ? request.numberOfBytes() : 32;
+        byte[] dataKey = new byte[length];
+        secureRandom.nextBytes(dataKey);
+        return GenerateDataKeyResponse.builder()
+                .keyId(request.keyId())
+                .plaintext(SdkBytes.fromByteArray(dataKey))
+                .ciphertextBlob(SdkBytes.fromByteArray(seal(dataKey)))
+                .build();
+    }
+
+    private byte[] seal(byte[] plaintext) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, masterKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (Exception e) {
+            throw new IllegalStateException("Local KMS encryption failed", e);
+        }
+    }
+
+    private byte[] open(byte[] blob) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, masterKey, new GCMParameterSpec(TAG_LENGTH_BITS, blob, 0, IV_LENGTH));
+            return cipher.doFinal(blob, IV_LENGTH, blob.length - IV_LENGTH);
+        } catch (Exception e) {
+            throw InvalidCiphertextException.builder().message("Ciphertext was not produced by this key").cause(e).build();
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
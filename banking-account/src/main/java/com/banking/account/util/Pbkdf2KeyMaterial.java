@@ -0,0 +1,58 @@
+package com.banking.account.util;
+
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.function.Supplier;
+
+/**
+ * Derives a key from a passphrase with PBKDF2-HMAC-SHA256. Every call runs the full
+ * derivation, which is deliberately slow; see {@link LazyKeyMaterial} and
+ * {@link SealedKeyFile} for paying it once.
+ */
+public class Pbkdf2KeyMaterial implements KeyMaterialProvider {
+    private static final String KDF_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private final Supplier<String> passphrase;
+    private final byte[] salt;
+    private final int iterations;
+    private final int keyLengthBits;
+    private final String keyAlgorithm;
+
+    /**
+     * @param passphrase supplies the passphrase when a key is derived, not before
+     */
+    public Pbkdf2KeyMaterial(Supplier<String> passphrase, byte[] salt, int iterations,
+                             int keyLengthBits, String keyAlgorithm) {
+        if (passphrase == null || salt == null || keyAlgorithm == null) {
+            throw new IllegalArgumentException("Passphrase, salt and key algorithm are required");
+        }
+        if (iterations <= 0 || keyLengthBits <= 0) {
+            throw new IllegalArgumentException("Iterations and key length must be positive");
+        }
+        this.passphrase = passphrase;
+        this.salt = salt.clone();
+        this.iterations = iterations;
+        this.keyLengthBits = keyLengthBits;
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    @Override
+    public SecretKey getKey() {
+        PBEKeySpec spec = new PBEKeySpec(passphrase.get().toCharArray(), salt, iterations, keyLengthBits);
+        try {
+            byte[] derived = SecretKeyFactory.getInstance(KDF_ALGORITHM).generateSecret(spec).getEncoded();
+            return new SecretKeySpec(derived, keyAlgorithm);
+        } catch (Exception e) {
+            throw new IllegalStateException("Key derivation failed", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    @Override
+    public String describe() {
+        return KDF_ALGORITHM + " (" + iterations + " iterations)";
+    }
+}
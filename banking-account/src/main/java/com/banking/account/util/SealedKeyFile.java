@@ -0,0 +1,98 @@
+package com.banking.account.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.EncryptRequest;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps a key in a local file, sealed under a KMS key, so a restart unwraps it with one
+ * KMS call instead of obtaining it again from a slow source such as PBKDF2.
+ *
+ * If the file does not exist yet, the key is taken from the fallback provider, sealed
+ * through KMS and written atomically for the next start. The file holds only the KMS
+ * ciphertext, the same form in which {@link BlindIndex} keys are persisted. Delete it to
+ * force a fresh derivation, for example after the passphrase changes.
+ */
+public class SealedKeyFile implements KeyMaterialProvider {
+    private static final Logger logger = LoggerFactory.getLogger(SealedKeyFile.class);
+
+    private final Path file;
+    private final KmsClient kmsClient;
+    private final String kmsKeyId;
+    private final String keyAlgorithm;
+    private final KeyMaterialProvider fallback;
+
+    public SealedKeyFile(Path file, KmsClient kmsClient, String kmsKeyId, String keyAlgorithm,
+                         KeyMaterialProvider fallback) {
+        if (file == null || kmsClient == null || keyAlgorithm == null || fallback == null) {
+            throw new IllegalArgumentException("File, KmsClient, key algorithm and fallback are required");
+        }
+        this.file = file;
+        this.kmsClient = kmsClient;
+        this.kmsKeyId = kmsKeyId;
+        this.keyAlgorithm = keyAlgorithm;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public SecretKey getKey() {
+        try {
+            byte[] sealed = Files.readAllBytes(file);
+            byte[] plaintext = kmsClient.decrypt(DecryptRequest.builder()
+                    .keyId(kmsKeyId)
+                    .ciphertextBlob(SdkBytes.fromByteArray(sealed))
+                    .build())
+                    .plaintext()
+                    .asByteArray();
+            return new SecretKeySpec(plaintext, keyAlgorithm);
+        } catch (NoSuchFileException e) {
+            return sealFromFallback();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read sealed key file " + file, e);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "sealed key file " + file + " (fallback: " + fallback.describe() + ")";
+    }
+
+    private SecretKey sealFromFallback() {
+        logger.info("No sealed key file at {}, obtaining the key from {}", file, fallback.describe());
+        SecretKey key = fallback.getKey();
+        byte[] sealed = kmsClient.encrypt(EncryptRequest.builder()
+                .keyId(kmsKeyId)
+                .plaintext(SdkBytes.fromByteArray(key.getEncoded()))
+                .build())
+                .ciphertextBlob()
+                .asByteArray();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tmp, sealed);
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            logger.info("Sealed key written to {}", file);
+        } catch (IOException e) {
+            // The key itself is fine; only the next start loses the shortcut
+            logger.warn("Could not write sealed key file {}", file, e);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,183 @@
+package com.banking.account.audit;
+
+import com.banking.core.domain.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWritesJsonLinesToFile() throws Exception {
+        Path file = directory.resolve("audit.log");
+        AuditLog auditLog = new AuditLog(new FileAuditSink(file));
+        auditLog.record(AuditAction.DEPOSIT, "ACC1", new Money(10.0, "USD"));
+        auditLog.record(AuditAction.TRANSFER, "ACC1", "ACC2", new Money(2.5, "USD"));
+        auditLog.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).matches(
+                "\\{\"time\":\"[^\"]+\",\"action\":\"deposit\",\"account\":\"ACC1\",\"amount\":\"10\\.00?\",\"currency\":\"USD\"}"),
+                lines.get(0));
+        assertTrue(lines.get(1).contains("\"action\":\"transfer\",\"account\":\"ACC1\",\"to\":\"ACC2\""), lines.get(1));
+        assertEquals(2, auditLog.getWrittenCount());
+    }
+
+    @Test
+    void testReadSamplingKeepsEveryMoneyMovement() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        AuditLog auditLog = new AuditLog(sink, 1024, 0.0);
+        for (int i = 0; i < 100; i++) {
+            auditLog.record(AuditAction.BALANCE_READ, "ACC1", null);
+            auditLog.record(AuditAction.WITHDRAWAL, "ACC1", new Money(1.0, "USD"));
+        }
+        auditLog.close();
+
+        assertEquals(100, sink.events.size());
+        assertTrue(sink.events.stream().allMatch(event -> event.getAction() == AuditAction.WITHDRAWAL));
+        assertEquals(0, auditLog.getDroppedCount());
+    }
+
+    @Test
+    void testFullBufferDropsReadsButOverflowsMoneyMovements() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        sink.blocked = new CountDownLatch(1);
+        AuditLog auditLog = new AuditLog(sink, 4, 1.0);
+
+        // Park the writer inside the sink so nothing drains while the buffer fills
+        auditLog.record(AuditAction.DEPOSIT, "ACC0", new Money(1.0, "USD"));
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 50; i++) {
+            auditLog.record(AuditAction.DEPOSIT, "ACC" + i, new Money(1.0, "USD"));
+            auditLog.record(AuditAction.ACCOUNT_READ, "ACC" + i, null);
+        }
+        sink.blocked.countDown();
+        auditLog.close();
+
+        long deposits = sink.events.stream().filter(event -> event.getAction() == AuditAction.DEPOSIT).count();
+        long reads = sink.events.stream().filter(event -> event.getAction() == AuditAction.ACCOUNT_READ).count();
+        assertEquals(51, deposits);
+        assertEquals(50, reads + auditLog.getDroppedCount());
+        assertTrue(auditLog.getDroppedCount() > 0);
+    }
+
+    @Test
+    void testMoneyMovementsAfterCloseAreRejected() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        AuditLog auditLog = new AuditLog(sink);
+        auditLog.close();
+        assertThrows(IllegalStateException.class,
+                () -> auditLog.record(AuditAction.DEPOSIT, "ACC1", new Money(1.0, "USD")));
+        auditLog.record(AuditAction.ACCOUNT_READ, "ACC1", null);
+
+        assertTrue(sink.events.isEmpty());
+        assertEquals(1, auditLog.getDroppedCount());
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    void testCloseWritesEveryAcceptedMoneyMovement() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        AuditLog auditLog = new AuditLog(sink, 4, 1.0);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        auditLog.record(AuditAction.DEPOSIT, "ACC1", new Money(1.0, "USD"));
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    // closed
+                }
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        auditLog.close();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(accepted.get(), sink.events.size());
+        assertEquals(accepted.get(), auditLog.getWrittenCount());
+    }
+
+    @Test
+    void testCloseWaitsForReservedEvents() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        AuditLog auditLog = new AuditLog(sink);
+        auditLog.reserve();
+        Thread closer = new Thread(() -> {
+            try {
+                auditLog.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        closer.start();
+        Thread.sleep(50);
+
+        assertThrows(IllegalStateException.class, auditLog::reserve);
+        auditLog.recordReserved(AuditAction.DEPOSIT, "ACC1", null, new Money(1.0, "USD"));
+        auditLog.release();
+        closer.join(5000);
+
+        assertFalse(closer.isAlive());
+        assertEquals(1, sink.events.size());
+    }
+
+    @Test
+    void testJsonEscapesFieldValues() {
+        AuditEvent event = new AuditEvent(0L, AuditAction.ACCOUNT_CREATED, "ACC1", "cust\"1\\\n", null);
+        assertEquals("{\"time\":\"1970-01-01T00:00:00Z\",\"action\":\"account-created\",\"account\":\"ACC1\","
+                + "\"customer\":\"cust\\\"1\\\\\\u000a\"}", event.toJson());
+    }
+
+    private static final class CollectingSink implements AuditSink {
+        final List<AuditEvent> events = new ArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch blocked;
+        volatile boolean closed;
+
+        @Override
+        public void write(List<AuditEvent> batch) throws IOException {
+            entered.countDown();
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+            events.addAll(batch);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.account.domain;
+
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.FieldEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptedAccountTest {
+
+    private final EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(new LocalKmsClient(), "test-key"));
+    private final Account account = new Account("ACC001", "CUST001", AccountType.SAVINGS,
+            new Money(new BigDecimal("1234.50"), "EUR"), true);
+
+    @Test
+    void testRoundTripKeepsEveryField() {
+        EncryptedAccount encrypted = new EncryptedAccount(account, "index-1", encryption);
+
+        Account decrypted = encrypted.toAccount();
+        assertEquals("ACC001", decrypted.getAccountId());
+        assertEquals("CUST001", decrypted.getCustomerId());
+        assertEquals(AccountType.SAVINGS, decrypted.getAccountType());
+        assertEquals(new BigDecimal("1234.50"), decrypted.getBalance().getAmount());
+        assertEquals("EUR", decrypted.getBalance().getCurrency());
+        assertEquals("ACC001", encrypted.getAccountId());
+        assertEquals("CUST001", encrypted.getCustomerId());
+        assertEquals(new BigDecimal("1234.50"), encrypted.getBalance().getAmount());
+    }
+
+    @Test
+    void testRecordHoldsNoPlaintext() {
+        byte[] record = new EncryptedAccount(account, "index-1", encryption).getSealedRecord();
+        String raw = new String(record, StandardCharsets.ISO_8859_1);
+        assertFalse(raw.contains("ACC001"));
+        assertFalse(raw.contains("CUST001"));
+        assertFalse(raw.contains("EUR"));
+    }
+
+    @Test
+    void testBalanceUpdateKeepsIdentity() {
+        EncryptedAccount encrypted = new EncryptedAccount(account, "index-1", encryption);
+        byte[] before = encrypted.getSealedRecord();
+
+        encrypted.updateBalance(new Money(new BigDecimal("-12345678901234567890.123"), "USD"));
+
+        assertFalse(Arrays.equals(before, encrypted.getSealedRecord()));
+        Account decrypted = encrypted.toAccount("ACC001");
+        assertEquals("ACC001", decrypted.getAccountId());
+        assertEquals("CUST001", decrypted.getCustomerId());
+        assertEquals(new BigDecimal("-12345678901234567890.123"), decrypted.getBalance().getAmount());
+        assertEquals("USD", decrypted.getBalance().getCurrency());
+    }
+
+    @Test
+    void testRecordIsBoundToItsIndex() {
+        byte[] record = new EncryptedAccount(account, "index-1", encryption).getSealedRecord();
+        byte[] sealed = Arrays.copyOfRange(record, 1, record.length);
+        assertArrayEquals("ACC001".getBytes(StandardCharsets.UTF_8), Arrays.copyOfRange(
+                encryption.open(sealed, "\u0001index-1".getBytes(StandardCharsets.UTF_8)), 2, 8));
+        byte[] associatedData = "\u0001index-2".getBytes(StandardCharsets.UTF_8);
+        assertThrows(RuntimeException.class, () -> encryption.open(sealed, associatedData));
+    }
+
+    @Test
+    void testRecordStartsWithItsVersion() {
+        byte[] record = new EncryptedAccount(account, "index-1", encryption).getSealedRecord();
+        assertEquals(1, record[0]);
+        assertEquals("ACC001", new EncryptedAccount("index-1", AccountType.SAVINGS, true, record, encryption)
+                .getAccountId());
+
+        record[0] = 2;
+        EncryptedAccount future = new EncryptedAccount("index-1", AccountType.SAVINGS, true, record, encryption);
+        RuntimeException e = assertThrows(RuntimeException.class, future::toAccount);
+        assertEquals("Unsupported account record version 2", e.getCause().getMessage());
+        assertThrows(RuntimeException.class, () -> future.toAccountAsync().join());
+    }
+
+    @Test
+    void testStringOnlyEncryptionStillWorks() {
+        FieldEncryption reversing = new FieldEncryption() {
+            @Override
+            public String encrypt(String plainText) {
+                return new StringBuilder(plainText).reverse().toString();
+            }
+
+            @Override
+            public String decrypt(String cipherText) {
+                return new StringBuilder(cipherText).reverse().toString();
+            }
+        };
+        EncryptedAccount encrypted = new EncryptedAccount(account, "index-1", reversing);
+        encrypted.updateBalance(new Money(10.0, "EUR"));
+
+        Account decrypted = encrypted.toAccount();
+        assertEquals("CUST001", decrypted.getCustomerId());
+        assertEquals(10.0, decrypted.getBalance().getAmount().doubleValue());
+
+        byte[] record = encrypted.getSealedRecord();
+        assertEquals(1, record[0]);
+        record[0] = 0;
+        assertThrows(RuntimeException.class,
+                () -> new EncryptedAccount("index-1", AccountType.SAVINGS, true, record, reversing).getBalance());
+    }
+}
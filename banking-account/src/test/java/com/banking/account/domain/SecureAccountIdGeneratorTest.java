@@ -0,0 +1,84 @@
+package com.banking.account.domain;
+
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecureAccountIdGeneratorTest {
+
+    @Test
+    void testIdsAreHexAndUnique() {
+        AccountIdGenerator generator = SecureAccountIdGenerator.random();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            String id = generator.nextId();
+            assertTrue(id.matches("[0-9a-f]{32}"), id);
+            assertTrue(ids.add(id));
+        }
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws Exception {
+        AccountIdGenerator generator = SecureAccountIdGenerator.random();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        assertTrue(ids.add(generator.nextId()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40_000, ids.size());
+    }
+
+    @Test
+    void testTimeOrderedIdsSortByCreationTime() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        AccountIdGenerator generator = new SecureAccountIdGenerator(true, clock::get);
+
+        String earlier = generator.nextId();
+        clock.incrementAndGet();
+        String later = generator.nextId();
+
+        assertTrue(earlier.compareTo(later) < 0);
+        assertEquals(Long.toHexString(1_700_000_000_000L), earlier.substring(0, 12).replaceFirst("^0+", ""));
+        assertTrue(later.matches("[0-9a-f]{32}"));
+    }
+
+    @Test
+    void testHexEncodingMatchesFormat() {
+        assertEquals("00017f80ff", SecureAccountIdGenerator.toHex(new byte[]{0, 1, 127, -128, -1}));
+    }
+
+    @Test
+    void testAccountUsesConfiguredGenerator() {
+        try {
+            Account.setIdGenerator(() -> "fixed-id");
+            assertEquals("fixed-id", new Account("CUST001", AccountType.CHECKING, new Money(1.0, "USD")).getAccountId());
+        } finally {
+            Account.setIdGenerator(SecureAccountIdGenerator.random());
+        }
+        assertThrows(IllegalArgumentException.class, () -> Account.setIdGenerator(null));
+    }
+}
@@ -0,0 +1,187 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.exception.InvalidAccountException;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testSecondReadIsAHit() {
+        AccountCache cache = new AccountCache();
+        Function<String, Account> loader = loader(100.0);
+
+        assertEquals(100.0, cache.getBalance("ACC1", loader).getAmount().doubleValue());
+        assertEquals(100.0, cache.get("ACC1", loader).getBalance().getAmount().doubleValue());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void testReturnedAccountsAreCopies() {
+        AccountCache cache = new AccountCache();
+        Account first = cache.get("ACC1", loader(100.0));
+        first.deposit(new Money(50.0, "USD"));
+
+        Account second = cache.get("ACC1", loader(100.0));
+        assertNotSame(first, second);
+        assertEquals(100.0, second.getBalance().getAmount().doubleValue());
+    }
+
+    @Test
+    void testPutReplacesAndInvalidateForcesReload() {
+        AccountCache cache = new AccountCache();
+        cache.get("ACC1", loader(100.0));
+
+        cache.put(new Account("ACC1", "CUST001", AccountType.CHECKING, new Money(150.0, "USD"), true));
+        assertEquals(150.0, cache.getBalance("ACC1", loader(100.0)).getAmount().doubleValue());
+        assertEquals(1, loads.get());
+
+        cache.invalidate("ACC1");
+        assertEquals(100.0, cache.getBalance("ACC1", loader(100.0)).getAmount().doubleValue());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoaderFailureIsNotCached() {
+        AccountCache cache = new AccountCache();
+        Function<String, Account> missing = id -> {
+            loads.incrementAndGet();
+            throw new InvalidAccountException("Account not found: " + id);
+        };
+
+        assertThrows(InvalidAccountException.class, () -> cache.get("ACC1", missing));
+        assertThrows(InvalidAccountException.class, () -> cache.get("ACC1", missing));
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void testBoundedSizeEvicts() {
+        AccountCache cache = new AccountCache(10, Duration.ofMinutes(5), Ticker.systemTicker(), Runnable::run);
+        for (int i = 0; i < 100; i++) {
+            cache.get("ACC" + i, loader(1.0));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 10);
+        assertTrue(cache.stats().evictionCount() >= 90);
+    }
+
+    @Test
+    void testEntriesExpireAfterTimeToLive() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        AccountCache cache = new AccountCache(100, Duration.ofSeconds(30), ticker, Runnable::run);
+        cache.get("ACC1", loader(100.0));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        cache.get("ACC1", loader(100.0));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        AccountCache cache = new AccountCache();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Account>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(readers.submit(() -> cache.get("ACC1", blockingLoader(100.0, release))));
+            }
+            while (cache.stats().missCount() < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<Account> read : reads) {
+                assertEquals(100.0, read.get(5, TimeUnit.SECONDS).getBalance().getAmount().doubleValue());
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().loadSuccessCount());
+    }
+
+    @Test
+    void testInvalidateDuringLoadDoesNotWaitAndDropsTheLoad() throws Exception {
+        AccountCache cache = new AccountCache();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Account> read = reader.submit(() -> cache.get("ACC1", blockingLoader(100.0, release)));
+            while (loads.get() < 1) {
+                Thread.onSpinWait();
+            }
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> cache.invalidate("ACC1"));
+            release.countDown();
+            assertEquals(100.0, read.get(5, TimeUnit.SECONDS).getBalance().getAmount().doubleValue());
+        } finally {
+            reader.shutdownNow();
+        }
+        assertEquals(120.0, cache.getBalance("ACC1", loader(120.0)).getAmount().doubleValue());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testPutDuringLoadKeepsTheNewerValue() throws Exception {
+        AccountCache cache = new AccountCache();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Account> read = reader.submit(() -> cache.get("ACC1", blockingLoader(100.0, release)));
+            while (loads.get() < 1) {
+                Thread.onSpinWait();
+            }
+            cache.put(new Account("ACC1", "CUST001", AccountType.CHECKING, new Money(150.0, "USD"), true));
+            release.countDown();
+            read.get(5, TimeUnit.SECONDS);
+        } finally {
+            reader.shutdownNow();
+        }
+        assertEquals(150.0, cache.getBalance("ACC1", loader(100.0)).getAmount().doubleValue());
+        assertEquals(1, loads.get());
+    }
+
+    private Function<String, Account> blockingLoader(double balance, CountDownLatch release) {
+        Function<String, Account> loader = loader(balance);
+        return id -> {
+            Account account = loader.apply(id);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return account;
+        };
+    }
+
+    private Function<String, Account> loader(double balance) {
+        return id -> {
+            loads.incrementAndGet();
+            return new Account(id, "CUST001", AccountType.CHECKING, new Money(balance, "USD"), true);
+        };
+    }
+}
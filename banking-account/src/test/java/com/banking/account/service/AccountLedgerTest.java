@@ -0,0 +1,172 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.EncryptedAccount;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLedgerTest {
+
+    private static final int WRITERS = 64;
+    private static final int DEPOSITS_PER_WRITER = 200;
+
+    @Test
+    void testStripeCountIsRoundedToPowerOfTwo() {
+        assertEquals(1, new AccountLedger(1).getStripeCount());
+        assertEquals(8, new AccountLedger(5).getStripeCount());
+        assertEquals(1024, new AccountLedger().getStripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new AccountLedger(0));
+    }
+
+    @Test
+    void testNoLostUpdatesOnHotAccount() throws Exception {
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(new LocalKmsClient(), "test-key"));
+        Account hot = new Account("CUST001", AccountType.CHECKING, new Money(0.0, "USD"));
+        EncryptedAccount encryptedAccount = new EncryptedAccount(hot, "hot-index", encryption);
+        AccountLedger ledger = new AccountLedger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < DEPOSITS_PER_WRITER; i++) {
+                    // Same read-decrypt-mutate-encrypt sequence AccountService.deposit performs
+                    ledger.execute(hot.getAccountId(), () -> {
+                        Account account = encryptedAccount.toAccount(hot.getAccountId());
+                        account.deposit(new Money(1.0, "USD"));
+                        encryptedAccount.updateBalance(account.getBalance());
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        BigDecimal expected = BigDecimal.valueOf(WRITERS * DEPOSITS_PER_WRITER);
+        assertEquals(0, expected.compareTo(encryptedAccount.toAccount().getBalance().getAmount()));
+    }
+
+    @Test
+    void testCrossingTransfersDoNotDeadlock() throws Exception {
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(new LocalKmsClient(), "test-key"));
+        AccountLedger ledger = new AccountLedger();
+        Account a = new Account("CUST001", AccountType.CHECKING, new Money(100000.0, "USD"));
+        Account b = new Account("CUST002", AccountType.CHECKING, new Money(100000.0, "USD"));
+        while (ledger.stripeOf(a.getAccountId()) == ledger.stripeOf(b.getAccountId())) {
+            b = new Account("CUST002", AccountType.CHECKING, new Money(100000.0, "USD"));
+        }
+        EncryptedAccount encryptedA = new EncryptedAccount(a, "a-index", encryption);
+        EncryptedAccount encryptedB = new EncryptedAccount(b, "b-index", encryption);
+        String idA = a.getAccountId();
+        String idB = b.getAccountId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            boolean forward = w % 2 == 0;
+            EncryptedAccount source = forward ? encryptedA : encryptedB;
+            EncryptedAccount target = forward ? encryptedB : encryptedA;
+            String sourceId = forward ? idA : idB;
+            String targetId = forward ? idB : idA;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < DEPOSITS_PER_WRITER; i++) {
+                    // Lock arguments in caller order; the ledger must impose its own order
+                    ledger.execute(sourceId, targetId, () -> {
+                        Account from = source.toAccount(sourceId);
+                        Account to = target.toAccount(targetId);
+                        from.withdraw(new Money(1.0, "USD"));
+                        to.deposit(new Money(1.0, "USD"));
+                        source.updateBalance(from.getBalance());
+                        target.updateBalance(to.getBalance());
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        BigDecimal total = encryptedA.toAccount().getBalance().getAmount()
+                .add(encryptedB.toAccount().getBalance().getAmount());
+        assertEquals(0, BigDecimal.valueOf(200000).compareTo(total));
+        assertEquals(0, BigDecimal.valueOf(100000).compareTo(encryptedA.toAccount().getBalance().getAmount()));
+    }
+
+    @Test
+    void testBatchLocksMixWithPairLocksWithoutDeadlock() throws Exception {
+        AccountLedger ledger = new AccountLedger(16);
+        List<String> accountIds = List.of("A", "B", "C", "D", "E", "F");
+        int[] counters = new int[accountIds.size()];
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < DEPOSITS_PER_WRITER; i++) {
+                    if (writer % 2 == 0) {
+                        // Whole-batch lock, listed in a different order by each writer
+                        List<String> batch = new ArrayList<>(accountIds);
+                        Collections.rotate(batch, writer);
+                        ledger.execute(batch, () -> {
+                            for (int c = 0; c < counters.length; c++) {
+                                counters[c]++;
+                            }
+                            return null;
+                        });
+                    } else {
+                        int first = writer % counters.length;
+                        int second = (writer + 1) % counters.length;
+                        ledger.execute(accountIds.get(second), accountIds.get(first), () -> {
+                            counters[first]++;
+                            counters[second]++;
+                        });
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int total = 0;
+        for (int counter : counters) {
+            total += counter;
+        }
+        int batchWriters = WRITERS / 2;
+        int pairWriters = WRITERS - batchWriters;
+        assertEquals(DEPOSITS_PER_WRITER * (batchWriters * counters.length + pairWriters * 2), total);
+    }
+}
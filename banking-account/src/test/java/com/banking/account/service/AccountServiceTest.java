@@ -1,20 +1,50 @@
 package com.banking.account.service;
 
+import com.banking.account.audit.AuditLog;
+import com.banking.account.audit.LoggerAuditSink;
 import com.banking.account.domain.Account;
+import com.banking.account.domain.BalanceMovement;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.BlindIndexKeyFile;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
 import com.banking.core.domain.AccountType;
 import com.banking.core.domain.Money;
+import com.banking.core.exception.InsufficientFundsException;
 import com.banking.core.exception.InvalidAccountException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AccountServiceTest {
 
+    @TempDir
+    Path directory;
+
+    private LocalKmsClient kmsClient;
+    private InMemoryAccountRepository repository;
     private AccountService accountService;
 
     @BeforeEach
     void setUp() {
-        accountService = new AccountService();
+        kmsClient = new LocalKmsClient();
+        repository = new InMemoryAccountRepository();
+        accountService = newService();
+    }
+
+    private AccountService newService() {
+        return new AccountService(repository, kmsClient, "test-key", directory.resolve("account-index.keys"));
     }
 
     @Test
@@ -46,5 +76,120 @@ class AccountServiceTest {
         var customerAccounts = accountService.getAccountsByCustomer("CUST001");
         assertEquals(2, customerAccounts.size());
     }
-}
 
+    @Test
+    void testRestartedServiceFindsExistingAccounts() {
+        Account created = accountService.createAccount("CUST001", AccountType.SAVINGS, new Money(100.0, "USD"));
+
+        AccountService restarted = newService();
+        assertEquals(new Money(100.0, "USD"), restarted.getBalance(created.getAccountId()));
+        assertEquals(1, restarted.getAccountsByCustomer("CUST001").size());
+
+        Account journaled = new Account(created.getAccountId(), "CUST001", AccountType.SAVINGS,
+                new Money(150.0, "USD"), true);
+        restarted.restoreAccount(journaled);
+        assertEquals(1, repository.size());
+        assertEquals(new Money(150.0, "USD"), restarted.getBalance(created.getAccountId()));
+    }
+
+    @Test
+    void testFailedTransferRestoresBothBalances() {
+        String from = accountService.createAccount("CUST001", AccountType.CHECKING, new Money(100.0, "USD")).getAccountId();
+        String to = accountService.createAccount("CUST002", AccountType.CHECKING, new Money(50.0, "USD")).getAccountId();
+
+        repository.failSaveAfter(1);
+        assertThrows(IllegalStateException.class, () -> accountService.transfer(from, to, new Money(30.0, "USD")));
+
+        AccountService restarted = newService();
+        assertEquals(new Money(100.0, "USD"), restarted.getBalance(from));
+        assertEquals(new Money(50.0, "USD"), restarted.getBalance(to));
+    }
+
+    @Test
+    void testFailedCommitRestoresBalances() {
+        String from = accountService.createAccount("CUST001", AccountType.CHECKING, new Money(100.0, "USD")).getAccountId();
+        String to = accountService.createAccount("CUST002", AccountType.CHECKING, new Money(50.0, "USD")).getAccountId();
+        Runnable failingJournal = () -> {
+            throw new IllegalStateException("Journal is unavailable after a failed write");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> accountService.deposit(from, new Money(10.0, "USD"), failingJournal));
+        assertThrows(IllegalStateException.class,
+                () -> accountService.transfer(from, to, new Money(30.0, "USD"), failingJournal));
+        assertThrows(IllegalStateException.class, () -> accountService.applyMovements(
+                Arrays.asList(BalanceMovement.debit(from, new Money(5.0, "USD")),
+                              BalanceMovement.credit(to, new Money(5.0, "USD"))),
+                rejected -> failingJournal.run()));
+
+        assertEquals(new Money(100.0, "USD"), accountService.getBalance(from));
+        AccountService restarted = newService();
+        assertEquals(new Money(100.0, "USD"), restarted.getBalance(from));
+        assertEquals(new Money(50.0, "USD"), restarted.getBalance(to));
+    }
+
+    @Test
+    void testClosedAuditLogRejectsChanges() throws Exception {
+        BlindIndex index = new BlindIndex(kmsClient, "test-key", "account-id",
+                new BlindIndexKeyFile(directory.resolve("account-index.keys")));
+        AuditLog auditLog = new AuditLog(new LoggerAuditSink());
+        AccountService audited = new AccountService(repository, index,
+                new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key")), new AccountLedger(),
+                new AccountCache(), new CustomerAccountIndex(index), auditLog);
+        String accountId = audited.createAccount("CUST001", AccountType.CHECKING, new Money(100.0, "USD")).getAccountId();
+        auditLog.close();
+
+        assertThrows(IllegalStateException.class, () -> audited.deposit(accountId, new Money(10.0, "USD")));
+        assertThrows(IllegalStateException.class, () -> audited.applyMovements(
+                Arrays.asList(BalanceMovement.debit(accountId, new Money(5.0, "USD")))));
+        assertThrows(IllegalStateException.class, () -> audited.deactivateAccount(accountId));
+        assertThrows(IllegalStateException.class,
+                () -> audited.createAccount("CUST002", AccountType.SAVINGS, new Money(10.0, "USD")));
+        assertEquals(new Money(100.0, "USD"), audited.getBalance(accountId));
+        assertEquals(new Money(100.0, "USD"), newService().getBalance(accountId));
+        assertTrue(newService().getAccount(accountId).isActive());
+        assertTrue(newService().getAccountsByCustomer("CUST002").isEmpty());
+    }
+
+    @Test
+    void testApplyMovementsNetsRunningBalances() {
+        String first = accountService.createAccount("CUST001", AccountType.CHECKING, new Money(10.0, "USD")).getAccountId();
+        String second = accountService.createAccount("CUST002", AccountType.CHECKING, new Money(0.0, "USD")).getAccountId();
+
+        Map<Integer, RuntimeException> rejected = accountService.applyMovements(Arrays.asList(
+                BalanceMovement.transfer(first, second, new Money(7.5, "USD")),
+                BalanceMovement.debit(first, new Money(3.0, "USD")),
+                BalanceMovement.credit(first, new Money(0.005, "USD")),
+                BalanceMovement.credit(second, new Money(1.0, "EUR")),
+                BalanceMovement.debit(second, new Money(7.5, "USD")),
+                BalanceMovement.credit(first, new Money(0.25, "USD"))));
+
+        assertEquals(2, rejected.size());
+        assertInstanceOf(InsufficientFundsException.class, rejected.get(1));
+        assertInstanceOf(IllegalArgumentException.class, rejected.get(3));
+        assertEquals(new Money(new BigDecimal("2.755"), "USD"), accountService.getBalance(first));
+        assertEquals(new Money(0.0, "USD"), newService().getBalance(second));
+    }
+
+    @Test
+    void testApplyMovementsMatchesSingleCalls() {
+        String batched = accountService.createAccount("CUST001", AccountType.CHECKING, new Money(10.0, "USD")).getAccountId();
+        String single = accountService.createAccount("CUST002", AccountType.CHECKING, new Money(10.0, "USD")).getAccountId();
+        List<Money> amounts = Arrays.asList(new Money(new BigDecimal("2"), "USD"),
+                new Money(new BigDecimal("0.125"), "USD"), new Money(new BigDecimal("1.50"), "USD"));
+
+        List<BalanceMovement> movements = new ArrayList<>();
+        for (Money amount : amounts) {
+            movements.add(BalanceMovement.credit(batched, amount));
+            movements.add(BalanceMovement.debit(batched, amount));
+            accountService.deposit(single, amount);
+            accountService.withdraw(single, amount);
+        }
+        movements.add(BalanceMovement.debit(batched, new Money(20.0, "USD")));
+        Map<Integer, RuntimeException> rejected = accountService.applyMovements(movements);
+
+        assertEquals(Collections.singleton(movements.size() - 1), rejected.keySet());
+        assertEquals(accountService.getBalance(single), accountService.getBalance(batched));
+        assertEquals(new Money(new BigDecimal("10.000"), "USD"), newService().getBalance(batched));
+    }
+}
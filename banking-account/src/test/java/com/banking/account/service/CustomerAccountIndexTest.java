@@ -0,0 +1,92 @@
+package com.banking.account.service;
+
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.LocalKmsClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerAccountIndexTest {
+
+    private BlindIndex blindIndex;
+    private CustomerAccountIndex index;
+
+    @BeforeEach
+    void setUp() {
+        blindIndex = new BlindIndex(new LocalKmsClient(), "test-key", "account-id");
+        index = new CustomerAccountIndex(blindIndex);
+    }
+
+    @Test
+    void testAccountsAreListedPerCustomerInInsertionOrder() {
+        index.add("CUST001", "key-b");
+        index.add("CUST002", "key-c");
+        index.add("CUST001", "key-a");
+        index.add("CUST001", "key-b");
+
+        assertEquals(Arrays.asList("key-b", "key-a"), new ArrayList<>(index.accountKeys("CUST001")));
+        assertEquals(Arrays.asList("key-c"), new ArrayList<>(index.accountKeys("CUST002")));
+        assertTrue(index.accountKeys("CUST003").isEmpty());
+        assertEquals(2, index.customerCount());
+    }
+
+    @Test
+    void testRemovingLastAccountDropsCustomer() {
+        index.add("CUST001", "key-a");
+        index.remove("CUST001", "key-a");
+        index.remove("CUST002", "key-b");
+
+        assertTrue(index.accountKeys("CUST001").isEmpty());
+        assertEquals(0, index.customerCount());
+    }
+
+    @Test
+    void testAddIsNotLostToConcurrentRemoval() throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        Thread churn = new Thread(() -> {
+            while (!done.get()) {
+                index.add("CUST001", "key-churn");
+                index.remove("CUST001", "key-churn");
+            }
+        });
+        churn.start();
+        try {
+            for (int i = 0; i < 100000; i++) {
+                index.add("CUST001", "key-" + i);
+                assertTrue(index.accountKeys("CUST001").contains("key-" + i));
+                index.remove("CUST001", "key-" + i);
+            }
+        } finally {
+            done.set(true);
+            churn.join();
+        }
+
+        assertTrue(index.accountKeys("CUST001").isEmpty());
+    }
+
+    @Test
+    void testCustomerKeysDoNotCollideWithAccountKeys() {
+        index.add("SAME", "key-a");
+        assertTrue(index.accountKeys("SAME").contains("key-a"));
+        assertNotEquals(blindIndex.compute("SAME"), blindIndex.compute("customer-id\0SAME"));
+    }
+
+    @Test
+    void testEntriesIndexedBeforeRotationAreStillFound() {
+        index.add("CUST001", "key-old");
+        blindIndex.rotate();
+        index.add("CUST001", "key-new");
+
+        assertEquals(Arrays.asList("key-new", "key-old"), new ArrayList<>(index.accountKeys("CUST001")));
+    }
+
+    @Test
+    void testNullCustomerIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.add(null, "key-a"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.EncryptedAccount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Map-backed repository keyed by blind index, for service tests here and, through this
+ * module's test jar, for the transaction tests and benchmarks. A call to {@link #save}
+ * can be made to fail to exercise rollback paths.
+ */
+public class InMemoryAccountRepository implements AccountRepository {
+    private final NavigableMap<String, EncryptedAccount> store = new ConcurrentSkipListMap<>();
+    private int savesBeforeFailure = -1;
+
+    @Override
+    public EncryptedAccount save(EncryptedAccount account) {
+        synchronized (this) {
+            if (savesBeforeFailure >= 0 && savesBeforeFailure-- == 0) {
+                throw new IllegalStateException("Repository unavailable");
+            }
+        }
+        store.put(account.getAccountIdIndex(), account);
+        return account;
+    }
+
+    @Override
+    public Optional<EncryptedAccount> findById(String accountIdIndex) {
+        return Optional.ofNullable(store.get(accountIdIndex));
+    }
+
+    @Override
+    public List<EncryptedAccount> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public List<EncryptedAccount> findByCustomerId(String customerId) {
+        List<EncryptedAccount> matches = new ArrayList<>();
+        for (EncryptedAccount account : store.values()) {
+            if (account.getCustomerId().equals(customerId)) {
+                matches.add(account);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public List<EncryptedAccount> findPageAfter(String afterAccountIdIndex, int limit) {
+        Map<String, EncryptedAccount> tail = afterAccountIdIndex == null
+                ? store : store.tailMap(afterAccountIdIndex, false);
+        List<EncryptedAccount> page = new ArrayList<>();
+        for (EncryptedAccount account : tail.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(account);
+        }
+        return page;
+    }
+
+    /**
+     * Lets the next {@code saves} saves through, fails the one after them, then
+     * accepts saves again.
+     */
+    synchronized void failSaveAfter(int saves) {
+        savesBeforeFailure = saves;
+    }
+
+    int size() {
+        return store.size();
+    }
+}
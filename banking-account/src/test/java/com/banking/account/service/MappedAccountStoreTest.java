@@ -0,0 +1,215 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.EncryptedAccount;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.BlindIndexKeyFile;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedAccountStoreTest {
+
+    private final LocalKmsClient kmsClient = new LocalKmsClient();
+    private final EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSaveAndFindRoundTrip() throws Exception {
+        try (MappedAccountStore store = new MappedAccountStore(directory.resolve("accounts.store"), encryption)) {
+            Account account = new Account("CUST001", AccountType.SAVINGS, new Money(125.50, "USD"));
+            store.save(new EncryptedAccount(account, "index-1", encryption));
+
+            EncryptedAccount found = store.findById("index-1").orElseThrow();
+            Account decrypted = found.toAccount();
+            assertEquals(account.getAccountId(), decrypted.getAccountId());
+            assertEquals("CUST001", decrypted.getCustomerId());
+            assertEquals(AccountType.SAVINGS, decrypted.getAccountType());
+            assertEquals(0, new BigDecimal("125.50").compareTo(decrypted.getBalance().getAmount()));
+            assertEquals(0, store.slotOf("index-1"));
+            assertTrue(store.findById("index-2").isEmpty());
+        }
+    }
+
+    @Test
+    void testUpdatesWriteTheSameSlot() throws Exception {
+        try (MappedAccountStore store = new MappedAccountStore(directory.resolve("accounts.store"), encryption)) {
+            Account account = new Account("CUST001", AccountType.CHECKING, new Money(100.0, "USD"));
+            store.save(new EncryptedAccount(account, "index-1", encryption));
+            store.save(new EncryptedAccount(new Account("CUST002", AccountType.CHECKING, new Money(1.0, "USD")),
+                    "index-2", encryption));
+
+            EncryptedAccount loaded = store.findById("index-1").orElseThrow();
+            loaded.updateBalance(new Money(12345678.99, "USD"));
+            loaded.deactivate();
+            store.save(loaded);
+
+            EncryptedAccount reloaded = store.findById("index-1").orElseThrow();
+            assertEquals(0, new BigDecimal("12345678.99").compareTo(reloaded.getBalance().getAmount()));
+            assertFalse(reloaded.isActive());
+            assertEquals(2, store.size());
+            assertEquals(0, store.slotOf("index-1"));
+        }
+    }
+
+    @Test
+    void testAccountsSurviveReopening() throws Exception {
+        Path file = directory.resolve("accounts.store");
+        List<String> accountIds = new ArrayList<>();
+        try (MappedAccountStore store = new MappedAccountStore(file, encryption, 1000, 384)) {
+            for (int i = 0; i < 100; i++) {
+                Account account = new Account("CUST" + i, AccountType.CHECKING, new Money(i, "USD"));
+                accountIds.add(account.getAccountId());
+                store.save(new EncryptedAccount(account, "index-" + i, encryption));
+            }
+        }
+
+        try (MappedAccountStore store = new MappedAccountStore(file, encryption)) {
+            assertEquals(1000, store.getCapacity());
+            assertEquals(384, store.getSlotSize());
+            assertEquals(100, store.size());
+            for (int i = 0; i < 100; i++) {
+                Account account = store.findById("index-" + i).orElseThrow().toAccount();
+                assertEquals(accountIds.get(i), account.getAccountId());
+                assertEquals(0, BigDecimal.valueOf(i).compareTo(account.getBalance().getAmount()));
+                assertEquals(i, store.slotOf("index-" + i));
+            }
+        }
+    }
+
+    @Test
+    void testReopenedStoreServesANewAccountService() throws Exception {
+        Path file = directory.resolve("accounts.store");
+        Path keyFile = directory.resolve("account-index.keys");
+        String savingsId;
+        String checkingId;
+        try (MappedAccountStore store = new MappedAccountStore(file, encryption)) {
+            AccountService accountService = newService(store, keyFile);
+            savingsId = accountService.createAccount("CUST001", AccountType.SAVINGS, new Money(100.0, "USD")).getAccountId();
+            checkingId = accountService.createAccount("CUST001", AccountType.CHECKING, new Money(20.0, "USD")).getAccountId();
+            accountService.deposit(savingsId, new Money(5.0, "USD"));
+            accountService.transfer(savingsId, checkingId, new Money(30.0, "USD"));
+            accountService.deactivateAccount(checkingId);
+        }
+
+        try (MappedAccountStore store = new MappedAccountStore(file, encryption)) {
+            AccountService restarted = newService(store, keyFile);
+            assertEquals(new Money(75.0, "USD"), restarted.getBalance(savingsId));
+            Account checking = restarted.getAccount(checkingId);
+            assertEquals(new Money(50.0, "USD"), checking.getBalance());
+            assertFalse(checking.isActive());
+            assertEquals(2, restarted.getAccountsByCustomer("CUST001").size());
+            assertEquals(2, restarted.getAccountsPage(null, 10).getAccounts().size());
+
+            restarted.withdraw(savingsId, new Money(25.0, "USD"));
+            assertEquals(new Money(50.0, "USD"), restarted.getBalance(savingsId));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testPagesFollowSlotOrder() throws Exception {
+        try (MappedAccountStore store = new MappedAccountStore(directory.resolve("accounts.store"), encryption)) {
+            for (int i = 0; i < 5; i++) {
+                store.save(new EncryptedAccount(new Account("CUST" + i, AccountType.CHECKING, new Money(i, "USD")),
+                        "index-" + i, encryption));
+            }
+            AccountRepository repository = store.asRepository();
+
+            List<EncryptedAccount> first = repository.findPageAfter(null, 2);
+            List<EncryptedAccount> rest = repository.findPageAfter(first.get(1).getAccountIdIndex(), 10);
+
+            assertEquals(List.of("index-0", "index-1"), indexes(first));
+            assertEquals(List.of("index-2", "index-3", "index-4"), indexes(rest));
+            assertEquals(5, repository.findAll().size());
+            assertEquals("CUST3", repository.findByCustomerId("CUST3").get(0).getCustomerId());
+        }
+    }
+
+    @Test
+    void testRejectsAccountsBeyondCapacityOrSlotSize() throws Exception {
+        try (MappedAccountStore store = new MappedAccountStore(directory.resolve("accounts.store"), encryption, 1, 512)) {
+            store.save(new EncryptedAccount(new Account("CUST1", AccountType.CHECKING, new Money(1.0, "USD")),
+                    "index-1", encryption));
+
+            assertThrows(IllegalStateException.class, () -> store.save(new EncryptedAccount(
+                    new Account("CUST2", AccountType.CHECKING, new Money(1.0, "USD")), "index-2", encryption)));
+            assertThrows(IllegalArgumentException.class, () -> store.save(new EncryptedAccount(
+                    new Account("C".repeat(512), AccountType.CHECKING, new Money(1.0, "USD")), "index-1", encryption)));
+        }
+    }
+
+    @Test
+    void testReadersNeverSeeHalfWrittenSlots() throws Exception {
+        try (MappedAccountStore store = new MappedAccountStore(directory.resolve("accounts.store"), encryption)) {
+            Account account = new Account("CUST001", AccountType.CHECKING, new Money(0.0, "USD"));
+            store.save(new EncryptedAccount(account, "hot", encryption));
+            AtomicBoolean writing = new AtomicBoolean(true);
+
+            ExecutorService readers = Executors.newFixedThreadPool(4);
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                reads.add(readers.submit(() -> {
+                    int count = 0;
+                    while (writing.get()) {
+                        // A torn sealed record would fail authentication here
+                        assertEquals(account.getAccountId(), store.findById("hot").orElseThrow().getAccountId());
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            EncryptedAccount hot = store.findById("hot").orElseThrow();
+            for (int i = 1; i <= 2000; i++) {
+                hot.updateBalance(new Money(i, "USD"));
+                store.save(hot);
+            }
+            writing.set(false);
+            for (Future<Integer> read : reads) {
+                read.get(30, TimeUnit.SECONDS);
+            }
+            readers.shutdown();
+
+            assertEquals(0, BigDecimal.valueOf(2000).compareTo(store.findById("hot").orElseThrow().getBalance().getAmount()));
+        }
+    }
+
+    @Test
+    void testClosedStoreRejectsOperations() throws Exception {
+        MappedAccountStore store = new MappedAccountStore(directory.resolve("accounts.store"), encryption);
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.findById("index-1"));
+    }
+
+    private AccountService newService(MappedAccountStore store, Path keyFile) {
+        BlindIndex index = new BlindIndex(kmsClient, "test-key", "account-id", new BlindIndexKeyFile(keyFile));
+        return new AccountService(new MappedAccountRepository(store), index, encryption);
+    }
+
+    private static List<String> indexes(List<EncryptedAccount> accounts) {
+        List<String> indexes = new ArrayList<>();
+        for (EncryptedAccount account : accounts) {
+            indexes.add(account.getAccountIdIndex());
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,170 @@
+package com.banking.account.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedAccountLedgerTest {
+
+    private static final int WRITERS = 16;
+    private static final int OPERATIONS_PER_WRITER = 500;
+
+    @Test
+    void testShardCountIsRoundedToPowerOfTwo() {
+        try (ShardedAccountLedger ledger = new ShardedAccountLedger(3)) {
+            assertEquals(4, ledger.getStripeCount());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ShardedAccountLedger(0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedAccountLedger(2, 0));
+    }
+
+    @Test
+    void testOperationsOnOneShardNeedNoLocks() throws Exception {
+        try (ShardedAccountLedger ledger = new ShardedAccountLedger(4, 8)) {
+            int[] balance = new int[1];
+            Thread[] runner = new Thread[1];
+
+            runConcurrently(writer -> ledger.execute("HOT", () -> {
+                runner[0] = Thread.currentThread();
+                balance[0]++;
+            }));
+
+            assertEquals(WRITERS * OPERATIONS_PER_WRITER, ledger.execute("HOT", () -> balance[0]));
+            assertTrue(runner[0].getName().startsWith("ledger-shard-"));
+        }
+    }
+
+    @Test
+    void testCrossingTransfersAcrossShardsDoNotDeadlock() throws Exception {
+        try (ShardedAccountLedger ledger = new ShardedAccountLedger(4)) {
+            String a = "A";
+            String b = "B0";
+            for (int i = 1; ledger.stripeOf(a) == ledger.stripeOf(b); i++) {
+                b = "B" + i;
+            }
+            String idA = a;
+            String idB = b;
+            int[] balances = {100000, 100000};
+
+            runConcurrently(writer -> {
+                boolean forward = writer % 2 == 0;
+                // Accounts in caller order; the ledger must impose its own order
+                ledger.execute(forward ? idA : idB, forward ? idB : idA, () -> {
+                    balances[forward ? 0 : 1]--;
+                    balances[forward ? 1 : 0]++;
+                });
+            });
+
+            assertEquals(100000, ledger.execute(idA, idB, () -> balances[0]));
+            assertEquals(200000, ledger.execute(idA, idB, () -> balances[0] + balances[1]));
+        }
+    }
+
+    @Test
+    void testBatchesMixWithPairsWithoutDeadlock() throws Exception {
+        try (ShardedAccountLedger ledger = new ShardedAccountLedger(4)) {
+            List<String> accountIds = List.of("A", "B", "C", "D", "E", "F");
+            int[] counters = new int[accountIds.size()];
+
+            runConcurrently(writer -> {
+                if (writer % 2 == 0) {
+                    List<String> batch = new ArrayList<>(accountIds);
+                    Collections.rotate(batch, writer);
+                    ledger.execute(batch, () -> {
+                        for (int c = 0; c < counters.length; c++) {
+                            counters[c]++;
+                        }
+                        return null;
+                    });
+                } else {
+                    int first = writer % counters.length;
+                    int second = (writer + 1) % counters.length;
+                    ledger.execute(accountIds.get(second), accountIds.get(first), () -> {
+                        counters[first]++;
+                        counters[second]++;
+                    });
+                }
+            });
+
+            int total = ledger.execute(accountIds, () -> {
+                int sum = 0;
+                for (int counter : counters) {
+                    sum += counter;
+                }
+                return sum;
+            });
+            int batchWriters = WRITERS / 2;
+            int pairWriters = WRITERS - batchWriters;
+            assertEquals(OPERATIONS_PER_WRITER * (batchWriters * counters.length + pairWriters * 2), total);
+        }
+    }
+
+    @Test
+    void testFailureReachesCallerAndShardKeepsRunning() {
+        try (ShardedAccountLedger ledger = new ShardedAccountLedger(2)) {
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                    () -> ledger.execute("A", "B", () -> {
+                        throw new IllegalArgumentException("Insufficient funds");
+                    }));
+            assertEquals("Insufficient funds", thrown.getMessage());
+            assertEquals("ok", ledger.execute("A", () -> "ok"));
+        }
+    }
+
+    @Test
+    void testNestedOperationRunsInlineOnlyOnItsOwnShard() {
+        try (ShardedAccountLedger ledger = new ShardedAccountLedger(4)) {
+            String other = "B0";
+            for (int i = 1; ledger.stripeOf(other) == ledger.stripeOf("A"); i++) {
+                other = "B" + i;
+            }
+            String otherId = other;
+
+            assertEquals("inner", ledger.execute("A", () -> ledger.execute("A", () -> "inner")));
+            assertThrows(IllegalStateException.class,
+                    () -> ledger.execute("A", () -> ledger.execute(otherId, () -> "inner")));
+        }
+    }
+
+    @Test
+    void testClosedLedgerRejectsOperations() {
+        ShardedAccountLedger ledger = new ShardedAccountLedger(2);
+        ledger.close();
+
+        assertThrows(IllegalStateException.class, () -> ledger.execute("A", () -> "late"));
+    }
+
+    private static void runConcurrently(Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int index = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                    writer.operate(index);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface Writer {
+        void operate(int writer);
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking.account.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlindIndexTest {
+
+    private LocalKmsClient kmsClient;
+    private BlindIndex blindIndex;
+
+    @BeforeEach
+    void setUp() {
+        kmsClient = new LocalKmsClient();
+        blindIndex = new BlindIndex(kmsClient, "test-key", "account-id");
+    }
+
+    @Test
+    void testIndexIsDeterministic() {
+        assertEquals(blindIndex.compute("ACC001"), blindIndex.compute("ACC001"));
+        assertNotEquals(blindIndex.compute("ACC001"), blindIndex.compute("ACC002"));
+    }
+
+    @Test
+    void testIndexDoesNotCallKms() {
+        long callsAfterSetup = kmsClient.getTotalCalls();
+        for (int i = 0; i < 100; i++) {
+            blindIndex.compute("ACC" + i);
+        }
+        assertEquals(callsAfterSetup, kmsClient.getTotalCalls());
+    }
+
+    @Test
+    void testPurposesAreSeparated() {
+        BlindIndex customerIndex = new BlindIndex(kmsClient, "test-key", "customer-id",
+                blindIndex.exportEncryptedKeys());
+        assertNotEquals(blindIndex.compute("SAME"), customerIndex.compute("SAME"));
+    }
+
+    @Test
+    void testRotationKeepsOldKeysForLookup() {
+        String before = blindIndex.compute("ACC001");
+        blindIndex.rotate();
+
+        assertEquals(2, blindIndex.getCurrentKeyVersion());
+        assertNotEquals(before, blindIndex.compute("ACC001"));
+        assertEquals(2, blindIndex.candidates("ACC001").size());
+        assertTrue(blindIndex.candidates("ACC001").contains(before));
+
+        blindIndex.retireOldKeys();
+        assertEquals(1, blindIndex.candidates("ACC001").size());
+    }
+
+    @Test
+    void testRestoreFromExportedKeys() {
+        BlindIndex restored = new BlindIndex(kmsClient, "test-key", "account-id",
+                blindIndex.exportEncryptedKeys());
+        assertEquals(blindIndex.compute("ACC001"), restored.compute("ACC001"));
+    }
+
+    @Test
+    void testKeyFileKeepsIndexAcrossRestarts(@TempDir Path directory) {
+        BlindIndexKeyFile keyFile = new BlindIndexKeyFile(directory.resolve("account-index.keys"));
+        BlindIndex first = new BlindIndex(kmsClient, "test-key", "account-id", keyFile);
+        String before = first.compute("ACC001");
+
+        assertEquals(before, new BlindIndex(kmsClient, "test-key", "account-id", keyFile).compute("ACC001"));
+
+        first.rotate();
+        BlindIndex rotated = new BlindIndex(kmsClient, "test-key", "account-id", keyFile);
+        assertEquals(2, rotated.getCurrentKeyVersion());
+        assertEquals(first.compute("ACC001"), rotated.compute("ACC001"));
+        assertTrue(rotated.candidates("ACC001").contains(before));
+
+        // An account stored under the current key, as a repository would keep it
+        Map<String, String> repository = new HashMap<>();
+        repository.put(first.compute("ACC002"), "ACC002");
+        first.retireOldKeys();
+        assertEquals(Collections.singleton(2), keyFile.load().keySet());
+
+        BlindIndex restarted = new BlindIndex(kmsClient, "test-key", "account-id", keyFile);
+        assertEquals(2, restarted.getCurrentKeyVersion());
+        assertEquals("ACC002", repository.get(restarted.compute("ACC002")));
+
+        restarted.rotate();
+        assertEquals(3, restarted.getCurrentKeyVersion());
+        BlindIndex rotatedAgain = new BlindIndex(kmsClient, "test-key", "account-id", keyFile);
+        assertEquals(3, rotatedAgain.getCurrentKeyVersion());
+        assertTrue(rotatedAgain.candidates("ACC002").stream().anyMatch(repository::containsKey));
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.account.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoEngineTest {
+
+    private static final SecretKeySpec AES_KEY = new SecretKeySpec(new byte[32], "AES");
+    private static final SecretKeySpec MAC_KEY = new SecretKeySpec(new byte[32], "HmacSHA256");
+    private static final byte[] INPUT = "ACC001".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testInstancesAreReusedPerThread() throws Exception {
+        assertSame(CryptoEngine.digest("SHA-256"), CryptoEngine.digest("SHA-256"));
+        assertSame(CryptoEngine.mac("HmacSHA256", MAC_KEY), CryptoEngine.mac("HmacSHA256", MAC_KEY));
+        assertSame(CryptoEngine.cipher("AES/GCM/NoPadding"), CryptoEngine.cipher("AES/GCM/NoPadding"));
+
+        MessageDigest mine = CryptoEngine.digest("SHA-256");
+        MessageDigest other = CompletableFuture.supplyAsync(() -> CryptoEngine.digest("SHA-256")).get();
+        assertNotSame(mine, other);
+    }
+
+    @Test
+    void testDigestIsResetBetweenUses() throws Exception {
+        CryptoEngine.digest("SHA-256").update(INPUT);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(INPUT);
+        assertArrayEquals(expected, CryptoEngine.digest("SHA-256").digest(INPUT));
+    }
+
+    @Test
+    void testMacMatchesFreshInstanceAcrossKeyChanges() throws Exception {
+        SecretKeySpec otherKey = new SecretKeySpec(new byte[]{1, 2, 3, 4}, "HmacSHA256");
+        CryptoEngine.mac("HmacSHA256", MAC_KEY).update(INPUT);
+
+        assertArrayEquals(freshMac(otherKey), CryptoEngine.mac("HmacSHA256", otherKey).doFinal(INPUT));
+        assertArrayEquals(freshMac(MAC_KEY), CryptoEngine.mac("HmacSHA256", MAC_KEY).doFinal(INPUT));
+        assertArrayEquals(freshMac(MAC_KEY), CryptoEngine.mac("HmacSHA256", MAC_KEY).doFinal(INPUT));
+    }
+
+    @Test
+    void testInitializedCipherRoundTrips() throws Exception {
+        byte[] encrypted = CryptoEngine.doFinal("AES", Cipher.ENCRYPT_MODE, AES_KEY, INPUT);
+        assertArrayEquals(encrypted, CryptoEngine.doFinal("AES", Cipher.ENCRYPT_MODE, AES_KEY, INPUT));
+        assertArrayEquals(INPUT, CryptoEngine.doFinal("AES", Cipher.DECRYPT_MODE, AES_KEY, encrypted));
+    }
+
+    @Test
+    void testCipherIsUsableAfterFailure() throws Exception {
+        byte[] encrypted = CryptoEngine.doFinal("AES", Cipher.ENCRYPT_MODE, AES_KEY, INPUT);
+        SecretKeySpec wrongKey = new SecretKeySpec(new byte[]{9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9}, "AES");
+
+        assertThrows(BadPaddingException.class,
+                () -> CryptoEngine.doFinal("AES", Cipher.DECRYPT_MODE, wrongKey, encrypted));
+        assertArrayEquals(INPUT, CryptoEngine.doFinal("AES", Cipher.DECRYPT_MODE, AES_KEY, encrypted));
+    }
+
+    @Test
+    void testUnsupportedModeAndAlgorithmAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CryptoEngine.doFinal("AES", Cipher.WRAP_MODE, AES_KEY, INPUT));
+        assertThrows(IllegalStateException.class, () -> CryptoEngine.digest("NO-SUCH-DIGEST"));
+    }
+
+    private static byte[] freshMac(SecretKeySpec key) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(key);
+        return mac.doFinal(INPUT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.banking.account.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeEncryptionTest {
+
+    private LocalKmsClient kmsClient;
+
+    @BeforeEach
+    void setUp() {
+        kmsClient = new LocalKmsClient();
+    }
+
+    @Test
+    void testRoundTrip() {
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key"));
+        String cipherText = encryption.encrypt("1234.56");
+        assertNotEquals("1234.56", cipherText);
+        assertEquals("1234.56", encryption.decrypt(cipherText));
+    }
+
+    @Test
+    void testDataKeyIsReusedAcrossFields() {
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key"));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("field" + i, encryption.decrypt(encryption.encrypt("field" + i)));
+        }
+        assertEquals(1, kmsClient.getGenerateDataKeyCalls());
+        assertEquals(0, kmsClient.getDecryptCalls());
+        assertEquals(0, kmsClient.getEncryptCalls());
+    }
+
+    @Test
+    void testDataKeyRotatesAfterMaxUses() {
+        DataKeyCache cache = new DataKeyCache(kmsClient, "test-key", Duration.ofMinutes(5), 10, 100);
+        EnvelopeEncryption encryption = new EnvelopeEncryption(cache);
+        String first = encryption.encrypt("first");
+        for (int i = 0; i < 25; i++) {
+            encryption.encrypt("field" + i);
+        }
+        assertEquals(3, kmsClient.getGenerateDataKeyCalls());
+        assertEquals("first", encryption.decrypt(first));
+        assertEquals(0, kmsClient.getDecryptCalls());
+    }
+
+    @Test
+    void testDataKeyRotatesAfterTtl() throws InterruptedException {
+        DataKeyCache cache = new DataKeyCache(kmsClient, "test-key", Duration.ofMillis(20), 1000, 100);
+        EnvelopeEncryption encryption = new EnvelopeEncryption(cache);
+        encryption.encrypt("before");
+        Thread.sleep(50);
+        encryption.encrypt("after");
+        assertEquals(2, kmsClient.getGenerateDataKeyCalls());
+    }
+
+    @Test
+    void testUnknownDataKeyIsUnwrappedOnceThroughKms() {
+        String cipherText = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key")).encrypt("secret");
+
+        EnvelopeEncryption other = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key"));
+        assertEquals("secret", other.decrypt(cipherText));
+        assertEquals("secret", other.decrypt(cipherText));
+        assertEquals(1, kmsClient.getDecryptCalls());
+    }
+
+    @Test
+    void testOpenAsyncUnwrapsEachDataKeyOnceThroughGateway() {
+        DataKeyCache writer = new DataKeyCache(kmsClient, "test-key", Duration.ofMinutes(5), 10, 100);
+        EnvelopeEncryption sealing = new EnvelopeEncryption(writer);
+        List<byte[]> sealed = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            sealed.add(sealing.seal(new byte[]{(byte) i}, new byte[0]));
+        }
+
+        try (KmsAsyncClient asyncClient = kmsClient.async()) {
+            EnvelopeEncryption reader = new EnvelopeEncryption(
+                    new DataKeyCache(kmsClient, "test-key", new KmsCryptoGateway(asyncClient, "test-key")));
+            List<CompletableFuture<byte[]>> opened = new ArrayList<>();
+            for (byte[] envelope : sealed) {
+                opened.add(reader.openAsync(envelope, new byte[0]));
+            }
+            for (int i = 0; i < 50; i++) {
+                assertArrayEquals(new byte[]{(byte) i}, opened.get(i).join());
+            }
+            assertArrayEquals(new byte[]{7}, reader.open(sealed.get(7), new byte[0]));
+        }
+        assertEquals(5, kmsClient.getDecryptCalls());
+    }
+
+    @Test
+    void testTamperedCipherTextIsRejected() {
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key"));
+        byte[] envelope = Base64.getDecoder().decode(encryption.encrypt("secret"));
+        envelope[envelope.length - 1] ^= 1;
+        String tampered = Base64.getEncoder().encodeToString(envelope);
+        assertThrows(RuntimeException.class, () -> encryption.decrypt(tampered));
+    }
+
+    @Test
+    void testSealedDataIsBoundToAssociatedData() {
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(kmsClient, "test-key"));
+        byte[] plaintext = {1, 2, 3};
+        byte[] sealed = encryption.seal(plaintext, new byte[]{7});
+        assertArrayEquals(plaintext, encryption.open(sealed, new byte[]{7}));
+        assertThrows(RuntimeException.class, () -> encryption.open(sealed, new byte[]{8}));
+    }
+}
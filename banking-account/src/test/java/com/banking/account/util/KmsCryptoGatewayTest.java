@@ -0,0 +1,136 @@
+package com.banking.account.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.DecryptResponse;
+import software.amazon.awssdk.services.kms.model.EncryptRequest;
+import software.amazon.awssdk.services.kms.model.KmsException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KmsCryptoGatewayTest {
+
+    private final LocalKmsClient kmsClient = new LocalKmsClient(Duration.ofMillis(20));
+    private final KmsAsyncClient asyncClient = kmsClient.async();
+
+    @AfterEach
+    void tearDown() {
+        asyncClient.close();
+    }
+
+    @Test
+    void testDecryptsThroughAsyncClient() {
+        KmsCryptoGateway gateway = new KmsCryptoGateway(asyncClient, "test-key");
+        byte[] blob = encrypt("secret");
+
+        assertEquals("secret", new String(gateway.decrypt(blob).join(), StandardCharsets.UTF_8));
+        assertEquals(0, gateway.getInFlight());
+    }
+
+    @Test
+    void testConcurrentRequestsForOneBlobShareACall() {
+        KmsCryptoGateway gateway = new KmsCryptoGateway(asyncClient, "test-key");
+        byte[] blob = encrypt("secret");
+
+        List<CompletableFuture<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(gateway.decrypt(blob));
+        }
+        for (CompletableFuture<byte[]> result : results) {
+            assertEquals("secret", new String(result.join(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, kmsClient.getDecryptCalls());
+    }
+
+    @Test
+    void testCallsBeyondTheLimitWaitForACompletion() {
+        ManualKmsClient manual = new ManualKmsClient();
+        KmsCryptoGateway gateway = new KmsCryptoGateway(manual, "test-key", 2);
+
+        List<CompletableFuture<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(gateway.decrypt(new byte[]{(byte) i}));
+        }
+        assertEquals(2, manual.calls.size());
+        assertEquals(2, gateway.getInFlight());
+
+        manual.answer(0);
+        assertTrue(results.get(0).isDone());
+        assertEquals(3, manual.calls.size());
+        for (int i = 1; i < 5; i++) {
+            manual.answer(i);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(new byte[]{(byte) i}, results.get(i).join());
+        }
+        assertEquals(0, gateway.getInFlight());
+    }
+
+    @Test
+    void testFailureIsNotRemembered() {
+        ManualKmsClient manual = new ManualKmsClient();
+        KmsCryptoGateway gateway = new KmsCryptoGateway(manual, "test-key");
+        byte[] blob = {42};
+
+        CompletableFuture<byte[]> failed = gateway.decrypt(blob);
+        manual.calls.get(0).completeExceptionally(KmsException.builder().message("throttled").build());
+        CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+        assertTrue(thrown.getCause() instanceof KmsException);
+
+        CompletableFuture<byte[]> retried = gateway.decrypt(blob);
+        assertEquals(2, manual.calls.size());
+        manual.answer(1);
+        assertArrayEquals(blob, retried.join());
+    }
+
+    private byte[] encrypt(String plaintext) {
+        return kmsClient.encrypt(EncryptRequest.builder()
+                .keyId("test-key")
+                .plaintext(SdkBytes.fromUtf8String(plaintext))
+                .build())
+                .ciphertextBlob()
+                .asByteArray();
+    }
+
+    /**
+     * Holds every decrypt call open until the test answers it, echoing the blob.
+     */
+    private static final class ManualKmsClient implements KmsAsyncClient {
+        final List<CompletableFuture<DecryptResponse>> calls = new CopyOnWriteArrayList<>();
+        final List<DecryptRequest> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<DecryptResponse> decrypt(DecryptRequest request) {
+            CompletableFuture<DecryptResponse> call = new CompletableFuture<>();
+            requests.add(request);
+            calls.add(call);
+            return call;
+        }
+
+        void answer(int call) {
+            calls.get(call).complete(DecryptResponse.builder()
+                    .plaintext(requests.get(call).ciphertextBlob())
+                    .build());
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.banking.account.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyKeyMaterialTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testKeyIsLoadedOnFirstUseOnly() {
+        LazyKeyMaterial material = new LazyKeyMaterial(counting(null));
+        assertFalse(material.isLoaded());
+        assertEquals(0, loads.get());
+
+        SecretKey first = material.getKey();
+        assertSame(first, material.getKey());
+        assertEquals(1, loads.get());
+        assertTrue(material.getLoadTime().isPresent());
+        assertTrue(material.getFirstUseWait().isPresent());
+    }
+
+    @Test
+    void testFirstUseWaitsForWarmUpInsteadOfLoadingAgain() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LazyKeyMaterial material = new LazyKeyMaterial(counting(release));
+
+        material.warmUp();
+        Thread user = new Thread(material::getKey);
+        user.start();
+        Thread.sleep(50);
+        release.countDown();
+        user.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertTrue(material.isLoaded());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testWarmKeyIsServedWithoutWaiting() throws Exception {
+        LazyKeyMaterial material = new LazyKeyMaterial(counting(null));
+        SecretKey warmed = material.warmUp().get(5, TimeUnit.SECONDS);
+
+        assertSame(warmed, material.getKey());
+        assertEquals(Duration.ZERO, material.getFirstUseWait().orElseThrow());
+    }
+
+    @Test
+    void testFailedWarmUpIsRetriedOnFirstUse() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        LazyKeyMaterial material = new LazyKeyMaterial(new KeyMaterialProvider() {
+            @Override
+            public SecretKey getKey() {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("not yet");
+                }
+                return new SecretKeySpec(new byte[32], "AES");
+            }
+
+            @Override
+            public String describe() {
+                return "flaky";
+            }
+        });
+
+        assertThrows(ExecutionException.class, () -> material.warmUp().get(5, TimeUnit.SECONDS));
+        assertNotNull(material.getKey());
+        assertEquals(2, attempts.get());
+    }
+
+    private KeyMaterialProvider counting(CountDownLatch release) {
+        return new KeyMaterialProvider() {
+            @Override
+            public SecretKey getKey() {
+                loads.incrementAndGet();
+                if (release != null) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new SecretKeySpec(new byte[32], "AES");
+            }
+
+            @Override
+            public String describe() {
+                return "counting";
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.banking.account.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SealedKeyFileTest {
+
+    @TempDir
+    Path directory;
+
+    private LocalKmsClient kmsClient;
+    private Pbkdf2KeyMaterial derivation;
+
+    @BeforeEach
+    void setUp() {
+        kmsClient = new LocalKmsClient();
+        derivation = new Pbkdf2KeyMaterial(() -> "passphrase", "salt".getBytes(StandardCharsets.UTF_8), 1000, 256, "AES");
+    }
+
+    @Test
+    void testMissingFileIsDerivedAndSealed() throws Exception {
+        Path file = directory.resolve("keys").resolve("data.key");
+        SecretKey key = new SealedKeyFile(file, kmsClient, "test-key", "AES", derivation).getKey();
+
+        assertArrayEquals(derivation.getKey().getEncoded(), key.getEncoded());
+        assertTrue(Files.exists(file));
+        assertFalse(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1)
+                .contains(new String(key.getEncoded(), StandardCharsets.ISO_8859_1)));
+        assertEquals(1, kmsClient.getEncryptCalls());
+    }
+
+    @Test
+    void testExistingFileIsUnwrappedWithoutDerivation() {
+        Path file = directory.resolve("data.key");
+        SecretKey sealed = new SealedKeyFile(file, kmsClient, "test-key", "AES", derivation).getKey();
+
+        KeyMaterialProvider failing = new Pbkdf2KeyMaterial(() -> {
+            throw new AssertionError("derivation must not run");
+        }, new byte[1], 1, 256, "AES");
+        SecretKey loaded = new SealedKeyFile(file, kmsClient, "test-key", "AES", failing).getKey();
+
+        assertArrayEquals(sealed.getEncoded(), loaded.getEncoded());
+        assertEquals(1, kmsClient.getDecryptCalls());
+    }
+
+    @Test
+    void testCorruptFileIsRejected() throws Exception {
+        Path file = directory.resolve("data.key");
+        Files.write(file, new byte[]{1, 2, 3});
+        SealedKeyFile sealedKeyFile = new SealedKeyFile(file, kmsClient, "test-key", "AES", derivation);
+        assertThrows(RuntimeException.class, sealedKeyFile::getKey);
+    }
+}
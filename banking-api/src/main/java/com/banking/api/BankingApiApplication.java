@@ -1,11 +1,14 @@
 package com.banking.api;
 
+import com.banking.account.util.DataEncryption;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class BankingApiApplication {
     public static void main(String[] args) {
+        // Derive the field encryption key while the context starts, not on the first request
+        DataEncryption.warmUp();
         SpringApplication.run(BankingApiApplication.class, args);
     }
 }
@@ -0,0 +1,52 @@
+package com.banking.api.config;
+
+import com.banking.account.service.AccountService;
+import com.banking.api.metrics.MicrometerMetricsRecorder;
+import com.banking.core.metrics.Metrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes service-layer metrics through Actuator ({@code /actuator/prometheus}).
+ * With {@code banking.metrics.enabled=false} no recorder is installed and the hooks in
+ * the services stay no-ops.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public MicrometerMetricsRecorder metricsRecorder(MeterRegistry registry) {
+        MicrometerMetricsRecorder recorder = new MicrometerMetricsRecorder(registry);
+        Metrics.setRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Hit, miss and eviction counts and the hit ratio of the decrypted-account cache.
+     */
+    @Bean
+    public MeterBinder accountCacheMetrics(AccountService accountService) {
+        return registry -> {
+            FunctionCounter.builder("banking.account.cache.requests", accountService,
+                            service -> service.getCacheStats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("banking.account.cache.requests", accountService,
+                            service -> service.getCacheStats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("banking.account.cache.evictions", accountService,
+                            service -> service.getCacheStats().evictionCount())
+                    .register(registry);
+            Gauge.builder("banking.account.cache.hit.ratio", accountService,
+                            service -> service.getCacheStats().hitRate())
+                    .register(registry);
+        };
+    }
+}
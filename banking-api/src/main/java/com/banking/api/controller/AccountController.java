@@ -1,16 +1,26 @@
 package com.banking.api.controller;
 
 import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountPage;
 import com.banking.account.service.AccountService;
 import com.banking.api.dto.AccountCreateRequest;
+import com.banking.api.dto.AccountPageResponse;
 import com.banking.api.dto.AccountResponse;
 import com.banking.core.domain.AccountType;
 import com.banking.core.domain.Money;
+import com.banking.transaction.service.TransactionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,16 +29,25 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class AccountController {
 
+    static final String NDJSON = "application/x-ndjson";
+    private static final int FLUSH_EVERY = 100;
+
     private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, TransactionService transactionService,
+                             ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@RequestBody AccountCreateRequest request) {
-        Account account = accountService.createAccount(
+        // Opened through TransactionService so the opening balance is journaled
+        Account account = transactionService.openAccount(
             request.getCustomerId(),
             AccountType.valueOf(request.getAccountType()),
             new Money(request.getInitialBalance(), request.getCurrency())
@@ -51,13 +70,46 @@ public class AccountController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Streams every account, decrypting and writing one at a time so memory use does
+     * not grow with the number of accounts. Writes a JSON array by default, or
+     * newline-delimited JSON (one account per line) when the client accepts
+     * {@value #NDJSON}.
+     */
     @GetMapping
-    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
-        List<Account> accounts = accountService.getAllAccounts();
-        List<AccountResponse> responses = accounts.stream()
+    public ResponseEntity<StreamingResponseBody> getAllAccounts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean newlineDelimited = accept != null && accept.contains(NDJSON);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                if (newlineDelimited) {
+                    generator.setRootValueSeparator(null);
+                    writeAccounts(generator, true);
+                } else {
+                    generator.writeStartArray();
+                    writeAccounts(generator, false);
+                    generator.writeEndArray();
+                }
+            }
+        };
+        MediaType contentType = newlineDelimited ? MediaType.parseMediaType(NDJSON) : MediaType.APPLICATION_JSON;
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    /**
+     * Returns one page of accounts. Pass {@code nextCursor} from the response as
+     * {@code cursor} to fetch the following page; it is null on the last page.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<AccountPageResponse> getAccountsPage(@RequestParam int limit,
+                                                               @RequestParam(required = false) String cursor) {
+        AccountPage page = accountService.getAccountsPage(cursor, limit);
+        AccountPageResponse response = new AccountPageResponse();
+        response.setAccounts(page.getAccounts().stream()
             .map(this::toResponse)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+            .collect(Collectors.toList()));
+        response.setNextCursor(page.getNextCursor());
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{accountId}/balance")
@@ -66,6 +118,27 @@ public class AccountController {
         return ResponseEntity.ok(balance);
     }
 
+    private void writeAccounts(JsonGenerator generator, boolean newlineDelimited) throws IOException {
+        int[] written = {0};
+        try {
+            accountService.forEachAccount(account -> {
+                try {
+                    generator.writeObject(toResponse(account));
+                    if (newlineDelimited) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        generator.flush();  // Push a chunk to the client
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     private AccountResponse toResponse(Account account) {
         AccountResponse response = new AccountResponse();
         response.setAccountId(account.getAccountId());
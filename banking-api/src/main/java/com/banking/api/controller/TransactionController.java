@@ -1,15 +1,27 @@
 package com.banking.api.controller;
 
+import com.banking.api.dto.BatchItemResponse;
+import com.banking.api.dto.BatchTransactionItem;
+import com.banking.api.dto.BatchTransactionRequest;
+import com.banking.api.dto.BatchTransactionResponse;
+import com.banking.api.dto.TransactionHistoryResponse;
 import com.banking.api.dto.TransactionRequest;
 import com.banking.api.dto.TransactionResponse;
 import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.BatchEntry;
+import com.banking.transaction.domain.BatchItemResult;
 import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.domain.TransactionHistoryPage;
 import com.banking.transaction.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -56,6 +68,24 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(transaction));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponse> applyBatch(@RequestBody BatchTransactionRequest request) {
+        List<BatchTransactionItem> items = request.getItems() != null ? request.getItems() : new ArrayList<>();
+        List<BatchEntry> entries = items.stream()
+            .map(this::toEntry)
+            .collect(Collectors.toList());
+        List<BatchItemResult> results = transactionService.applyBatch(entries);
+
+        BatchTransactionResponse response = new BatchTransactionResponse();
+        response.setResults(results.stream()
+            .map(this::toItemResponse)
+            .collect(Collectors.toList()));
+        int applied = (int) results.stream().filter(BatchItemResult::isApplied).count();
+        response.setApplied(applied);
+        response.setRejected(results.size() - applied);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/account/{accountId}")
     public ResponseEntity<List<TransactionResponse>> getTransactionsByAccount(@PathVariable String accountId) {
         List<Transaction> transactions = transactionService.getTransactionsByAccount(accountId);
@@ -65,12 +95,69 @@ public class TransactionController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Returns a page of an account's history, newest first. {@code from} is inclusive and
+     * {@code to} exclusive (ISO-8601 local date-times); pass {@code continuationToken} from
+     * the response as {@code continuation} to fetch older transactions.
+     */
+    @GetMapping(value = "/account/{accountId}", params = "limit")
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistory(
+            @PathVariable String accountId,
+            @RequestParam int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String continuation) {
+        TransactionHistoryPage page = transactionService.getTransactionHistory(accountId, from, to, limit, continuation);
+        TransactionHistoryResponse response = new TransactionHistoryResponse();
+        response.setTransactions(page.getTransactions().stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList()));
+        response.setContinuationToken(page.getContinuationToken());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{transactionId}")
     public ResponseEntity<TransactionResponse> getTransaction(@PathVariable String transactionId) {
         Transaction transaction = transactionService.getTransaction(transactionId);
         return ResponseEntity.ok(toResponse(transaction));
     }
 
+    private BatchEntry toEntry(BatchTransactionItem item) {
+        TransactionType type = parseType(item.getType());
+        Money amount = toAmount(item);
+        if (type == TransactionType.TRANSFER) {
+            return BatchEntry.transfer(item.getFromAccountId(), item.getToAccountId(), amount, item.getDescription());
+        }
+        return new BatchEntry(type, item.getAccountId(), null, amount, item.getDescription());
+    }
+
+    private Money toAmount(BatchTransactionItem item) {
+        try {
+            return new Money(item.getAmount(), item.getCurrency());
+        } catch (IllegalArgumentException e) {
+            return null;  // Rejected per item by the service
+        }
+    }
+
+    private TransactionType parseType(String type) {
+        try {
+            return type != null ? TransactionType.valueOf(type) : null;
+        } catch (IllegalArgumentException e) {
+            return null;  // Rejected per item by the service
+        }
+    }
+
+    private BatchItemResponse toItemResponse(BatchItemResult result) {
+        BatchItemResponse response = new BatchItemResponse();
+        response.setIndex(result.getIndex());
+        response.setStatus(result.isApplied() ? "APPLIED" : "REJECTED");
+        if (result.isApplied()) {
+            response.setTransaction(toResponse(result.getTransaction()));
+        }
+        response.setError(result.getError());
+        return response;
+    }
+
     private TransactionResponse toResponse(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
         response.setTransactionId(transaction.getTransactionId());
@@ -0,0 +1,24 @@
+package com.banking.api.dto;
+
+import java.util.List;
+
+public class AccountPageResponse {
+    private List<AccountResponse> accounts;
+    private String nextCursor;
+
+    public List<AccountResponse> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountResponse> accounts) {
+        this.accounts = accounts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.banking.api.dto;
+
+public class BatchItemResponse {
+    private int index;
+    private String status;
+    private TransactionResponse transaction;
+    private String error;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
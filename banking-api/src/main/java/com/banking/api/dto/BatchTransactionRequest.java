@@ -0,0 +1,15 @@
+package com.banking.api.dto;
+
+import java.util.List;
+
+public class BatchTransactionRequest {
+    private List<BatchTransactionItem> items;
+
+    public List<BatchTransactionItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchTransactionItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,33 @@
+package com.banking.api.dto;
+
+import java.util.List;
+
+public class BatchTransactionResponse {
+    private int applied;
+    private int rejected;
+    private List<BatchItemResponse> results;
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public void setApplied(int applied) {
+        this.applied = applied;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchItemResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResponse> results) {
+        this.results = results;
+    }
+}
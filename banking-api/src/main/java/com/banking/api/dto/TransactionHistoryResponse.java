@@ -0,0 +1,24 @@
+package com.banking.api.dto;
+
+import java.util.List;
+
+public class TransactionHistoryResponse {
+    private List<TransactionResponse> transactions;
+    private String continuationToken;
+
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionResponse> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+}
@@ -12,8 +12,7 @@ import org.slf4j.LoggerFactory;
 import com.banking.api.service.TokenizationService;
 import com.banking.api.service.KeyManagementService;
 import org.owasp.encoder.Encode;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import com.banking.account.util.CryptoEngine;
 import java.util.Base64;
 
 public class TransactionRequest {
@@ -143,9 +142,8 @@ public class TransactionRequest {
         }
     }
 
-    private String calculateHash(String input) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = digest.digest(input.getBytes());
+    private String calculateHash(String input) {
+        byte[] hash = CryptoEngine.digest("SHA-256").digest(input.getBytes());
         return Base64.getEncoder().encodeToString(hash);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.EncryptedAccount;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-account costs outside the service layer: creating an account (dominated by
+ * SecureRandom id generation), the encrypt/decrypt round-trip through
+ * {@link EncryptedAccount} with a warm data key, and re-sealing a changed balance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBenchmark {
+    private static final Money INITIAL_BALANCE = new Money(1000.0, "USD");
+
+    private EnvelopeEncryption encryption;
+    private Account account;
+    private EncryptedAccount encryptedAccount;
+
+    @Setup
+    public void setUp() {
+        encryption = new EnvelopeEncryption(new DataKeyCache(new LocalKmsClient(), "benchmark-key"));
+        account = new Account("CUST001", AccountType.CHECKING, INITIAL_BALANCE);
+        encryptedAccount = new EncryptedAccount(account, "benchmark-index", encryption);
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        return new Account("CUST001", AccountType.CHECKING, INITIAL_BALANCE);
+    }
+
+    @Benchmark
+    public EncryptedAccount encryptAccount() {
+        return new EncryptedAccount(account, "benchmark-index", encryption);
+    }
+
+    @Benchmark
+    public Account decryptAccount() {
+        return encryptedAccount.toAccount(account.getAccountId());
+    }
+
+    @Benchmark
+    public EncryptedAccount updateBalance() {
+        encryptedAccount.updateBalance(INITIAL_BALANCE);
+        return encryptedAccount;
+    }
+
+    @Benchmark
+    public Account encryptedRoundTrip() {
+        return new EncryptedAccount(account, "benchmark-index", encryption).toAccount(account.getAccountId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.AccountIdGenerator;
+import com.banking.account.domain.SecureAccountIdGenerator;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening accounts from four threads at once with each ID generator. "shared" is the
+ * previous scheme: one static SecureRandom and String.format hex encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountIdBenchmark {
+    private static final Money INITIAL_BALANCE = new Money(1000.0, "USD");
+    private static final SecureRandom SHARED_RANDOM = new SecureRandom();
+
+    @Param({"shared", "random", "timeOrdered"})
+    public String generator;
+
+    @Setup
+    public void setUp() {
+        Account.setIdGenerator(generator(generator));
+    }
+
+    @TearDown
+    public void tearDown() {
+        Account.setIdGenerator(SecureAccountIdGenerator.random());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Account createAccount() {
+        return new Account("CUST001", AccountType.CHECKING, INITIAL_BALANCE);
+    }
+
+    private static AccountIdGenerator generator(String name) {
+        switch (name) {
+            case "shared":
+                return () -> {
+                    byte[] randomBytes = new byte[16];
+                    SHARED_RANDOM.nextBytes(randomBytes);
+                    StringBuilder result = new StringBuilder();
+                    for (byte b : randomBytes) {
+                        result.append(String.format("%02x", b));
+                    }
+                    return result.toString();
+                };
+            case "random":
+                return SecureAccountIdGenerator.random();
+            case "timeOrdered":
+                return SecureAccountIdGenerator.timeOrdered();
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + name);
+        }
+    }
+}
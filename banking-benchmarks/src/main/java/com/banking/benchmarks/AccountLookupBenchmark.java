@@ -0,0 +1,69 @@
+package com.banking.benchmarks;
+
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.LocalKmsClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.EncryptRequest;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deriving the repository key for an account lookup: one KMS encrypt
+ * round-trip (the previous scheme) versus a local blind index HMAC.
+ *
+ * Sample-time mode reports p50/p99/p999 so the tail latency can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountLookupBenchmark {
+
+    /**
+     * Simulated KMS round-trip latency in microseconds.
+     */
+    @Param({"0", "2000"})
+    public int kmsLatencyMicros;
+
+    private LocalKmsClient kmsClient;
+    private BlindIndex blindIndex;
+    private String accountId;
+
+    @Setup
+    public void setUp() {
+        kmsClient = new LocalKmsClient(Duration.ofNanos(kmsLatencyMicros * 1000L));
+        blindIndex = new BlindIndex(kmsClient, "benchmark-key", "account-id");
+        accountId = "3f7a9c2e5b8d4a1f6e0c9b2a7d5e8f13";
+    }
+
+    @Benchmark
+    public String kmsEncryptedKey() {
+        byte[] ciphertext = kmsClient.encrypt(EncryptRequest.builder()
+                .keyId("benchmark-key")
+                .plaintext(SdkBytes.fromUtf8String(accountId))
+                .build())
+                .ciphertextBlob()
+                .asByteArray();
+        return Base64.getEncoder().encodeToString(ciphertext);
+    }
+
+    @Benchmark
+    public String blindIndexKey() {
+        return blindIndex.compute(accountId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountCache;
+import com.banking.account.service.AccountLedger;
+import com.banking.account.service.AccountService;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.kms.KmsClient;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance reads on a hot set of 100 accounts out of 10,000, with the decrypted-account
+ * cache disabled (size 0) and enabled. The mixed workload makes one call in ten a
+ * deposit, so the cache is also exercised through write-through updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountReadBenchmark {
+    private static final int ACCOUNTS = 10_000;
+    private static final int HOT_ACCOUNTS = 100;
+    private static final Money AMOUNT = new Money(1.0, "USD");
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private AccountService accountService;
+    private String[] hotAccountIds;
+
+    @Setup
+    public void setUp() {
+        KmsClient kmsClient = new LocalKmsClient();
+        accountService = new AccountService(InMemoryRepositories.accounts(),
+                new BlindIndex(kmsClient, "benchmark-key", "account-id"),
+                new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key")),
+                new AccountLedger(),
+                new AccountCache(cacheSize, Duration.ofMinutes(5)));
+        hotAccountIds = new String[HOT_ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountId = accountService.createAccount("CUST" + (i % 100), AccountType.CHECKING,
+                    new Money(1000.0, "USD")).getAccountId();
+            if (i < HOT_ACCOUNTS) {
+                hotAccountIds[i] = accountId;
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Money hotBalanceReads() {
+        return accountService.getBalance(hotAccountIds[ThreadLocalRandom.current().nextInt(HOT_ACCOUNTS)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Money mixedReadsAndDeposits() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String accountId = hotAccountIds[random.nextInt(HOT_ACCOUNTS)];
+        if (random.nextInt(10) == 0) {
+            accountService.deposit(accountId, AMOUNT);
+            return null;
+        }
+        return accountService.getBalance(accountId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.account.service.AccountService;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccountService.deposit followed by withdraw, so balances stay put across
+ * iterations. Runs single-threaded, with threads spread over their own accounts,
+ * and with every thread hammering one hot account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+    private static final Money AMOUNT = new Money(1.0, "USD");
+    private static final Money INITIAL_BALANCE = new Money(1_000_000.0, "USD");
+
+    private AccountService accountService;
+    private String hotAccountId;
+
+    @Setup
+    public void setUp() {
+        accountService = new AccountService(InMemoryRepositories.accounts(), new LocalKmsClient(), "benchmark-key",
+                InMemoryRepositories.indexKeyFile());
+        hotAccountId = accountService.createAccount("HOT", AccountType.CHECKING, INITIAL_BALANCE).getAccountId();
+    }
+
+    @State(Scope.Thread)
+    public static class OwnAccount {
+        String accountId;
+
+        @Setup(Level.Trial)
+        public void setUp(AccountServiceBenchmark benchmark) {
+            Account account = benchmark.accountService.createAccount(
+                    "CUST" + Thread.currentThread().getId(), AccountType.CHECKING, INITIAL_BALANCE);
+            accountId = account.getAccountId();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleThreaded(OwnAccount own) {
+        accountService.deposit(own.accountId, AMOUNT);
+        accountService.withdraw(own.accountId, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void multiThreadedOwnAccounts(OwnAccount own) {
+        accountService.deposit(own.accountId, AMOUNT);
+        accountService.withdraw(own.accountId, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void multiThreadedHotAccount() {
+        accountService.deposit(hotAccountId, AMOUNT);
+        accountService.withdraw(hotAccountId, AMOUNT);
+    }
+}
@@ -0,0 +1,100 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountCache;
+import com.banking.account.service.AccountLedger;
+import com.banking.account.service.AccountRepository;
+import com.banking.account.service.AccountService;
+import com.banking.account.service.MappedAccountStore;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance reads and deposits over 100,000 accounts with the decrypted-account cache
+ * disabled, so every call goes to the store. "heap" keeps each account as an
+ * {@link com.banking.account.domain.EncryptedAccount} in a map; "mapped" keeps it in a
+ * slot of a {@link MappedAccountStore} file and rebuilds the object on each read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountStoreBenchmark {
+    private static final int ACCOUNTS = 100_000;
+    private static final Money AMOUNT = new Money(1.0, "USD");
+
+    @Param({"heap", "mapped"})
+    public String store;
+
+    private Path file;
+    private MappedAccountStore mappedStore;
+    private AccountService accountService;
+    private String[] accountIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocalKmsClient kmsClient = new LocalKmsClient();
+        EnvelopeEncryption encryption = new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key"));
+        AccountRepository repository;
+        if ("mapped".equals(store)) {
+            file = Files.createTempFile("accounts", ".store");
+            Files.delete(file);
+            mappedStore = new MappedAccountStore(file, encryption, ACCOUNTS, MappedAccountStore.DEFAULT_SLOT_SIZE);
+            repository = mappedStore.asRepository();
+        } else {
+            repository = InMemoryRepositories.accounts();
+        }
+        accountService = new AccountService(repository,
+                new BlindIndex(kmsClient, "benchmark-key", "account-id"),
+                encryption,
+                new AccountLedger(),
+                new AccountCache(0, Duration.ofMinutes(5)));
+        accountIds = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = accountService.createAccount("CUST" + (i % 1000), AccountType.CHECKING,
+                    new Money(1000.0, "USD")).getAccountId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (mappedStore != null) {
+            mappedStore.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public Money balanceRead() {
+        return accountService.getBalance(accountIds[ThreadLocalRandom.current().nextInt(ACCOUNTS)]);
+    }
+
+    @Benchmark
+    public void deposit() {
+        accountService.deposit(accountIds[ThreadLocalRandom.current().nextInt(ACCOUNTS)], AMOUNT);
+    }
+}
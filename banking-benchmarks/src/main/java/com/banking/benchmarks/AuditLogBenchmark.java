@@ -0,0 +1,87 @@
+package com.banking.benchmarks;
+
+import com.banking.account.audit.AuditAction;
+import com.banking.account.audit.AuditLog;
+import com.banking.account.audit.FileAuditSink;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit-shaped requests from four threads, each doing a few microseconds of other
+ * work and then logging. "synchronous" does what a file appender with immediate flush
+ * does on the caller: format the two log lines AccountService used to write and
+ * flush each under a shared lock. "audit" queues one event on an AuditLog writing to
+ * a file sink.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuditLogBenchmark {
+    private static final Money AMOUNT = new Money(25.0, "USD");
+    private static final String ACCOUNT_ID = "6f1c0a7d2b9e4c3a8d5f7e1b0c2a4d6e";
+    // Stands in for the decrypt, update, seal and save of a deposit
+    private static final long REQUEST_WORK_TOKENS = 5_000;
+
+    private Path directory;
+    private BufferedWriter synchronousWriter;
+    private AuditLog auditLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-log-benchmark");
+        synchronousWriter = Files.newBufferedWriter(directory.resolve("sync.log"), StandardCharsets.UTF_8);
+        auditLog = new AuditLog(new FileAuditSink(directory.resolve("audit.log")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        synchronousWriter.close();
+        auditLog.close();
+        Files.deleteIfExists(directory.resolve("sync.log"));
+        Files.deleteIfExists(directory.resolve("audit.log"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void synchronous() throws IOException {
+        Blackhole.consumeCPU(REQUEST_WORK_TOKENS);
+        synchronized (synchronousWriter) {
+            synchronousWriter.write(String.format("INFO Depositing %s to account: %s%n", AMOUNT, ACCOUNT_ID));
+            synchronousWriter.flush();
+        }
+        synchronized (synchronousWriter) {
+            synchronousWriter.write(String.format("INFO Deposit successful for account %s: %s%n", ACCOUNT_ID, AMOUNT));
+            synchronousWriter.flush();
+        }
+    }
+
+    @Benchmark
+    public void audit() {
+        Blackhole.consumeCPU(REQUEST_WORK_TOKENS);
+        auditLog.record(AuditAction.DEPOSIT, ACCOUNT_ID, AMOUNT);
+    }
+}
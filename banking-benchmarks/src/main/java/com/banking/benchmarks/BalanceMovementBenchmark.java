@@ -0,0 +1,80 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.BalanceMovement;
+import com.banking.account.service.AccountService;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link AccountService#applyMovements} call netting a settlement file of mixed
+ * credits, debits and transfers over a pool of accounts. Each account is read and
+ * written once per call, so the time is dominated by checking and applying the
+ * movements against the running balances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceMovementBenchmark {
+
+    @Param({"10000"})
+    public int batchSize;
+
+    @Param({"100"})
+    public int accounts;
+
+    private AccountService accountService;
+    private List<BalanceMovement> movements;
+
+    @Setup
+    public void setUp() {
+        accountService = new AccountService(InMemoryRepositories.accounts(), new LocalKmsClient(), "benchmark-key",
+                InMemoryRepositories.indexKeyFile());
+        String[] accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = accountService.createAccount("CUST" + i, AccountType.CHECKING,
+                    new Money(1_000_000_000.0, "USD")).getAccountId();
+        }
+        Money amount = new Money(1.25, "USD");
+        movements = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String account = accountIds[i % accounts];
+            String other = accountIds[(i + 1) % accounts];
+            switch (i % 3) {
+                case 0:
+                    movements.add(BalanceMovement.credit(account, amount));
+                    break;
+                case 1:
+                    movements.add(BalanceMovement.debit(account, amount));
+                    break;
+                default:
+                    movements.add(BalanceMovement.transfer(account, other, amount));
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, RuntimeException> applyMovements() {
+        return accountService.applyMovements(movements);
+    }
+}
@@ -0,0 +1,117 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountService;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.transaction.domain.BatchEntry;
+import com.banking.transaction.domain.BatchItemResult;
+import com.banking.transaction.exception.InvalidInputException;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.util.InputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A settlement file of mixed deposits, withdrawals and transfers spread over a pool of
+ * accounts, posted one entry at a time through the single-item service methods versus
+ * one TransactionService.applyBatch call. Each invocation posts the whole file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BatchTransactionBenchmark {
+
+    @Param({"10000"})
+    public int batchSize;
+
+    @Param({"100"})
+    public int accounts;
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private List<BatchEntry> entries;
+
+    @Setup(Level.Trial)
+    public void setUpAccounts() {
+        accountService = new AccountService(InMemoryRepositories.accounts(), new LocalKmsClient(), "benchmark-key",
+                InMemoryRepositories.indexKeyFile());
+        String[] accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = accountService.createAccount("CUST" + i, AccountType.CHECKING,
+                    new Money(1_000_000_000.0, "USD")).getAccountId();
+        }
+        Money amount = new Money(1.0, "USD");
+        entries = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String account = accountIds[i % accounts];
+            String other = accountIds[(i + 1) % accounts];
+            switch (i % 3) {
+                case 0:
+                    entries.add(BatchEntry.deposit(account, amount, "Settlement credit"));
+                    break;
+                case 1:
+                    entries.add(BatchEntry.withdrawal(account, amount, "Settlement debit"));
+                    break;
+                default:
+                    entries.add(BatchEntry.transfer(account, other, amount, "Settlement transfer"));
+                    break;
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpTransactions() {
+        transactionService = new TransactionService(accountService, InMemoryRepositories.transactions(),
+                new InputValidator());
+    }
+
+    @Benchmark
+    public int singleEntries() throws InvalidInputException {
+        int applied = 0;
+        for (BatchEntry entry : entries) {
+            switch (entry.getType()) {
+                case DEPOSIT:
+                    transactionService.deposit(entry.getAccountId(), entry.getAmount(), entry.getDescription());
+                    break;
+                case WITHDRAWAL:
+                    transactionService.withdraw(entry.getAccountId(), entry.getAmount(), entry.getDescription());
+                    break;
+                default:
+                    transactionService.transfer(entry.getAccountId(), entry.getRelatedAccountId(),
+                            entry.getAmount(), entry.getDescription());
+                    break;
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    @Benchmark
+    public int batch() {
+        int applied = 0;
+        for (BatchItemResult result : transactionService.applyBatch(entries)) {
+            if (result.isApplied()) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar. Runs JMH with the given arguments and, unless a
+ * result format is already specified, writes machine-readable JSON results to
+ * {@value #DEFAULT_RESULT_FILE} so runs from different releases can be diffed.
+ */
+public final class BenchmarkMain {
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.add("-rf");
+            jmhArgs.add("json");
+            if (!jmhArgs.contains("-rff")) {
+                jmhArgs.add("-rff");
+                jmhArgs.add(DEFAULT_RESULT_FILE);
+            }
+        }
+        Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,118 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.journal.BalanceSnapshot;
+import com.banking.transaction.journal.BalanceSnapshotStore;
+import com.banking.transaction.journal.BalanceSnapshotter;
+import com.banking.transaction.journal.JournalRecovery;
+import com.banking.transaction.journal.TransactionJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilding every balance on startup: replaying the whole journal versus loading
+ * the latest snapshot and replaying only the records written after it. The journal
+ * holds one opening and two deposits per account, plus a tail of deposits after the
+ * snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ColdStartBenchmark {
+    private static final int CHUNK = 10_000;
+    private static final int TAIL_TRANSACTIONS = 10_000;
+
+    @Param({"100000", "1000000"})
+    public int accounts;
+
+    private Path directory;
+    private Path journalFile;
+    private BalanceSnapshotStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("cold-start-benchmark");
+        journalFile = directory.resolve("transactions.journal");
+        store = new BalanceSnapshotStore(directory.resolve("snapshots"));
+        Money opening = new Money(1000.0, "USD");
+        Money deposit = new Money(25.0, "USD");
+        List<String> accountIds = new ArrayList<>(accounts);
+        try (TransactionJournal journal = TransactionJournal.open(journalFile)) {
+            for (int start = 0; start < accounts; start += CHUNK) {
+                List<Account> openings = new ArrayList<>(CHUNK);
+                List<Transaction> deposits = new ArrayList<>(2 * CHUNK);
+                for (int i = start; i < Math.min(start + CHUNK, accounts); i++) {
+                    Account account = new Account("CUST" + i, AccountType.CHECKING, opening);
+                    accountIds.add(account.getAccountId());
+                    openings.add(account);
+                    deposits.add(new Transaction(account.getAccountId(), TransactionType.DEPOSIT, deposit, "Deposit"));
+                    deposits.add(new Transaction(account.getAccountId(), TransactionType.DEPOSIT, deposit, "Deposit"));
+                }
+                journal.appendOpenings(openings);
+                journal.appendAll(deposits);
+            }
+            new BalanceSnapshotter(journal, store).takeSnapshot();
+
+            List<Transaction> tail = new ArrayList<>(TAIL_TRANSACTIONS);
+            for (int i = 0; i < TAIL_TRANSACTIONS; i++) {
+                tail.add(new Transaction(accountIds.get(i % accounts), TransactionType.DEPOSIT, deposit, "Deposit"));
+            }
+            journal.appendAll(tail);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int fullReplay() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(journalFile)) {
+            JournalRecovery recovery = new JournalRecovery(null, false);
+            journal.replay(recovery);
+            return recovery.getAccounts().size();
+        }
+    }
+
+    @Benchmark
+    public int snapshotPlusTail() throws IOException {
+        BalanceSnapshot snapshot = store.loadLatest();
+        try (TransactionJournal journal = TransactionJournal.open(journalFile, snapshot.getJournalOffset())) {
+            JournalRecovery recovery = new JournalRecovery(snapshot, false);
+            journal.replay(snapshot.getJournalOffset(), recovery);
+            return recovery.getAccounts().size();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.account.service.AccountService;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.api.controller.AccountController;
+import com.banking.api.dto.AccountPageResponse;
+import com.banking.api.dto.AccountResponse;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.util.InputValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller-level response cost: calls AccountController directly (no HTTP stack)
+ * and writes the body with an ObjectMapper configured the way Spring MVC builds
+ * its default one. Covers a single account and the full account listing, streamed
+ * as a JSON array, as NDJSON, page by page, and fully materialized for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerSerializationBenchmark {
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"100", "10000"})
+    public int accounts;
+
+    private AccountService accountService;
+    private AccountController controller;
+    private ObjectMapper objectMapper;
+    private String accountId;
+
+    @Setup
+    public void setUp() {
+        accountService = new AccountService(InMemoryRepositories.accounts(), new LocalKmsClient(),
+                "benchmark-key", InMemoryRepositories.indexKeyFile());
+        for (int i = 0; i < accounts; i++) {
+            accountId = accountService.createAccount("CUST" + (i % 10), AccountType.CHECKING,
+                    new Money(1000.0 + i, "USD")).getAccountId();
+        }
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        controller = new AccountController(accountService,
+                new TransactionService(accountService, InMemoryRepositories.transactions(), new InputValidator()),
+                objectMapper);
+    }
+
+    @Benchmark
+    public byte[] getAccount() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(controller.getAccount(accountId).getBody());
+    }
+
+    @Benchmark
+    public byte[] getBalance() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(controller.getBalance(accountId).getBody());
+    }
+
+    @Benchmark
+    public int getAllAccountsStreamed() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        controller.getAllAccounts(null).getBody().writeTo(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public int getAllAccountsNdjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        controller.getAllAccounts("application/x-ndjson").getBody().writeTo(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public int getAllAccountsPaged() throws JsonProcessingException {
+        int bytes = 0;
+        String cursor = null;
+        do {
+            AccountPageResponse page = controller.getAccountsPage(PAGE_SIZE, cursor).getBody();
+            bytes += objectMapper.writeValueAsBytes(page).length;
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return bytes;
+    }
+
+    /**
+     * The previous listing: decrypt every account into a list, map it, then serialize.
+     */
+    @Benchmark
+    public int getAllAccountsMaterialized() throws JsonProcessingException {
+        List<AccountResponse> responses = new ArrayList<>();
+        for (Account account : accountService.getAllAccounts()) {
+            AccountResponse response = new AccountResponse();
+            response.setAccountId(account.getAccountId());
+            response.setCustomerId(account.getCustomerId());
+            response.setAccountType(account.getAccountType().name());
+            response.setBalance(account.getBalance().getAmount().doubleValue());
+            response.setCurrency(account.getBalance().getCurrency());
+            response.setActive(account.isActive());
+            responses.add(response);
+        }
+        return objectMapper.writeValueAsBytes(responses).length;
+    }
+
+    /**
+     * Discards the response body, counting bytes, so no output buffer is retained.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.banking.benchmarks;
+
+import com.banking.account.util.CryptoEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation latency of the small crypto calls made for every account ID: the AES
+ * encryption done by DataEncryption, the HMAC behind a blind index and the SHA-256 of a
+ * token integrity check. Each is measured creating and initializing a new JCA instance
+ * per call, as before, and through {@link CryptoEngine}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoEngineBenchmark {
+    private final SecretKeySpec aesKey = new SecretKeySpec(new byte[32], "AES");
+    private final SecretKeySpec macKey = new SecretKeySpec(new byte[32], "HmacSHA256");
+    private final byte[] accountId = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public byte[] aesNewInstance() throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, aesKey);
+        return cipher.doFinal(accountId);
+    }
+
+    @Benchmark
+    public byte[] aesEngine() throws GeneralSecurityException {
+        return CryptoEngine.doFinal("AES", Cipher.ENCRYPT_MODE, aesKey, accountId);
+    }
+
+    @Benchmark
+    public byte[] hmacNewInstance() throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(macKey);
+        return mac.doFinal(accountId);
+    }
+
+    @Benchmark
+    public byte[] hmacEngine() throws GeneralSecurityException {
+        return CryptoEngine.mac("HmacSHA256", macKey).doFinal(accountId);
+    }
+
+    @Benchmark
+    public byte[] sha256NewInstance() throws GeneralSecurityException {
+        return MessageDigest.getInstance("SHA-256").digest(accountId);
+    }
+
+    @Benchmark
+    public byte[] sha256Engine() {
+        return CryptoEngine.digest("SHA-256").digest(accountId);
+    }
+}
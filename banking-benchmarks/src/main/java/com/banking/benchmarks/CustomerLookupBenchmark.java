@@ -0,0 +1,84 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.account.domain.EncryptedAccount;
+import com.banking.account.service.AccountLedger;
+import com.banking.account.service.AccountRepository;
+import com.banking.account.service.AccountService;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.kms.KmsClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing one customer's three accounts as the total number of accounts grows: through
+ * the customer index versus the repository's customer lookup, which has to decrypt the
+ * customer ID of every stored account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class CustomerLookupBenchmark {
+    private static final int ACCOUNTS_PER_CUSTOMER = 3;
+
+    @Param({"1000", "100000"})
+    public int accounts;
+
+    private AccountRepository accountRepository;
+    private AccountService accountService;
+    private int customers;
+
+    @Setup
+    public void setUp() {
+        KmsClient kmsClient = new LocalKmsClient();
+        accountRepository = InMemoryRepositories.accounts();
+        accountService = new AccountService(accountRepository,
+                new BlindIndex(kmsClient, "benchmark-key", "account-id"),
+                new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key")),
+                new AccountLedger());
+        customers = accounts / ACCOUNTS_PER_CUSTOMER;
+        for (int i = 0; i < accounts; i++) {
+            accountService.createAccount("CUST" + (i % customers), AccountType.CHECKING, new Money(1000.0, "USD"));
+        }
+    }
+
+    @Benchmark
+    public List<Account> indexedLookup() {
+        return accountService.getAccountsByCustomer(randomCustomer());
+    }
+
+    @Benchmark
+    public List<Account> repositoryScan() {
+        List<Account> result = new ArrayList<>();
+        for (EncryptedAccount encryptedAccount : accountRepository.findByCustomerId(randomCustomer())) {
+            result.add(encryptedAccount.toAccount());
+        }
+        return result;
+    }
+
+    private String randomCustomer() {
+        return "CUST" + ThreadLocalRandom.current().nextInt(customers);
+    }
+}
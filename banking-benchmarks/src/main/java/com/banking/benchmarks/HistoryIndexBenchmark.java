@@ -0,0 +1,72 @@
+package com.banking.benchmarks;
+
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.service.TransactionHistoryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording transfers in the history index of 100,000 accounts whose histories are
+ * loaded. Each transfer names its accounts with fresh strings, as parsed from a
+ * request, so the cost of finding both histories is measured with cold string hashes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryIndexBenchmark {
+    private static final int ACCOUNTS = 100_000;
+    private static final int TRANSFERS = 1 << 16;
+    private static final Money AMOUNT = new Money(1.0, "USD");
+
+    private String[] accountIds;
+    private TransactionHistoryIndex index;
+    private Transaction[] transfers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountIds = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = String.format("%032x", i * 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void loadHistories() {
+        index = new TransactionHistoryIndex((accountId, timestamp, transactionId, limit) -> Collections.emptyList(),
+                ACCOUNTS);
+        for (String accountId : accountIds) {
+            index.page(accountId, null, null, 1, null);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        transfers = new Transaction[TRANSFERS];
+        for (int i = 0; i < TRANSFERS; i++) {
+            transfers[i] = new Transaction(new String(accountIds[random.nextInt(ACCOUNTS)]), TransactionType.TRANSFER,
+                    AMOUNT, "Transfer", new String(accountIds[random.nextInt(ACCOUNTS)]));
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public void recordTransfer() {
+        index.add(transfers[next++ & (TRANSFERS - 1)]);
+    }
+}
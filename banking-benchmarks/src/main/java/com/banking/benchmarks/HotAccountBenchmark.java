@@ -0,0 +1,145 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountCache;
+import com.banking.account.service.AccountLedger;
+import com.banking.account.service.AccountService;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.FieldEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.DecryptRequest;
+import software.amazon.awssdk.services.kms.model.EncryptRequest;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seven threads reading one hot account while an eighth deactivates or reactivates it
+ * every 500 us, each status change invalidating the cached copy. Fields are decrypted
+ * by a KMS call each, against a local KMS answering in 1 ms, so every load costs one
+ * round-trip. The reader counters give the KMS calls behind the reads; the writer's
+ * time over its 500 us pause shows how long a status change waited, under the
+ * account's ledger lock, for a load in flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotAccountBenchmark {
+    private static final long WRITE_INTERVAL_MICROS = 500;
+
+    private AccountService accountService;
+    private String hotAccountId;
+
+    @Setup
+    public void setUp() {
+        LocalKmsClient kmsClient = new LocalKmsClient(Duration.ofMillis(1));
+        accountService = new AccountService(InMemoryRepositories.accounts(),
+                new BlindIndex(kmsClient, "benchmark-key", "account-id"),
+                new RemoteFieldEncryption(kmsClient),
+                new AccountLedger(),
+                new AccountCache());
+        hotAccountId = accountService.createAccount("CUST1", AccountType.CHECKING, new Money(1000.0, "USD"))
+                .getAccountId();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ReadCounters {
+        public long reads;
+        public long kmsCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reads = 0;
+            kmsCalls = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        boolean active = true;
+    }
+
+    @Benchmark
+    @Group("hotKey")
+    @GroupThreads(7)
+    public Money read(ReadCounters counters) {
+        long before = RemoteFieldEncryption.callsOnThisThread();
+        Money balance = accountService.getAccount(hotAccountId).getBalance();
+        counters.kmsCalls += RemoteFieldEncryption.callsOnThisThread() - before;
+        counters.reads++;
+        return balance;
+    }
+
+    @Benchmark
+    @Group("hotKey")
+    @GroupThreads(1)
+    public void toggleStatus(WriterState writer) throws InterruptedException {
+        TimeUnit.MICROSECONDS.sleep(WRITE_INTERVAL_MICROS);
+        if (writer.active) {
+            accountService.deactivateAccount(hotAccountId);
+        } else {
+            accountService.activateAccount(hotAccountId);
+        }
+        writer.active = !writer.active;
+    }
+
+    /**
+     * Direct-mode field encryption over the local KMS, counting on each thread the
+     * decrypt calls it made, so the calls of a shared load land on the thread that ran it.
+     */
+    static final class RemoteFieldEncryption implements FieldEncryption {
+        private static final ThreadLocal<long[]> CALLS = ThreadLocal.withInitial(() -> new long[1]);
+
+        private final LocalKmsClient kmsClient;
+
+        RemoteFieldEncryption(LocalKmsClient kmsClient) {
+            this.kmsClient = kmsClient;
+        }
+
+        static long callsOnThisThread() {
+            return CALLS.get()[0];
+        }
+
+        @Override
+        public String encrypt(String plainText) {
+            return Base64.getEncoder().encodeToString(kmsClient.encrypt(EncryptRequest.builder()
+                    .keyId("benchmark-key")
+                    .plaintext(SdkBytes.fromUtf8String(plainText))
+                    .build())
+                    .ciphertextBlob()
+                    .asByteArray());
+        }
+
+        @Override
+        public String decrypt(String cipherText) {
+            CALLS.get()[0]++;
+            return kmsClient.decrypt(DecryptRequest.builder()
+                    .keyId("benchmark-key")
+                    .ciphertextBlob(SdkBytes.fromByteArray(Base64.getDecoder().decode(cipherText)))
+                    .build())
+                    .plaintext()
+                    .asUtf8String();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountRepository;
+import com.banking.account.service.InMemoryAccountRepository;
+import com.banking.transaction.repository.InMemoryTransactionRepository;
+import com.banking.transaction.repository.TransactionRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Map-backed repositories so benchmarks run fully in-process. They are the fixtures
+ * the account and transaction tests use, taken from those modules' test jars.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static AccountRepository accounts() {
+        return new InMemoryAccountRepository();
+    }
+
+    static TransactionRepository transactions() {
+        return InMemoryTransactionRepository.create();
+    }
+
+    /**
+     * Returns a new path, removed at exit, for the blind index keys of one fixture's
+     * AccountService, so the index key is generated once per fixture as on a first start.
+     */
+    static Path indexKeyFile() {
+        try {
+            Path directory = Files.createTempDirectory("benchmark-index");
+            directory.toFile().deleteOnExit();
+            Path file = directory.resolve("account-index.keys");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.benchmarks;
+
+import com.banking.account.util.KeyMaterialProvider;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.account.util.Pbkdf2KeyMaterial;
+import com.banking.account.util.SealedKeyFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to obtain the DataEncryption key at startup: running the PBKDF2 derivation
+ * (65,536 iterations, as DataEncryption does) versus unwrapping the key from a sealed
+ * key file with one KMS call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class KeyMaterialBenchmark {
+    private Path directory;
+    private KeyMaterialProvider derivation;
+    private KeyMaterialProvider sealedKeyFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("key-material-benchmark");
+        derivation = new Pbkdf2KeyMaterial(() -> "benchmark-passphrase",
+                "BANKING_ENCRYPTION_KEY".getBytes(StandardCharsets.UTF_8), 65536, 256, "AES");
+        sealedKeyFile = new SealedKeyFile(directory.resolve("data.key"), new LocalKmsClient(), "benchmark-key",
+                "AES", derivation);
+        sealedKeyFile.getKey();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("data.key"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SecretKey derivePbkdf2() {
+        return derivation.getKey();
+    }
+
+    @Benchmark
+    public SecretKey loadSealedKeyFile() {
+        return sealedKeyFile.getKey();
+    }
+}
@@ -0,0 +1,99 @@
+package com.banking.benchmarks;
+
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.KmsCryptoGateway;
+import com.banking.account.util.LocalKmsClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading 400 account records sealed under 50 data keys with a cold data key cache, as
+ * after a restart, against a local KMS answering each call in 2 ms. "blocking" opens
+ * the records one by one through synchronous KMS unwraps, as the service did; "gateway"
+ * starts every open first and unwraps through a {@link KmsCryptoGateway}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KmsBulkReadBenchmark {
+    private static final int RECORDS = 400;
+    private static final int RECORDS_PER_DATA_KEY = 8;
+    private static final byte[] ASSOCIATED_DATA = new byte[0];
+
+    @Param({"16"})
+    public int maxInFlight;
+
+    private LocalKmsClient kmsClient;
+    private KmsAsyncClient kmsAsyncClient;
+    private final List<byte[]> records = new ArrayList<>();
+    private EnvelopeEncryption blockingReader;
+    private EnvelopeEncryption gatewayReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kmsClient = new LocalKmsClient(Duration.ofMillis(2));
+        kmsAsyncClient = kmsClient.async();
+        EnvelopeEncryption writer = new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key",
+                DataKeyCache.DEFAULT_TTL, RECORDS_PER_DATA_KEY, DataKeyCache.DEFAULT_MAX_DECRYPTION_KEYS));
+        for (int i = 0; i < RECORDS; i++) {
+            records.add(writer.seal(("account-" + i).getBytes(StandardCharsets.UTF_8), ASSOCIATED_DATA));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void coldCaches() {
+        blockingReader = new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key"));
+        gatewayReader = new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key",
+                new KmsCryptoGateway(kmsAsyncClient, "benchmark-key", maxInFlight)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        kmsAsyncClient.close();
+    }
+
+    @Benchmark
+    public List<byte[]> blocking() {
+        List<byte[]> opened = new ArrayList<>(RECORDS);
+        for (byte[] record : records) {
+            opened.add(blockingReader.open(record, ASSOCIATED_DATA));
+        }
+        return opened;
+    }
+
+    @Benchmark
+    public List<byte[]> gateway() {
+        List<CompletableFuture<byte[]>> opening = new ArrayList<>(RECORDS);
+        for (byte[] record : records) {
+            opening.add(gatewayReader.openAsync(record, ASSOCIATED_DATA));
+        }
+        List<byte[]> opened = new ArrayList<>(RECORDS);
+        for (CompletableFuture<byte[]> record : opening) {
+            opened.add(record.join());
+        }
+        return opened;
+    }
+}
@@ -0,0 +1,70 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountLedger;
+import com.banking.api.metrics.MicrometerMetricsRecorder;
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.MetricsRecorder;
+import com.banking.core.metrics.Operation;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service-layer metrics hooks with no recorder installed and with the
+ * Micrometer recorder on a Prometheus registry. Run with {@code -prof gc} to see that
+ * the disabled hooks allocate nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    private static final Runnable NOTHING = () -> { };
+
+    @Param({"disabled", "micrometer"})
+    public String recorder;
+
+    private final AccountLedger ledger = new AccountLedger();
+    private MicrometerMetricsRecorder micrometer;
+
+    @Setup
+    public void setUp() {
+        if ("micrometer".equals(recorder)) {
+            micrometer = new MicrometerMetricsRecorder(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+            Metrics.setRecorder(micrometer);
+        } else {
+            Metrics.setRecorder(MetricsRecorder.DISABLED);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.setRecorder(MetricsRecorder.DISABLED);
+    }
+
+    @Benchmark
+    public void timeOperation() {
+        long started = Metrics.begin(Operation.ACCOUNT_DEPOSIT);
+        Metrics.end(Operation.ACCOUNT_DEPOSIT, started);
+    }
+
+    @Benchmark
+    public void ledgerExecute() {
+        ledger.execute("ACC1", NOTHING);
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.benchmarks;
+
+import com.banking.core.domain.Currencies;
+import com.banking.core.domain.FastMoney;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger-style inner loop (check funds, debit, credit) on the BigDecimal-backed
+ * {@link Money}, the fixed-point {@link FastMoney} object, and raw minor units.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private Money moneyBalance;
+    private Money moneyAmount;
+    private FastMoney fastBalance;
+    private FastMoney fastAmount;
+    private long balanceMinorUnits;
+    private long amountMinorUnits;
+    private int currencyId;
+    private int amountCurrencyId;
+
+    @Setup
+    public void setUp() {
+        moneyBalance = new Money(1_000_000.0, "USD");
+        moneyAmount = new Money(12.34, "USD");
+        fastBalance = FastMoney.of(moneyBalance);
+        fastAmount = FastMoney.of(moneyAmount);
+        balanceMinorUnits = fastBalance.getMinorUnits();
+        amountMinorUnits = fastAmount.getMinorUnits();
+        currencyId = Currencies.idOf("USD");
+        amountCurrencyId = currencyId;
+    }
+
+    @Benchmark
+    public Money bigDecimalMoney() {
+        if (moneyBalance.isLessThan(moneyAmount)) {
+            throw new IllegalStateException();
+        }
+        return moneyBalance.subtract(moneyAmount).add(moneyAmount);
+    }
+
+    @Benchmark
+    public FastMoney fastMoney() {
+        if (fastBalance.isLessThan(fastAmount)) {
+            throw new IllegalStateException();
+        }
+        return fastBalance.subtract(fastAmount).add(fastAmount);
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        if (currencyId != amountCurrencyId || balanceMinorUnits < amountMinorUnits) {
+            throw new IllegalStateException();
+        }
+        long debited = FastMoney.subtractExact(balanceMinorUnits, amountMinorUnits);
+        return FastMoney.addExact(debited, amountMinorUnits);
+    }
+
+    @Benchmark
+    public Money convertRoundTrip() {
+        return FastMoney.of(moneyAmount).toMoney();
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountService;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.domain.TransactionHistoryPage;
+import com.banking.transaction.exception.InvalidInputException;
+import com.banking.transaction.repository.TransactionRepository;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.util.InputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetching the latest 50 transactions of an account from the history index versus
+ * loading its full history, as the history length grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionHistoryBenchmark {
+    @Param({"1000", "100000"})
+    public int historyLength;
+
+    private TransactionService transactionService;
+    private String accountId;
+
+    @Setup
+    public void setUp() throws InvalidInputException {
+        AccountService accountService = new AccountService(InMemoryRepositories.accounts(), new LocalKmsClient(),
+                "benchmark-key", InMemoryRepositories.indexKeyFile());
+        // The history query rejects unknown accounts, so the account must exist
+        accountId = accountService.createAccount("CUST001", AccountType.CHECKING, new Money(0.0, "USD"))
+                .getAccountId();
+        TransactionRepository repository = InMemoryRepositories.transactions();
+        Money amount = new Money(1.0, "USD");
+        for (int i = 0; i < historyLength; i++) {
+            repository.save(new Transaction(accountId, TransactionType.DEPOSIT, amount, "Deposit " + i));
+        }
+        transactionService = new TransactionService(accountService, repository, new InputValidator());
+        transactionService.getTransactionHistory(accountId, null, null, 1, null);  // Load the index
+    }
+
+    @Benchmark
+    public TransactionHistoryPage latest50() throws InvalidInputException {
+        return transactionService.getTransactionHistory(accountId, null, null, 50, null);
+    }
+
+    @Benchmark
+    public List<Transaction> fullHistory() throws InvalidInputException {
+        return transactionService.getTransactionsByAccount(accountId);
+    }
+}
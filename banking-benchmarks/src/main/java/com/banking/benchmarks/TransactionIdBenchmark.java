@@ -0,0 +1,50 @@
+package com.banking.benchmarks;
+
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating transactions from four threads at once. "legacy" stamps the ID and time the
+ * way Transaction used to: UUID.randomUUID() and LocalDateTime.now(). "systemClock" is
+ * the clock read that creating a transaction includes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TransactionIdBenchmark {
+    private static final Money AMOUNT = new Money(25.0, "USD");
+
+    @Benchmark
+    public Transaction createTransaction() {
+        return new Transaction("ACC1", TransactionType.DEPOSIT, AMOUNT, "Deposit");
+    }
+
+    @Benchmark
+    public Object legacyIdAndTimestamp() {
+        return new Object[]{UUID.randomUUID().toString(), LocalDateTime.now()};
+    }
+
+    @Benchmark
+    public long systemClock() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,85 @@
+package com.banking.benchmarks;
+
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.journal.TransactionJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Durable appends from eight concurrent writers: the group-committing journal versus
+ * writing and forcing each record on its own under a lock, which is what one fsync
+ * per transaction amounts to. Reports appends per second across all threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TransactionJournalBenchmark {
+    private static final Money AMOUNT = new Money(10.0, "USD");
+
+    private Path directory;
+    private TransactionJournal journal;
+    private FileChannel perRecordChannel;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = TransactionJournal.open(directory.resolve("group.journal"));
+        perRecordChannel = FileChannel.open(directory.resolve("single.journal"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        journal.close();
+        perRecordChannel.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void groupCommit() {
+        journal.append(new Transaction("3f7a9c2e5b8d4a1f6e0c9b2a7d5e8f13", TransactionType.DEPOSIT, AMOUNT, "Deposit"));
+    }
+
+    @Benchmark
+    public void syncPerAppend() throws IOException {
+        Transaction transaction = new Transaction("3f7a9c2e5b8d4a1f6e0c9b2a7d5e8f13", TransactionType.DEPOSIT, AMOUNT, "Deposit");
+        byte[] record = (transaction.getTransactionId() + '|' + transaction.getAccountId() + '|'
+                + transaction.getAmount().getAmount() + '|' + transaction.getTimestamp() + '\n').getBytes(StandardCharsets.UTF_8);
+        synchronized (perRecordChannel) {
+            perRecordChannel.write(ByteBuffer.wrap(record));
+            perRecordChannel.force(false);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.banking.benchmarks;
+
+import com.banking.account.service.AccountService;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.exception.InvalidInputException;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.util.InputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end TransactionService.transfer: validation, the atomic account transfer
+ * and recording the transaction. The transaction store is reset every iteration so
+ * its growth does not skew later iterations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    private static final Money AMOUNT = new Money(1.0, "USD");
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private String firstAccountId;
+    private String secondAccountId;
+    private boolean forward;
+
+    @Setup(Level.Trial)
+    public void setUpAccounts() {
+        accountService = new AccountService(InMemoryRepositories.accounts(), new LocalKmsClient(), "benchmark-key",
+                InMemoryRepositories.indexKeyFile());
+        firstAccountId = accountService.createAccount("CUST001", AccountType.CHECKING,
+                new Money(1_000_000.0, "USD")).getAccountId();
+        secondAccountId = accountService.createAccount("CUST002", AccountType.SAVINGS,
+                new Money(1_000_000.0, "USD")).getAccountId();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpTransactions() {
+        transactionService = new TransactionService(accountService, InMemoryRepositories.transactions(),
+                new InputValidator());
+    }
+
+    @Benchmark
+    public Transaction transfer() throws InvalidInputException {
+        // Alternate direction so balances stay bounded
+        forward = !forward;
+        return forward
+                ? transactionService.transfer(firstAccountId, secondAccountId, AMOUNT, "Benchmark transfer")
+                : transactionService.transfer(secondAccountId, firstAccountId, AMOUNT, "Benchmark transfer");
+    }
+}
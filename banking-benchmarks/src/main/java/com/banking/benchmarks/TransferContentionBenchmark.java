@@ -0,0 +1,112 @@
+package com.banking.benchmarks;
+
+import com.banking.account.domain.Account;
+import com.banking.account.service.AccountLedger;
+import com.banking.account.service.AccountService;
+import com.banking.account.service.ShardedAccountLedger;
+import com.banking.account.util.BlindIndex;
+import com.banking.account.util.DataKeyCache;
+import com.banking.account.util.EnvelopeEncryption;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Crossing transfer storm: threads are paired onto accounts and half of them move
+ * money A-to-B while the other half move it B-to-A. With two accounts every thread
+ * fights over the same pair; with more accounts the load spreads over several pairs.
+ *
+ * {@code atomicTransfer} uses the lock-ordered AccountService.transfer primitive;
+ * {@code withdrawThenDeposit} is the previous two-step path for comparison.
+ * {@code ledger} selects the striped-lock {@link AccountLedger} or the single-writer
+ * {@link ShardedAccountLedger} with one shard per processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class TransferContentionBenchmark {
+    private static final Money AMOUNT = new Money(1.0, "USD");
+
+    @Param({"2", "64"})
+    public int accounts;
+
+    @Param({"striped", "sharded"})
+    public String ledger;
+
+    private AccountLedger accountLedger;
+    private AccountService accountService;
+    private String[] accountIds;
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        LocalKmsClient kmsClient = new LocalKmsClient();
+        accountLedger = "sharded".equals(ledger) ? new ShardedAccountLedger() : new AccountLedger();
+        accountService = new AccountService(InMemoryRepositories.accounts(),
+                new BlindIndex(kmsClient, "benchmark-key", "account-id"),
+                new EnvelopeEncryption(new DataKeyCache(kmsClient, "benchmark-key")),
+                accountLedger);
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Account account = accountService.createAccount("CUST" + i, AccountType.CHECKING,
+                    new Money(1_000_000_000.0, "USD"));
+            accountIds[i] = account.getAccountId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (accountLedger instanceof ShardedAccountLedger) {
+            ((ShardedAccountLedger) accountLedger).close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Route {
+        String from;
+        String to;
+
+        @Setup(Level.Trial)
+        public void setUp(TransferContentionBenchmark benchmark) {
+            int thread = benchmark.threadCounter.getAndIncrement();
+            int pair = (thread / 2) % (benchmark.accounts / 2);
+            String a = benchmark.accountIds[pair * 2];
+            String b = benchmark.accountIds[pair * 2 + 1];
+            boolean forward = thread % 2 == 0;
+            from = forward ? a : b;
+            to = forward ? b : a;
+        }
+    }
+
+    @Benchmark
+    public void atomicTransfer(Route route) {
+        accountService.transfer(route.from, route.to, AMOUNT);
+    }
+
+    @Benchmark
+    public void withdrawThenDeposit(Route route) {
+        accountService.withdraw(route.from, AMOUNT);
+        accountService.deposit(route.to, AMOUNT);
+    }
+}
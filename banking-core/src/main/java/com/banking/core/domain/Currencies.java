@@ -0,0 +1,93 @@
+package com.banking.core.domain;
+
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns currency codes to small int ids and records how many minor-unit digits
+ * each currency has, so hot paths can compare currencies with {@code ==} on an int
+ * instead of {@code String.equals}.
+ *
+ * Only ISO 4217 codes known to {@link Currency} are accepted, so the table is bounded
+ * by that list however many distinct codes callers pass in. Ids are assigned on first
+ * use and are stable for the lifetime of the JVM only; persist the currency code, not
+ * the id.
+ */
+public final class Currencies {
+    private static final int DEFAULT_SCALE = 2;
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] codes = new String[0];
+    private static volatile int[] scales = new int[0];
+
+    private Currencies() {
+    }
+
+    /**
+     * Returns the id of a currency code, interning it on first use.
+     *
+     * @throws IllegalArgumentException if the code is not an ISO 4217 currency code
+     */
+    public static int idOf(String currencyCode) {
+        Integer id = IDS.get(currencyCode);
+        if (id != null) {
+            return id;
+        }
+        if (currencyCode == null || currencyCode.trim().isEmpty()) {
+            throw new IllegalArgumentException("Currency cannot be null or empty");
+        }
+        Currency currency;
+        try {
+            currency = Currency.getInstance(currencyCode);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency code: " + currencyCode);
+        }
+        return register(currency);
+    }
+
+    /**
+     * Returns the currency code for an id.
+     */
+    public static String codeOf(int currencyId) {
+        String[] current = codes;
+        if (currencyId < 0 || currencyId >= current.length) {
+            throw new IllegalArgumentException("Unknown currency id: " + currencyId);
+        }
+        return current[currencyId];
+    }
+
+    /**
+     * Returns the number of minor-unit digits for an id (2 for USD, 0 for JPY).
+     */
+    public static int scaleOf(int currencyId) {
+        int[] current = scales;
+        if (currencyId < 0 || currencyId >= current.length) {
+            throw new IllegalArgumentException("Unknown currency id: " + currencyId);
+        }
+        return current[currencyId];
+    }
+
+    private static synchronized int register(Currency currency) {
+        String currencyCode = currency.getCurrencyCode();
+        Integer existing = IDS.get(currencyCode);
+        if (existing != null) {
+            return existing;
+        }
+        int id = codes.length;
+        String[] newCodes = Arrays.copyOf(codes, id + 1);
+        int[] newScales = Arrays.copyOf(scales, id + 1);
+        newCodes[id] = currencyCode;
+        newScales[id] = defaultScale(currency);
+        // Publish the arrays before the id so readers holding an id always find it
+        scales = newScales;
+        codes = newCodes;
+        IDS.put(currencyCode, id);
+        return id;
+    }
+
+    private static int defaultScale(Currency currency) {
+        int digits = currency.getDefaultFractionDigits();
+        return digits >= 0 ? digits : DEFAULT_SCALE;  // Pseudo-currencies such as XAU
+    }
+}
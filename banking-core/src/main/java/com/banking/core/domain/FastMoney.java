@@ -0,0 +1,134 @@
+package com.banking.core.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point monetary amount held as a {@code long} count of minor units (cents for
+ * USD) plus an interned currency id from {@link Currencies}.
+ *
+ * Arithmetic and comparisons work on primitives: no {@link BigDecimal} is created and
+ * currencies are compared as ints. Overflow throws {@link ArithmeticException} instead
+ * of wrapping. Hot paths can keep the minor units and currency id in fields and use
+ * the static {@code *Exact} helpers, which do not allocate; converting from a
+ * {@link Money} still creates one intermediate {@link BigDecimal}, so convert only at
+ * the edges.
+ */
+public final class FastMoney implements Comparable<FastMoney> {
+    private final long minorUnits;
+    private final int currencyId;
+
+    private FastMoney(long minorUnits, int currencyId) {
+        this.minorUnits = minorUnits;
+        this.currencyId = currencyId;
+    }
+
+    public static FastMoney ofMinorUnits(long minorUnits, String currency) {
+        return new FastMoney(minorUnits, Currencies.idOf(currency));
+    }
+
+    public static FastMoney ofMinorUnits(long minorUnits, int currencyId) {
+        Currencies.codeOf(currencyId);  // Validates the id
+        return new FastMoney(minorUnits, currencyId);
+    }
+
+    /**
+     * Converts a {@link Money} value.
+     * @throws ArithmeticException if the amount has more fractional digits than the
+     *         currency's minor unit, or does not fit in a long
+     */
+    public static FastMoney of(Money money) {
+        int currencyId = Currencies.idOf(money.getCurrency());
+        return new FastMoney(toMinorUnits(money.getAmount(), currencyId), currencyId);
+    }
+
+    /**
+     * Converts an amount to minor units of the given currency without rounding.
+     * @throws ArithmeticException if the amount is not exactly representable
+     */
+    public static long toMinorUnits(BigDecimal amount, int currencyId) {
+        // One BigDecimal at scale 0 for a typical amount, read back without a BigInteger
+        return amount.movePointRight(Currencies.scaleOf(currencyId)).longValueExact();
+    }
+
+    public static long addExact(long minorUnits, long otherMinorUnits) {
+        return Math.addExact(minorUnits, otherMinorUnits);
+    }
+
+    public static long subtractExact(long minorUnits, long otherMinorUnits) {
+        return Math.subtractExact(minorUnits, otherMinorUnits);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getCurrencyId() {
+        return currencyId;
+    }
+
+    public String getCurrency() {
+        return Currencies.codeOf(currencyId);
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(minorUnits, Currencies.scaleOf(currencyId));
+    }
+
+    public Money toMoney() {
+        return new Money(getAmount(), getCurrency());
+    }
+
+    public FastMoney add(FastMoney other) {
+        requireSameCurrency(other, "Cannot add different currencies");
+        return new FastMoney(Math.addExact(minorUnits, other.minorUnits), currencyId);
+    }
+
+    public FastMoney subtract(FastMoney other) {
+        requireSameCurrency(other, "Cannot subtract different currencies");
+        return new FastMoney(Math.subtractExact(minorUnits, other.minorUnits), currencyId);
+    }
+
+    public boolean isGreaterThan(FastMoney other) {
+        requireSameCurrency(other, "Cannot compare different currencies");
+        return minorUnits > other.minorUnits;
+    }
+
+    public boolean isLessThan(FastMoney other) {
+        requireSameCurrency(other, "Cannot compare different currencies");
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @Override
+    public int compareTo(FastMoney other) {
+        requireSameCurrency(other, "Cannot compare different currencies");
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(FastMoney other, String message) {
+        if (currencyId != other.currencyId) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FastMoney that = (FastMoney) o;
+        return minorUnits == that.minorUnits && currencyId == that.currencyId;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currencyId;
+    }
+
+    @Override
+    public String toString() {
+        return getAmount() + " " + getCurrency();
+    }
+}
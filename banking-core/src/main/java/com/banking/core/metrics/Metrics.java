@@ -0,0 +1,46 @@
+package com.banking.core.metrics;
+
+/**
+ * Process-wide entry point for operation timings. Until a recorder is installed with
+ * {@link #setRecorder}, every call goes to {@link MetricsRecorder#DISABLED}, so the
+ * instrumented code pays one volatile read and an empty call per hook.
+ *
+ * <pre>
+ * long started = Metrics.begin(Operation.ACCOUNT_DEPOSIT);
+ * try {
+ *     ...
+ * } finally {
+ *     Metrics.end(Operation.ACCOUNT_DEPOSIT, started);
+ * }
+ * </pre>
+ */
+public final class Metrics {
+    private static volatile MetricsRecorder recorder = MetricsRecorder.DISABLED;
+
+    private Metrics() {
+    }
+
+    /**
+     * Sends all later timings to the given recorder. Meant to be called at startup and
+     * shutdown: an operation in flight across the switch is ended on the new recorder,
+     * which ignores it if it was begun on a disabled one.
+     */
+    public static void setRecorder(MetricsRecorder recorder) {
+        if (recorder == null) {
+            throw new IllegalArgumentException("Metrics recorder cannot be null");
+        }
+        Metrics.recorder = recorder;
+    }
+
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    public static long begin(Operation operation) {
+        return recorder.begin(operation);
+    }
+
+    public static void end(Operation operation, long startNanos) {
+        recorder.end(operation, startNanos);
+    }
+}
@@ -0,0 +1,40 @@
+package com.banking.core.metrics;
+
+/**
+ * Receives timings of {@link Operation}s. Call sites bracket an operation with
+ * {@link #begin} and {@link #end} instead of passing a lambda, so instrumentation
+ * allocates nothing of its own.
+ *
+ * @see Metrics
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Records nothing, does not read the clock and allocates nothing.
+     */
+    MetricsRecorder DISABLED = new MetricsRecorder() {
+        @Override
+        public long begin(Operation operation) {
+            return 0L;
+        }
+
+        @Override
+        public void end(Operation operation, long startNanos) {
+        }
+    };
+
+    /**
+     * Marks an operation as started.
+     *
+     * @return the start time in {@link System#nanoTime()} units, or 0 if the operation
+     *         is not being recorded
+     */
+    long begin(Operation operation);
+
+    /**
+     * Marks an operation as finished, whether or not it succeeded.
+     *
+     * @param startNanos the value {@link #begin} returned; 0 records nothing
+     */
+    void end(Operation operation, long startNanos);
+}
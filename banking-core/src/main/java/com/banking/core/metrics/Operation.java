@@ -0,0 +1,50 @@
+package com.banking.core.metrics;
+
+/**
+ * Timed operations on the service-layer hot paths. Each constant is reported under
+ * its metric name with an {@code operation} tag, so a recorder can build every meter
+ * up front and look it up by ordinal.
+ */
+public enum Operation {
+    ACCOUNT_CREATE("banking.account.operation", "create"),
+    ACCOUNT_GET("banking.account.operation", "get"),
+    ACCOUNT_GET_BALANCE("banking.account.operation", "get-balance"),
+    ACCOUNT_DEPOSIT("banking.account.operation", "deposit"),
+    ACCOUNT_WITHDRAW("banking.account.operation", "withdraw"),
+    ACCOUNT_TRANSFER("banking.account.operation", "transfer"),
+    ACCOUNT_APPLY_MOVEMENTS("banking.account.operation", "apply-movements"),
+
+    TRANSACTION_DEPOSIT("banking.transaction.operation", "deposit"),
+    TRANSACTION_WITHDRAW("banking.transaction.operation", "withdraw"),
+    TRANSACTION_TRANSFER("banking.transaction.operation", "transfer"),
+    TRANSACTION_BATCH("banking.transaction.operation", "batch"),
+
+    KMS_GENERATE_DATA_KEY("banking.kms.call", "generate-data-key"),
+    KMS_ENCRYPT("banking.kms.call", "encrypt"),
+    KMS_DECRYPT("banking.kms.call", "decrypt"),
+
+    REPOSITORY_FIND("banking.repository.call", "find"),
+    REPOSITORY_SAVE("banking.repository.call", "save"),
+
+    /** Time from asking for an account's ledger lock until holding it. */
+    LEDGER_LOCK_WAIT("banking.ledger.lock.wait", "acquire");
+
+    private final String metricName;
+    private final String tag;
+
+    Operation(String metricName, String tag) {
+        this.metricName = metricName;
+        this.tag = tag;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    /**
+     * Value of the {@code operation} tag.
+     */
+    public String getTag() {
+        return tag;
+    }
+}
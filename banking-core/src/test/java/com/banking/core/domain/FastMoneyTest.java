@@ -0,0 +1,65 @@
+package com.banking.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastMoneyTest {
+
+    @Test
+    void testRoundTripThroughMoney() {
+        Money money = new Money(new BigDecimal("100.50"), "USD");
+        FastMoney fast = FastMoney.of(money);
+        assertEquals(10050L, fast.getMinorUnits());
+        assertEquals("USD", fast.getCurrency());
+        assertEquals(money, fast.toMoney());
+    }
+
+    @Test
+    void testMinorUnitsFollowCurrencyScale() {
+        assertEquals(1500L, FastMoney.of(new Money(1500.0, "JPY")).getMinorUnits());
+        assertEquals(1500L, FastMoney.of(new Money(15.0, "USD")).getMinorUnits());
+        assertEquals(150L, FastMoney.of(new Money(new BigDecimal("1.500"), "USD")).getMinorUnits());
+        assertEquals(100L, FastMoney.of(new Money(new BigDecimal("1E+2"), "JPY")).getMinorUnits());
+        assertThrows(ArithmeticException.class, () -> FastMoney.of(new Money(new BigDecimal("1.005"), "USD")));
+    }
+
+    @Test
+    void testArithmetic() {
+        FastMoney a = FastMoney.ofMinorUnits(10000, "USD");
+        FastMoney b = FastMoney.ofMinorUnits(3050, "USD");
+        assertEquals(FastMoney.ofMinorUnits(13050, "USD"), a.add(b));
+        assertEquals(FastMoney.ofMinorUnits(6950, "USD"), a.subtract(b));
+        assertTrue(a.isGreaterThan(b));
+        assertTrue(b.isLessThan(a));
+        assertEquals(0, new BigDecimal("69.50").compareTo(a.subtract(b).toMoney().getAmount()));
+    }
+
+    @Test
+    void testOverflowIsDetected() {
+        FastMoney max = FastMoney.ofMinorUnits(Long.MAX_VALUE, "USD");
+        assertThrows(ArithmeticException.class, () -> max.add(FastMoney.ofMinorUnits(1, "USD")));
+        assertThrows(ArithmeticException.class, () -> FastMoney.subtractExact(Long.MIN_VALUE, 1));
+    }
+
+    @Test
+    void testDifferentCurrencyException() {
+        FastMoney usd = FastMoney.ofMinorUnits(100, "USD");
+        FastMoney eur = FastMoney.ofMinorUnits(50, "EUR");
+        assertNotEquals(usd.getCurrencyId(), eur.getCurrencyId());
+        assertThrows(IllegalArgumentException.class, () -> usd.add(eur));
+        assertThrows(IllegalArgumentException.class, () -> usd.subtract(eur));
+        assertThrows(IllegalArgumentException.class, () -> usd.isLessThan(eur));
+    }
+
+    @Test
+    void testCurrencyIdsAreStable() {
+        assertEquals(Currencies.idOf("USD"), Currencies.idOf("USD"));
+        assertEquals("USD", Currencies.codeOf(Currencies.idOf("USD")));
+        assertThrows(IllegalArgumentException.class, () -> Currencies.idOf(" "));
+        assertThrows(IllegalArgumentException.class, () -> Currencies.idOf("NOT-A-CODE"));
+        assertThrows(IllegalArgumentException.class, () -> Currencies.codeOf(-1));
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.core.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setRecorder(MetricsRecorder.DISABLED);
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        assertSame(MetricsRecorder.DISABLED, Metrics.getRecorder());
+        assertEquals(0L, Metrics.begin(Operation.ACCOUNT_DEPOSIT));
+        Metrics.end(Operation.ACCOUNT_DEPOSIT, 0L);
+    }
+
+    @Test
+    void testInstalledRecorderReceivesTimings() {
+        List<String> events = new ArrayList<>();
+        Metrics.setRecorder(new MetricsRecorder() {
+            @Override
+            public long begin(Operation operation) {
+                events.add("begin " + operation);
+                return 42L;
+            }
+
+            @Override
+            public void end(Operation operation, long startNanos) {
+                events.add("end " + operation + " " + startNanos);
+            }
+        });
+
+        long started = Metrics.begin(Operation.KMS_DECRYPT);
+        Metrics.end(Operation.KMS_DECRYPT, started);
+
+        assertEquals(List.of("begin KMS_DECRYPT", "end KMS_DECRYPT 42"), events);
+    }
+
+    @Test
+    void testRejectsNullRecorder() {
+        assertThrows(IllegalArgumentException.class, () -> Metrics.setRecorder(null));
+    }
+
+    @Test
+    void testOperationsSharingAMetricHaveDistinctTags() {
+        for (Operation a : Operation.values()) {
+            for (Operation b : Operation.values()) {
+                if (a != b && a.getMetricName().equals(b.getMetricName())) {
+                    assertNotEquals(a.getTag(), b.getTag(), a + " and " + b);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.transaction.domain;
+
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+
+/**
+ * One deposit, withdrawal or transfer submitted as part of a batch.
+ * Entries are validated when the batch is applied, so an invalid entry is reported
+ * as a rejected item rather than failing the whole batch.
+ */
+public class BatchEntry {
+    private final TransactionType type;
+    private final String accountId;
+    private final String relatedAccountId;
+    private final Money amount;
+    private final String description;
+
+    public BatchEntry(TransactionType type, String accountId, String relatedAccountId, Money amount,
+                      String description) {
+        this.type = type;
+        this.accountId = accountId;
+        this.relatedAccountId = relatedAccountId;
+        this.amount = amount;
+        this.description = description;
+    }
+
+    public static BatchEntry deposit(String accountId, Money amount, String description) {
+        return new BatchEntry(TransactionType.DEPOSIT, accountId, null, amount, description);
+    }
+
+    public static BatchEntry withdrawal(String accountId, Money amount, String description) {
+        return new BatchEntry(TransactionType.WITHDRAWAL, accountId, null, amount, description);
+    }
+
+    public static BatchEntry transfer(String fromAccountId, String toAccountId, Money amount, String description) {
+        return new BatchEntry(TransactionType.TRANSFER, fromAccountId, toAccountId, amount, description);
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the account the entry applies to; for a transfer, the source account.
+     */
+    public String getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * Returns the destination account of a transfer, or null.
+     */
+    public String getRelatedAccountId() {
+        return relatedAccountId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
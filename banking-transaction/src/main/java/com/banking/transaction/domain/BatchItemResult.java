@@ -0,0 +1,44 @@
+package com.banking.transaction.domain;
+
+/**
+ * Outcome of one batch entry: the recorded transaction if it was applied, or the
+ * reason it was rejected.
+ */
+public class BatchItemResult {
+    private final int index;
+    private final Transaction transaction;
+    private final String error;
+
+    private BatchItemResult(int index, Transaction transaction, String error) {
+        this.index = index;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public static BatchItemResult applied(int index, Transaction transaction) {
+        return new BatchItemResult(index, transaction, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    /**
+     * Returns the position of the entry in the submitted batch.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isApplied() {
+        return transaction != null;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -3,19 +3,22 @@ package com.banking.transaction.domain;
 import com.banking.core.domain.Money;
 import com.banking.core.domain.TransactionType;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Represents a banking transaction.
  */
 public class Transaction {
+    private static volatile TransactionIdGenerator idGenerator = new TransactionIdGenerator();
+
     private final String transactionId;
     private final String accountId;
     private final TransactionType type;
     private final Money amount;
-    private final LocalDateTime timestamp;
+    private final long timestamp; // Milliseconds since the epoch
     private final String description;
     private String relatedAccountId; // For transfer transactions
 
@@ -30,11 +33,13 @@ public class Transaction {
             throw new IllegalArgumentException("Amount cannot be null");
         }
         
-        this.transactionId = UUID.randomUUID().toString();
+        TransactionIdGenerator generator = idGenerator;
+        long sequence = generator.nextSequence();
+        this.transactionId = generator.toId(sequence);
         this.accountId = accountId;
         this.type = type;
         this.amount = amount;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = TransactionIdGenerator.timestampOf(sequence);
         this.description = description != null ? description : "";
     }
 
@@ -43,6 +48,52 @@ public class Transaction {
         this.relatedAccountId = relatedAccountId;
     }
 
+    /**
+     * Restores a previously recorded transaction with its original ID and timestamp,
+     * given as a local date-time in the system time zone.
+     */
+    public Transaction(String transactionId, String accountId, TransactionType type, Money amount,
+                       LocalDateTime timestamp, String description, String relatedAccountId) {
+        this(transactionId, accountId, type, amount, toEpochMillis(timestamp), description, relatedAccountId);
+    }
+
+    /**
+     * Restores a previously recorded transaction with its original ID and timestamp,
+     * given in milliseconds since the epoch.
+     */
+    public Transaction(String transactionId, String accountId, TransactionType type, Money amount,
+                       long timestamp, String description, String relatedAccountId) {
+        if (transactionId == null || transactionId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Transaction ID cannot be null or empty");
+        }
+        if (accountId == null || accountId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Account ID cannot be null or empty");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Transaction type cannot be null");
+        }
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.type = type;
+        this.amount = amount;
+        this.timestamp = timestamp;
+        this.description = description != null ? description : "";
+        this.relatedAccountId = relatedAccountId;
+    }
+
+    /**
+     * Sets how IDs of new transactions are generated. Restored transactions keep theirs.
+     */
+    public static void setIdGenerator(TransactionIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Transaction ID generator cannot be null");
+        }
+        idGenerator = generator;
+    }
+
     public String getTransactionId() {
         return transactionId;
     }
@@ -59,7 +110,17 @@ public class Transaction {
         return amount;
     }
 
+    /**
+     * Returns the timestamp as a local date-time in the system time zone.
+     */
     public LocalDateTime getTimestamp() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns the timestamp in milliseconds since the epoch.
+     */
+    public long getTimestampMillis() {
         return timestamp;
     }
 
@@ -87,7 +148,17 @@ public class Transaction {
     @Override
     public String toString() {
         return String.format("Transaction{id='%s', accountId='%s', type=%s, amount=%s, timestamp=%s, description='%s'}",
-                transactionId, accountId, type, amount, timestamp, description);
+                transactionId, accountId, type, amount, getTimestamp(), description);
+    }
+
+    /**
+     * Converts a local date-time in the system time zone to milliseconds since the epoch.
+     */
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Timestamp cannot be null");
+        }
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
 
@@ -0,0 +1,33 @@
+package com.banking.transaction.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of an account's transaction history, newest first. The continuation token
+ * is opaque to callers: pass it back unchanged to fetch older transactions.
+ */
+public class TransactionHistoryPage {
+    private final List<Transaction> transactions;
+    private final String continuationToken;
+
+    public TransactionHistoryPage(List<Transaction> transactions, String continuationToken) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.continuationToken = continuationToken;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Returns the token for the next, older page, or null if this is the last page.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasMore() {
+        return continuationToken != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The balance of every account opened through the journal, as of a journal offset.
+ * Replaying the journal from that offset onto the snapshot gives the current
+ * balances without reading the records before it.
+ */
+public class BalanceSnapshot {
+    private final long journalOffset;
+    private final Collection<Account> accounts;
+
+    public BalanceSnapshot(long journalOffset, Collection<Account> accounts) {
+        if (journalOffset < 0) {
+            throw new IllegalArgumentException("Journal offset cannot be negative");
+        }
+        this.journalOffset = journalOffset;
+        this.accounts = Collections.unmodifiableCollection(accounts);
+    }
+
+    /**
+     * Returns the journal offset just past the last record the snapshot includes.
+     */
+    public long getJournalOffset() {
+        return journalOffset;
+    }
+
+    public Collection<Account> getAccounts() {
+        return accounts;
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+}
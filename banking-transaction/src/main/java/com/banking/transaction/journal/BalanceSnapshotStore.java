@@ -0,0 +1,204 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps balance snapshots as compact binary files in a directory, named after the
+ * journal offset they cover, and retains the newest few.
+ *
+ * A file holds a header (magic, format version, journal offset, account count), one
+ * entry per account and a CRC32 of everything before it. Files are written to a
+ * temporary name, forced to disk and renamed into place, so a crash mid-write never
+ * leaves a partial snapshot under a real name. {@link #loadLatest()} falls back to
+ * an older snapshot if the newest cannot be read.
+ */
+public class BalanceSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotStore.class);
+
+    private static final int MAGIC = 0x42534E50;  // "BSNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final String PREFIX = "balances-";
+    private static final String SUFFIX = ".snapshot";
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+
+    private final Path directory;
+    private final int retained;
+
+    public BalanceSnapshotStore(Path directory) {
+        this(directory, 2);
+    }
+
+    /**
+     * @param retained how many of the newest snapshots to keep; older ones are deleted
+     *                 after each write
+     */
+    public BalanceSnapshotStore(Path directory, int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("At least one snapshot must be retained");
+        }
+        this.directory = directory;
+        this.retained = retained;
+    }
+
+    /**
+     * Writes a snapshot and deletes the ones beyond the retention count.
+     */
+    public Path write(BalanceSnapshot snapshot) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(fileName(snapshot.getJournalOffset()));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, IO_BUFFER_BYTES), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.getJournalOffset());
+            out.writeInt(snapshot.size());
+            for (Account account : snapshot.getAccounts()) {
+                writeAccount(out, account);
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        logger.info("Wrote balance snapshot {} with {} accounts", target, snapshot.size());
+
+        List<Path> snapshots = list();
+        for (Path old : snapshots.subList(Math.min(retained, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old);
+        }
+        return target;
+    }
+
+    /**
+     * Loads the newest readable snapshot, or returns null if there is none.
+     */
+    public BalanceSnapshot loadLatest() throws IOException {
+        for (Path file : list()) {
+            try {
+                return read(file);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Skipping unreadable balance snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the snapshot files, newest first.
+     */
+    List<Path> list() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static BalanceSnapshot read(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(stream, IO_BUFFER_BYTES), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a balance snapshot");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported balance snapshot version " + version);
+            }
+            long journalOffset = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupt balance snapshot header");
+            }
+            List<Account> accounts = new ArrayList<>(Math.min(count, 1 << 20));
+            for (int i = 0; i < count; i++) {
+                accounts.add(readAccount(in));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Balance snapshot checksum mismatch");
+            }
+            return new BalanceSnapshot(journalOffset, accounts);
+        }
+    }
+
+    private static void writeAccount(DataOutputStream out, Account account) throws IOException {
+        out.writeUTF(account.getAccountId());
+        out.writeUTF(account.getCustomerId());
+        out.writeByte(account.getAccountType().ordinal());
+        Money balance = account.getBalance();
+        out.writeUTF(balance.getCurrency());
+        BigDecimal amount = balance.getAmount();
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        if (unscaled.length > 255 || amount.scale() < Short.MIN_VALUE || amount.scale() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Balance of account " + account.getAccountId() + " is out of range for a snapshot");
+        }
+        out.writeShort(amount.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static Account readAccount(DataInputStream in) throws IOException {
+        String accountId = in.readUTF();
+        String customerId = in.readUTF();
+        AccountType accountType = ACCOUNT_TYPES[in.readUnsignedByte()];
+        String currency = in.readUTF();
+        int scale = in.readShort();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        Money balance = new Money(new BigDecimal(new BigInteger(unscaled), scale), currency);
+        return new Account(accountId, customerId, accountType, balance, true);
+    }
+
+    private static String fileName(long journalOffset) {
+        // Zero-padded so that name order is offset order
+        return String.format("%s%020d%s", PREFIX, journalOffset, SUFFIX);
+    }
+
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory; the rename is still atomic there
+            logger.debug("Could not sync snapshot directory {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.banking.transaction.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes balance snapshots from the journal, never from the live account store, so
+ * snapshotting takes no account locks and does not touch the request path. Each
+ * snapshot is the previous one plus the durable journal records written since;
+ * records still being committed are left for the next snapshot.
+ */
+public class BalanceSnapshotter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotter.class);
+
+    private final TransactionJournal journal;
+    private final BalanceSnapshotStore store;
+    private ScheduledExecutorService scheduler;
+
+    public BalanceSnapshotter(TransactionJournal journal, BalanceSnapshotStore store) {
+        if (journal == null) {
+            throw new IllegalArgumentException("TransactionJournal cannot be null");
+        }
+        if (store == null) {
+            throw new IllegalArgumentException("BalanceSnapshotStore cannot be null");
+        }
+        this.journal = journal;
+        this.store = store;
+    }
+
+    /**
+     * Takes a snapshot if the journal has grown since the latest one, and returns the
+     * latest snapshot either way (null if the journal and the store are both empty).
+     */
+    public synchronized BalanceSnapshot takeSnapshot() throws IOException {
+        BalanceSnapshot base = store.loadLatest();
+        long from = base != null ? base.getJournalOffset() : 0;
+        if (from == journal.getDurableOffset()) {
+            return base;
+        }
+        long started = System.nanoTime();
+        JournalRecovery recovery = new JournalRecovery(base, false);
+        long end = journal.replay(from, recovery);
+        BalanceSnapshot snapshot = recovery.toSnapshot(end);
+        store.write(snapshot);
+        logger.info("Balance snapshot at journal offset {} ({} accounts) took {} ms", end, snapshot.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return snapshot;
+    }
+
+    /**
+     * Takes a snapshot at a fixed interval on a background thread until closed.
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Snapshotter already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                takeSnapshot();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Balance snapshot failed; will retry at the next interval", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.Money;
+import com.banking.transaction.domain.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rebuilds account balances from a journal replay: each account's balance is its
+ * opening balance plus every credit and minus every debit recorded against it.
+ *
+ * Balance changes are summed rather than re-applied one by one, so the result does
+ * not depend on the order in which concurrent transactions reached the journal.
+ * Replay can start from a {@link BalanceSnapshot} instead of an empty state, in
+ * which case only the records after the snapshot's offset need to be visited.
+ * Transactions on accounts with no opening record (opened before the journal was
+ * enabled) cannot be rebuilt and are reported by {@link #getUnopenedAccountIds()}.
+ */
+public class JournalRecovery implements JournalVisitor {
+    private final Map<String, Account> accounts;
+    private final Map<String, Money> unopenedBalances = new LinkedHashMap<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final boolean retainTransactions;
+
+    public JournalRecovery() {
+        this(null, true);
+    }
+
+    /**
+     * @param base the snapshot to start from, or null to start from an empty journal
+     * @param retainTransactions whether to keep the replayed transactions for
+     *                           {@link #getTransactions()}; snapshotting only needs balances
+     */
+    public JournalRecovery(BalanceSnapshot base, boolean retainTransactions) {
+        this.accounts = new HashMap<>(base != null ? base.size() * 4 / 3 + 1 : 16);
+        if (base != null) {
+            for (Account account : base.getAccounts()) {
+                accounts.put(account.getAccountId(), account);
+            }
+        }
+        this.retainTransactions = retainTransactions;
+    }
+
+    @Override
+    public void accountOpened(Account account) {
+        Money balance = account.getBalance();
+        Money earlier = unopenedBalances.remove(account.getAccountId());
+        if (earlier != null) {
+            balance = balance.add(earlier);
+        }
+        accounts.put(account.getAccountId(), withBalance(account, balance));
+    }
+
+    @Override
+    public void transactionRecorded(Transaction transaction) {
+        if (retainTransactions) {
+            transactions.add(transaction);
+        }
+        Money amount = transaction.getAmount();
+        switch (transaction.getType()) {
+            case DEPOSIT:
+            case INTEREST_CREDIT:
+                apply(transaction.getAccountId(), amount);
+                break;
+            case WITHDRAWAL:
+                apply(transaction.getAccountId(), negate(amount));
+                break;
+            case TRANSFER:
+                apply(transaction.getAccountId(), negate(amount));
+                apply(transaction.getRelatedAccountId(), amount);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported transaction type in journal: " + transaction.getType());
+        }
+    }
+
+    /**
+     * Returns every account opened in the journal, carrying its rebuilt balance.
+     */
+    public List<Account> getAccounts() {
+        return new ArrayList<>(accounts.values());
+    }
+
+    /**
+     * Returns every replayed transaction, in journal order.
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public Set<String> getUnopenedAccountIds() {
+        return unopenedBalances.keySet();
+    }
+
+    /**
+     * Captures the rebuilt balances as of the given journal offset, which must be the
+     * offset the replay stopped at.
+     */
+    public BalanceSnapshot toSnapshot(long journalOffset) {
+        return new BalanceSnapshot(journalOffset, accounts.values());
+    }
+
+    private void apply(String accountId, Money change) {
+        Account account = accounts.get(accountId);
+        if (account != null) {
+            accounts.put(accountId, withBalance(account, account.getBalance().add(change)));
+        } else {
+            unopenedBalances.merge(accountId, change, Money::add);
+        }
+    }
+
+    private static Money negate(Money amount) {
+        return new Money(amount.getAmount().negate(), amount.getCurrency());
+    }
+
+    private static Account withBalance(Account account, Money balance) {
+        return new Account(account.getAccountId(), account.getCustomerId(), account.getAccountType(), balance, true);
+    }
+}
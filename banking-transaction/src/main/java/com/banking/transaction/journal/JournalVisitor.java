@@ -0,0 +1,17 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+import com.banking.transaction.domain.Transaction;
+
+/**
+ * Receives journal records during replay, in the order they were appended.
+ */
+public interface JournalVisitor {
+
+    /**
+     * An account was opened; its balance is the opening balance.
+     */
+    void accountOpened(Account account);
+
+    void transactionRecorded(Transaction transaction);
+}
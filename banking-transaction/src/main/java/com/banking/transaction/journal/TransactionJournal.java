@@ -0,0 +1,428 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only log of account openings and transactions, written through a
+ * single {@link FileChannel}. An append returns only once its record has been forced
+ * to disk.
+ *
+ * Appends use group commit: the first caller to find no flush in progress becomes the
+ * leader, writes every record queued so far and forces the file once; callers that
+ * queue records meanwhile wait and are released by that flush or the next one. Under
+ * concurrent load many deposits and withdrawals therefore share a single fsync.
+ *
+ * Each record is framed as {@code [length][crc32][payload]}. Opening a journal
+ * truncates a torn or corrupt tail left by a crash, so replay always sees a prefix of
+ * what was acknowledged. A failed write or fsync leaves the journal unusable: later
+ * appends fail rather than risk acknowledging records that are not on disk.
+ */
+public class TransactionJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionJournal.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final int SCAN_BUFFER_BYTES = 2 * MAX_RECORD_BYTES;
+    private static final byte ACCOUNT_OPENED = 1;
+    // Timestamp as an ISO local date-time string; still read, no longer written
+    private static final byte TRANSACTION_RECORDED = 2;
+    // Timestamp as milliseconds since the epoch
+    private static final byte TRANSACTION_RECORDED_MILLIS = 3;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final AtomicLong syncCount = new AtomicLong();
+    private volatile long durableOffset;
+
+    // Guarded by lock
+    private List<byte[]> pending = new ArrayList<>();
+    private long queuedSequence;
+    private long durableSequence;
+    private boolean flushing;
+    private Exception failure;
+    private boolean closed;
+
+    private TransactionJournal(Path file, FileChannel channel, long durableOffset) {
+        this.file = file;
+        this.channel = channel;
+        this.durableOffset = durableOffset;
+    }
+
+    /**
+     * Opens the journal at the given path, creating it if needed, and positions new
+     * appends after the last intact record.
+     */
+    public static TransactionJournal open(Path file) throws IOException {
+        return open(file, 0);
+    }
+
+    /**
+     * Opens the journal, checking only the records after {@code trustedOffset} for a
+     * torn tail. The offset must be a record boundary known to be intact, such as the
+     * journal offset of a snapshot, so a long journal is not read in full on startup.
+     */
+    public static TransactionJournal open(Path file, long trustedOffset) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long end;
+        try {
+            if (trustedOffset > channel.size()) {
+                throw new IOException("Journal " + file + " is shorter than the trusted offset " + trustedOffset);
+            }
+            end = scan(channel, trustedOffset, channel.size(), null);
+            if (end < channel.size()) {
+                logger.warn("Truncating journal {} from {} to {} bytes after an incomplete write",
+                        file, channel.size(), end);
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new TransactionJournal(file, channel, end);
+    }
+
+    /**
+     * Records a newly opened account with its opening balance.
+     */
+    public void appendOpening(Account account) {
+        append(Collections.singletonList(encodeOpening(account)));
+    }
+
+    /**
+     * Records several newly opened accounts, such as a bulk import; they become
+     * durable together.
+     */
+    public void appendOpenings(List<Account> accounts) {
+        List<byte[]> records = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            records.add(encodeOpening(account));
+        }
+        append(records);
+    }
+
+    public void append(Transaction transaction) {
+        append(Collections.singletonList(encodeTransaction(transaction)));
+    }
+
+    /**
+     * Records several transactions; they become durable together.
+     */
+    public void appendAll(List<Transaction> transactions) {
+        List<byte[]> records = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            records.add(encodeTransaction(transaction));
+        }
+        append(records);
+    }
+
+    /**
+     * Reads every record from the start of the journal, in append order.
+     */
+    public void replay(JournalVisitor visitor) throws IOException {
+        replay(0, visitor);
+    }
+
+    /**
+     * Reads the durable records from {@code fromOffset} onwards, in append order, and
+     * returns the offset just past the last one read. Records still being written are
+     * not visited, so the returned offset is always safe to resume from.
+     *
+     * @param fromOffset a record boundary, such as an offset returned by an earlier replay
+     */
+    public long replay(long fromOffset, JournalVisitor visitor) throws IOException {
+        long limit = durableOffset;
+        if (fromOffset > limit) {
+            throw new IllegalArgumentException("Offset " + fromOffset + " is past the end of the journal (" + limit + ")");
+        }
+        return scan(channel, fromOffset, limit, visitor);
+    }
+
+    /**
+     * Returns the offset just past the last record forced to disk.
+     */
+    public long getDurableOffset() {
+        return durableOffset;
+    }
+
+    /**
+     * Returns how many times the journal has been forced to disk.
+     */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        channel.close();
+    }
+
+    private void append(List<byte[]> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            checkWritable();
+            pending.addAll(records);
+            long sequence = queuedSequence += records.size();
+            while (durableSequence < sequence) {
+                checkWritable();
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                } else {
+                    flush();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes and forces everything queued so far. Called with the lock held; releases
+     * it during I/O so other callers can queue the next group.
+     */
+    private void flush() {
+        List<byte[]> batch = pending;
+        long batchSequence = queuedSequence;
+        pending = new ArrayList<>();
+        flushing = true;
+        lock.unlock();
+        Exception error = null;
+        try {
+            long written = write(batch);
+            channel.force(false);
+            syncCount.incrementAndGet();
+            durableOffset += written;
+        } catch (IOException | RuntimeException e) {
+            error = e;
+        } finally {
+            lock.lock();
+            flushing = false;
+            if (error != null) {
+                logger.error("Journal write to {} failed; rejecting further appends", file, error);
+                failure = error;
+            } else {
+                durableSequence = batchSequence;
+            }
+            flushed.signalAll();
+        }
+    }
+
+    private long write(List<byte[]> batch) throws IOException {
+        int size = 0;
+        for (byte[] record : batch) {
+            size += record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] record : batch) {
+            buffer.put(record);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return size;
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new IllegalStateException("Journal is unavailable after a failed write", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    /**
+     * Walks the records between two offsets, passing each to the visitor if one is
+     * given, and returns the offset just past the last intact record. Reads the file
+     * sequentially in large chunks, so a replay costs one read call per chunk rather
+     * than per record.
+     */
+    private static long scan(FileChannel channel, long from, long limit, JournalVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        buffer.flip();
+        long position = from;
+        long readPosition = from;
+        while (true) {
+            if (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    break;
+                }
+                if (buffer.remaining() >= HEADER_BYTES + length) {
+                    int checksum = buffer.getInt(buffer.position() + 4);
+                    byte[] payload = new byte[length];
+                    buffer.position(buffer.position() + HEADER_BYTES);
+                    buffer.get(payload);
+                    if (crc(payload) != checksum) {
+                        break;
+                    }
+                    if (visitor != null) {
+                        decode(payload, visitor);
+                    }
+                    position += HEADER_BYTES + length;
+                    continue;
+                }
+            }
+            if (readPosition >= limit) {
+                break;
+            }
+            buffer.compact();
+            buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + (limit - readPosition)));
+            int read = channel.read(buffer, readPosition);
+            buffer.flip();
+            if (read <= 0) {
+                break;
+            }
+            readPosition += read;
+        }
+        return position;
+    }
+
+    private static byte[] encodeOpening(Account account) {
+        return frame(out -> {
+            out.writeByte(ACCOUNT_OPENED);
+            out.writeUTF(account.getAccountId());
+            out.writeUTF(account.getCustomerId());
+            out.writeUTF(account.getAccountType().name());
+            writeMoney(out, account.getBalance());
+        });
+    }
+
+    private static byte[] encodeTransaction(Transaction transaction) {
+        return frame(out -> {
+            out.writeByte(TRANSACTION_RECORDED_MILLIS);
+            out.writeUTF(transaction.getTransactionId());
+            out.writeUTF(transaction.getAccountId());
+            out.writeUTF(transaction.getType().name());
+            writeMoney(out, transaction.getAmount());
+            out.writeLong(transaction.getTimestampMillis());
+            out.writeUTF(transaction.getDescription());
+            out.writeBoolean(transaction.getRelatedAccountId() != null);
+            if (transaction.getRelatedAccountId() != null) {
+                out.writeUTF(transaction.getRelatedAccountId());
+            }
+        });
+    }
+
+    private static void decode(byte[] payload, JournalVisitor visitor) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte kind = in.readByte();
+        switch (kind) {
+            case ACCOUNT_OPENED: {
+                String accountId = in.readUTF();
+                String customerId = in.readUTF();
+                AccountType accountType = AccountType.valueOf(in.readUTF());
+                Money balance = readMoney(in);
+                visitor.accountOpened(new Account(accountId, customerId, accountType, balance, true));
+                break;
+            }
+            case TRANSACTION_RECORDED:
+            case TRANSACTION_RECORDED_MILLIS: {
+                String transactionId = in.readUTF();
+                String accountId = in.readUTF();
+                TransactionType type = TransactionType.valueOf(in.readUTF());
+                Money amount = readMoney(in);
+                long timestamp = kind == TRANSACTION_RECORDED
+                        ? Transaction.toEpochMillis(LocalDateTime.parse(in.readUTF()))
+                        : in.readLong();
+                String description = in.readUTF();
+                String relatedAccountId = in.readBoolean() ? in.readUTF() : null;
+                visitor.transactionRecorded(new Transaction(transactionId, accountId, type, amount, timestamp,
+                        description, relatedAccountId));
+                break;
+            }
+            default:
+                throw new IOException("Unknown journal record type: " + kind);
+        }
+    }
+
+    private static void writeMoney(DataOutputStream out, Money money) throws IOException {
+        out.writeUTF(money.getAmount().toPlainString());
+        out.writeUTF(money.getCurrency());
+    }
+
+    private static Money readMoney(DataInputStream in) throws IOException {
+        BigDecimal amount = new BigDecimal(in.readUTF());
+        return new Money(amount, in.readUTF());
+    }
+
+    private static byte[] frame(RecordWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            writer.write(out);
+            out.flush();
+            byte[] record = bytes.toByteArray();
+            int length = record.length - HEADER_BYTES;
+            if (length > MAX_RECORD_BYTES) {
+                throw new IllegalArgumentException("Journal record too large: " + length + " bytes");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(record, HEADER_BYTES, length);
+            ByteBuffer.wrap(record).putInt(length).putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
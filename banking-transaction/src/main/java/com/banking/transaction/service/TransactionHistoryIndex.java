@@ -0,0 +1,295 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.domain.TransactionHistoryPage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-account, time-ordered index of transactions. A transfer is indexed under both
+ * its source and its related account, so each account sees every leg it took part in.
+ *
+ * Each account's history is a skip list keyed by (timestamp in milliseconds,
+ * transaction ID), so a page of the newest k transactions in a time range costs
+ * O(log n + k) however long the history is. Transactions in the same millisecond are
+ * ordered by ID, and a continuation token names both, so paging through them never
+ * skips or repeats one. Range bounds finer than a millisecond are rounded up, which
+ * compares them exactly against the whole-millisecond timestamps.
+ *
+ * A history holds only the newest part of the account's history that has been paged
+ * through: the first query loads one chunk from the backing store through a
+ * {@link Loader}, and paging past the loaded part loads the next. A page that starts
+ * beyond the loaded part, such as one named by a token issued before the history was
+ * evicted, is read from the store directly rather than loading everything before it.
+ * Once loaded, a history is kept current by {@link #add}.
+ *
+ * At most {@code maximumHistories} histories are kept loaded. Beyond that the least
+ * valuable ones are evicted (Caffeine's W-TinyLFU) and loaded again on their next
+ * query, so memory is bounded by how many accounts are queried at once, not by how
+ * many were ever queried. Callers should only ask for accounts that exist.
+ */
+public class TransactionHistoryIndex {
+    // Newest first: skip lists walk forwards in O(1) per step but backwards in O(log n)
+    private static final Comparator<HistoryKey> NEWEST_FIRST = Comparator
+            .comparingLong((HistoryKey key) -> key.timestamp)
+            .thenComparing(key -> key.transactionId)
+            .reversed();
+
+    public static final long DEFAULT_MAXIMUM_HISTORIES = 10_000;
+    static final int LOAD_CHUNK = 64;
+
+    private final Cache<String, History> histories;
+    private final Policy<String, History> historyPolicy;
+    private final Loader loader;
+
+    /**
+     * Reads an account's stored transactions a page at a time, for example with a
+     * keyset query ordered by timestamp and then transaction ID, both descending.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * Returns up to {@code limit} stored transactions involving the account, newest
+         * first by (timestamp, transaction ID), that come strictly after the given
+         * position in that order: older, or as old with a smaller ID. IDs compare as
+         * {@link String#compareTo} does.
+         *
+         * @param beforeTransactionId the ID at the position, or null to start from the
+         *                            newest transaction
+         */
+        List<Transaction> load(String accountId, long beforeTimestamp, String beforeTransactionId, int limit);
+    }
+
+    public TransactionHistoryIndex(Loader loader) {
+        this(loader, DEFAULT_MAXIMUM_HISTORIES);
+    }
+
+    /**
+     * @param maximumHistories the most account histories to keep loaded
+     */
+    public TransactionHistoryIndex(Loader loader, long maximumHistories) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        if (maximumHistories <= 0) {
+            throw new IllegalArgumentException("Maximum histories must be positive");
+        }
+        this.histories = Caffeine.newBuilder().maximumSize(maximumHistories).build();
+        this.historyPolicy = histories.policy();
+        this.loader = loader;
+    }
+
+    /**
+     * Records a stored transaction under each account it involves. Accounts whose
+     * history has not been loaded yet are skipped; the loader will return it.
+     */
+    public void add(Transaction transaction) {
+        append(transaction.getAccountId(), transaction);
+        if (transaction.getRelatedAccountId() != null
+                && !transaction.getRelatedAccountId().equals(transaction.getAccountId())) {
+            append(transaction.getRelatedAccountId(), transaction);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} transactions for an account, newest first.
+     *
+     * @param from inclusive lower bound on the timestamp, or null for no bound
+     * @param to exclusive upper bound on the timestamp, or null for no bound
+     * @param continuationToken the token from the previous page, or null for the first page
+     */
+    public TransactionHistoryPage page(String accountId, LocalDateTime from, LocalDateTime to, int limit,
+                                       String continuationToken) {
+        HistoryKey start = null;
+        if (continuationToken != null) {
+            start = decodeToken(continuationToken);
+        } else if (to != null) {
+            start = HistoryKey.boundary(ceilingMillis(to));
+        }
+        HistoryKey end = from == null ? null : HistoryKey.boundary(ceilingMillis(from));
+
+        // One more than the page, to tell whether another page follows
+        List<Map.Entry<HistoryKey, Transaction>> entries = histories.get(accountId, History::new)
+                .read(start, end, limit + 1);
+        boolean more = entries.size() > limit;
+        int size = Math.min(entries.size(), limit);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(entries.get(i).getValue());
+        }
+        return new TransactionHistoryPage(transactions, more ? encodeToken(entries.get(size - 1).getKey()) : null);
+    }
+
+    private void append(String accountId, Transaction transaction) {
+        // Neither a compute nor a recorded read: bookkeeping per leg would cost more than
+        // the insert, and only queries should keep a history loaded
+        History history = historyPolicy.getIfPresentQuietly(accountId);
+        if (history != null) {
+            history.append(transaction);
+        }
+    }
+
+    /**
+     * Returns how many account histories are loaded.
+     */
+    long loadedHistories() {
+        histories.cleanUp();
+        return histories.estimatedSize();
+    }
+
+    private static long ceilingMillis(LocalDateTime timestamp) {
+        long millis = Transaction.toEpochMillis(timestamp);
+        return timestamp.getNano() % 1_000_000 == 0 ? millis : millis + 1;
+    }
+
+    private static String encodeToken(HistoryKey key) {
+        String raw = key.timestamp + "|" + key.transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HistoryKey decodeToken(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+            return new HistoryKey(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+
+    /**
+     * The newest part of one account's history. Every stored transaction from the
+     * newest down to {@code loadedTo} is held: those stored before a chunk is loaded
+     * come from the loader, and those stored after it from {@link #append}. Appending
+     * one that the loader also returned just replaces it.
+     */
+    private final class History {
+        private final String accountId;
+        private final NavigableMap<HistoryKey, Transaction> entries = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+        // Oldest key loaded so far, or null before the first load
+        private volatile HistoryKey loadedTo;
+        private volatile boolean complete;
+
+        History(String accountId) {
+            this.accountId = accountId;
+        }
+
+        /**
+         * Returns up to {@code count} entries after {@code start}, or from the newest if
+         * it is null, that come before {@code end}, or all if it is null.
+         */
+        List<Map.Entry<HistoryKey, Transaction>> read(HistoryKey start, HistoryKey end, int count) {
+            if (start != null && !complete && (loadedTo == null || NEWEST_FIRST.compare(start, loadedTo) > 0)) {
+                return readStore(start, end, count);
+            }
+            List<Map.Entry<HistoryKey, Transaction>> result = new ArrayList<>(Math.min(count, LOAD_CHUNK));
+            HistoryKey position = start;
+            while (true) {
+                HistoryKey loaded = loadedTo;
+                boolean whole = complete;
+                NavigableMap<HistoryKey, Transaction> range = position == null
+                        ? entries : entries.tailMap(position, false);
+                if (end != null) {
+                    range = range.headMap(end, false);
+                }
+                for (Map.Entry<HistoryKey, Transaction> entry : range.entrySet()) {
+                    if (!whole && (loaded == null || NEWEST_FIRST.compare(entry.getKey(), loaded) > 0)) {
+                        break;  // Past what is loaded; may be a gap before it
+                    }
+                    result.add(entry);
+                    position = entry.getKey();
+                    if (result.size() == count) {
+                        return result;
+                    }
+                }
+                if (whole || (loaded != null && end != null && NEWEST_FIRST.compare(loaded, end) > 0)) {
+                    return result;
+                }
+                loadAfter(loaded, count - result.size());
+            }
+        }
+
+        void append(Transaction transaction) {
+            entries.put(HistoryKey.of(transaction), transaction);
+        }
+
+        private synchronized void loadAfter(HistoryKey expected, int count) {
+            if (complete || loadedTo != expected) {
+                return;  // Loaded by another reader meanwhile
+            }
+            int chunk = Math.max(count, LOAD_CHUNK);
+            List<Transaction> loaded = expected == null
+                    ? loader.load(accountId, Long.MAX_VALUE, null, chunk)
+                    : loader.load(accountId, expected.timestamp, expected.transactionId, chunk);
+            for (Transaction transaction : loaded) {
+                entries.put(HistoryKey.of(transaction), transaction);
+            }
+            if (!loaded.isEmpty()) {
+                loadedTo = HistoryKey.of(loaded.get(loaded.size() - 1));
+            }
+            complete = loaded.size() < chunk;
+        }
+
+        private List<Map.Entry<HistoryKey, Transaction>> readStore(HistoryKey start, HistoryKey end, int count) {
+            List<Map.Entry<HistoryKey, Transaction>> result = new ArrayList<>(Math.min(count, LOAD_CHUNK));
+            for (Transaction transaction : loader.load(accountId, start.timestamp, start.transactionId, count)) {
+                HistoryKey key = HistoryKey.of(transaction);
+                if (end != null && NEWEST_FIRST.compare(key, end) > 0) {
+                    break;
+                }
+                result.add(new AbstractMap.SimpleImmutableEntry<>(key, transaction));
+            }
+            return result;
+        }
+    }
+
+    private static final class HistoryKey {
+        private final long timestamp;
+        private final String transactionId;
+
+        private HistoryKey(long timestamp, String transactionId) {
+            this.timestamp = timestamp;
+            this.transactionId = transactionId;
+        }
+
+        static HistoryKey of(Transaction transaction) {
+            return new HistoryKey(transaction.getTimestampMillis(), transaction.getTransactionId());
+        }
+
+        /**
+         * Sorts after every transaction at the given instant in newest-first order.
+         */
+        static HistoryKey boundary(long timestamp) {
+            return new HistoryKey(timestamp, "");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            HistoryKey that = (HistoryKey) o;
+            return timestamp == that.timestamp && transactionId.equals(that.transactionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timestamp, transactionId);
+        }
+    }
+}
@@ -4,15 +4,27 @@ FIXED CODE FOR: banking-transaction/src/main/java/com/banking/transaction/servic
 package com.banking.transaction.service;
 
 import com.banking.account.domain.Account;
+import com.banking.account.domain.BalanceMovement;
 import com.banking.account.service.AccountService;
+import com.banking.core.domain.AccountType;
 import com.banking.core.domain.Money;
 import com.banking.core.domain.TransactionType;
 import com.banking.core.exception.InsufficientFundsException;
+import com.banking.core.metrics.Metrics;
+import com.banking.core.metrics.Operation;
+import com.banking.transaction.domain.BatchEntry;
+import com.banking.transaction.domain.BatchItemResult;
 import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.domain.TransactionHistoryPage;
+import com.banking.transaction.journal.BalanceSnapshot;
+import com.banking.transaction.journal.JournalRecovery;
+import com.banking.transaction.journal.TransactionJournal;
 import com.banking.transaction.repository.TransactionRepository;
 import com.banking.transaction.exception.InvalidInputException;
 import com.banking.transaction.util.InputValidator;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,12 +32,25 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class TransactionService {
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int MAX_HISTORY_PAGE_SIZE = 500;
 
     private final AccountService accountService;
     private final TransactionRepository transactionRepository;
     private final InputValidator inputValidator;
+    private final TransactionHistoryIndex historyIndex;
+    private final TransactionJournal journal;
 
     public TransactionService(AccountService accountService, TransactionRepository transactionRepository, InputValidator inputValidator) {
+        this(accountService, transactionRepository, inputValidator, null);
+    }
+
+    /**
+     * @param journal durable log that every account opening and transaction is written
+     *                to before it is acknowledged, or null to run without one
+     */
+    public TransactionService(AccountService accountService, TransactionRepository transactionRepository,
+                              InputValidator inputValidator, TransactionJournal journal) {
         if (accountService == null) {
             throw new IllegalArgumentException("AccountService cannot be null");
         }
@@ -38,30 +63,66 @@ public class TransactionService {
         this.accountService = accountService;
         this.transactionRepository = transactionRepository;
         this.inputValidator = inputValidator;
+        this.journal = journal;
+        this.historyIndex = new TransactionHistoryIndex(transactionRepository::findHistoryBefore);
+    }
+
+    /**
+     * Opens an account and, when a journal is configured, records its opening balance
+     * so that {@link #recoverFromJournal} can rebuild it. The opening is journaled
+     * before the account is stored: if the append fails, no account is stored, and an
+     * account whose store write fails after the append is recreated by recovery.
+     */
+    @Transactional
+    public Account openAccount(String customerId, AccountType accountType, Money initialBalance) {
+        if (journal == null) {
+            return accountService.createAccount(customerId, accountType, initialBalance);
+        }
+        return accountService.createAccount(customerId, accountType, initialBalance, journal::appendOpening);
     }
 
     @Transactional
     public Transaction deposit(String accountId, Money amount, String description) throws InvalidInputException {
-        validateInputs(accountId, amount, description);
-        accountService.deposit(accountId, amount);
-        Transaction transaction = new Transaction(accountId, TransactionType.DEPOSIT, amount, description);
-        return transactionRepository.save(transaction);
+        long started = Metrics.begin(Operation.TRANSACTION_DEPOSIT);
+        try {
+            validateInputs(accountId, amount, description);
+            Transaction transaction = new Transaction(accountId, TransactionType.DEPOSIT, amount, description);
+            Transaction[] saved = new Transaction[1];
+            accountService.deposit(accountId, amount, () -> saved[0] = commit(transaction));
+            return index(saved[0]);
+        } finally {
+            Metrics.end(Operation.TRANSACTION_DEPOSIT, started);
+        }
     }
 
     @Transactional
     public Transaction withdraw(String accountId, Money amount, String description) throws InvalidInputException {
-        validateInputs(accountId, amount, description);
-        accountService.withdraw(accountId, amount);
-        Transaction transaction = new Transaction(accountId, TransactionType.WITHDRAWAL, amount, description);
-        return transactionRepository.save(transaction);
+        long started = Metrics.begin(Operation.TRANSACTION_WITHDRAW);
+        try {
+            validateInputs(accountId, amount, description);
+            Transaction transaction = new Transaction(accountId, TransactionType.WITHDRAWAL, amount, description);
+            Transaction[] saved = new Transaction[1];
+            accountService.withdraw(accountId, amount, () -> saved[0] = commit(transaction));
+            return index(saved[0]);
+        } finally {
+            Metrics.end(Operation.TRANSACTION_WITHDRAW, started);
+        }
     }
 
     @Transactional
     public Transaction transfer(String fromAccountId, String toAccountId, Money amount, String description) throws InvalidInputException {
+        long started = Metrics.begin(Operation.TRANSACTION_TRANSFER);
+        try {
+            return doTransfer(fromAccountId, toAccountId, amount, description);
+        } finally {
+            Metrics.end(Operation.TRANSACTION_TRANSFER, started);
+        }
+    }
+
+    private Transaction doTransfer(String fromAccountId, String toAccountId, Money amount, String description)
+            throws InvalidInputException {
         validateInputs(fromAccountId, amount, description);
         validateInputs(toAccountId, amount, description);
-        accountService.withdraw(fromAccountId, amount);
-        accountService.deposit(toAccountId, amount);
 
         Transaction transaction = new Transaction(
             fromAccountId, 
@@ -70,7 +131,108 @@ public class TransactionService {
             description,
             toAccountId
         );
-        return transactionRepository.save(transaction);
+        Transaction[] saved = new Transaction[1];
+        accountService.transfer(fromAccountId, toAccountId, amount, () -> saved[0] = commit(transaction));
+        return index(saved[0]);
+    }
+
+    /**
+     * Applies a batch of deposits, withdrawals and transfers in one pass. Entries are
+     * netted per account so each account is locked, read and written once, and all
+     * resulting transactions are stored with a single repository write.
+     *
+     * Each entry is validated and applied on its own: an invalid entry, an unknown or
+     * inactive account, or a debit that the preceding entries leave unfunded rejects
+     * that entry only. Results are returned in submission order. The applied entries
+     * are stored and journaled before the accounts are released, and the balances are
+     * restored if that fails.
+     */
+    @Transactional
+    public List<BatchItemResult> applyBatch(List<BatchEntry> entries) {
+        long started = Metrics.begin(Operation.TRANSACTION_BATCH);
+        try {
+            return doApplyBatch(entries);
+        } finally {
+            Metrics.end(Operation.TRANSACTION_BATCH, started);
+        }
+    }
+
+    private List<BatchItemResult> doApplyBatch(List<BatchEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("Batch cannot be empty");
+        }
+        if (entries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot exceed " + MAX_BATCH_SIZE + " entries");
+        }
+        logger.info("Applying batch of {} entries", entries.size());
+
+        BatchItemResult[] results = new BatchItemResult[entries.size()];
+        List<BalanceMovement> movements = new ArrayList<>(entries.size());
+        List<Integer> movementIndexes = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                movements.add(toMovement(entries.get(i)));
+                movementIndexes.add(i);
+            } catch (InvalidInputException | IllegalArgumentException e) {
+                results[i] = BatchItemResult.rejected(i, e.getMessage());
+            }
+        }
+
+        List<Transaction> transactions = new ArrayList<>(movements.size());
+        if (!movements.isEmpty()) {
+            accountService.applyMovements(movements, rejected -> {
+                for (int m = 0; m < movements.size(); m++) {
+                    int index = movementIndexes.get(m);
+                    RuntimeException failure = rejected.get(m);
+                    if (failure != null) {
+                        results[index] = BatchItemResult.rejected(index, failure.getMessage());
+                        continue;
+                    }
+                    BatchEntry entry = entries.get(index);
+                    Transaction transaction = new Transaction(
+                        entry.getAccountId(),
+                        entry.getType(),
+                        entry.getAmount(),
+                        entry.getDescription(),
+                        entry.getRelatedAccountId()
+                    );
+                    transactions.add(transaction);
+                    results[index] = BatchItemResult.applied(index, transaction);
+                }
+                if (!transactions.isEmpty()) {
+                    transactionRepository.saveAll(transactions);
+                    if (journal != null) {
+                        try {
+                            journal.appendAll(transactions);
+                        } catch (RuntimeException e) {
+                            discard(transactions, e);
+                            throw e;
+                        }
+                    }
+                }
+            });
+            transactions.forEach(historyIndex::add);
+        }
+        logger.info("Batch applied: {} succeeded, {} rejected", transactions.size(), entries.size() - transactions.size());
+        return Arrays.asList(results);
+    }
+
+    private BalanceMovement toMovement(BatchEntry entry) throws InvalidInputException {
+        if (entry == null || entry.getType() == null) {
+            throw new IllegalArgumentException("Transaction type is required");
+        }
+        validateInputs(entry.getAccountId(), entry.getAmount(), entry.getDescription());
+        switch (entry.getType()) {
+            case DEPOSIT:
+                return BalanceMovement.credit(entry.getAccountId(), entry.getAmount());
+            case WITHDRAWAL:
+                return BalanceMovement.debit(entry.getAccountId(), entry.getAmount());
+            case TRANSFER:
+                inputValidator.validateAccountId(entry.getRelatedAccountId());
+                return BalanceMovement.transfer(entry.getAccountId(), entry.getRelatedAccountId(), entry.getAmount());
+            default:
+                throw new IllegalArgumentException("Unsupported transaction type in batch: " + entry.getType());
+        }
     }
 
     public List<Transaction> getTransactionsByAccount(String accountId) throws InvalidInputException {
@@ -78,6 +240,31 @@ public class TransactionService {
         return transactionRepository.findByAccountIdOrRelatedAccountId(accountId, accountId);
     }
 
+    /**
+     * Returns a page of an account's transactions, newest first, including transfers in
+     * which it is the related account. Served from the per-account history index, so
+     * the cost depends on the page size rather than the length of the history.
+     *
+     * @param from inclusive lower bound on the timestamp, or null
+     * @param to exclusive upper bound on the timestamp, or null
+     * @param limit the page size, between 1 and {@link #MAX_HISTORY_PAGE_SIZE}
+     * @param continuationToken the token from the previous page, or null for the first page
+     * @throws com.banking.core.exception.InvalidAccountException if the account does not exist
+     */
+    public TransactionHistoryPage getTransactionHistory(String accountId, LocalDateTime from, LocalDateTime to,
+                                                        int limit, String continuationToken) throws InvalidInputException {
+        inputValidator.validateAccountId(accountId);
+        if (limit <= 0 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        // Throws for an unknown account, so made-up IDs never get a history loaded
+        accountService.getAccount(accountId);
+        return historyIndex.page(accountId, from, to, limit, continuationToken);
+    }
+
     public Transaction getTransaction(String transactionId) throws InvalidInputException {
         inputValidator.validateTransactionId(transactionId);
         return transactionRepository.findById(transactionId)
@@ -94,6 +281,89 @@ public class TransactionService {
         return account.getBalance();
     }
 
+    /**
+     * Replays the journal to rebuild the balance of every account opened through it,
+     * writes those balances back to the account store and re-stores the journaled
+     * transactions. Meant to run once on startup, before any traffic is served.
+     *
+     * Balance changes are journaled before they are acknowledged, and restored if the
+     * journal append fails, so the only changes this drops are those still in flight
+     * at a crash, which no caller was told had succeeded.
+     *
+     * @return the number of accounts restored
+     */
+    public int recoverFromJournal() throws IOException {
+        return recoverFromJournal(null);
+    }
+
+    /**
+     * Like {@link #recoverFromJournal()}, but starts from a balance snapshot and only
+     * replays the journal records written after it. Transactions older than the
+     * snapshot are not re-stored; their history is whatever the repository kept.
+     *
+     * @param snapshot the latest snapshot, or null to replay the whole journal
+     * @return the number of accounts restored
+     */
+    public int recoverFromJournal(BalanceSnapshot snapshot) throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("No transaction journal is configured");
+        }
+        long from = snapshot != null ? snapshot.getJournalOffset() : 0;
+        logger.info("Recovering from journal {} at offset {}", journal.getFile(), from);
+        JournalRecovery recovery = new JournalRecovery(snapshot, true);
+        journal.replay(from, recovery);
+
+        if (!recovery.getTransactions().isEmpty()) {
+            transactionRepository.saveAll(recovery.getTransactions());
+            recovery.getTransactions().forEach(historyIndex::add);
+        }
+        List<Account> accounts = recovery.getAccounts();
+        accounts.forEach(accountService::restoreAccount);
+        if (!recovery.getUnopenedAccountIds().isEmpty()) {
+            logger.warn("Journal has transactions for {} accounts opened before it was enabled; their balances were left as stored",
+                recovery.getUnopenedAccountIds().size());
+        }
+        logger.info("Recovered {} accounts and replayed {} transactions from journal", accounts.size(),
+            recovery.getTransactions().size());
+        return accounts.size();
+    }
+
+    /**
+     * Stores a transaction and appends it to the journal. Runs while its accounts are
+     * locked and their new balances written, which are restored if this throws; the
+     * journal append comes last, so an acknowledged transaction is always journaled.
+     * A transaction whose append fails is deleted again, so history never shows it.
+     */
+    private Transaction commit(Transaction transaction) {
+        Transaction saved = transactionRepository.save(transaction);
+        if (journal != null) {
+            try {
+                journal.append(saved);
+            } catch (RuntimeException e) {
+                discard(Collections.singletonList(saved), e);
+                throw e;
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes transactions stored for a change that is being rolled back. A failure here
+     * is attached to the one being rolled back.
+     */
+    private void discard(List<Transaction> transactions, RuntimeException failure) {
+        try {
+            transactionRepository.deleteAll(transactions);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private Transaction index(Transaction saved) {
+        historyIndex.add(saved);
+        return saved;
+    }
+
     private void validateInputs(String accountId, Money amount, String description) throws InvalidInputException {
         inputValidator.validateAccountId(accountId);
         inputValidator.validateAmount(amount);
@@ -0,0 +1,104 @@
+package com.banking.transaction.domain;
+
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionIdGeneratorTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void testIdsAreVersion7UuidsCarryingTheTimestamp() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(42, () -> NOW);
+        long sequence = generator.nextSequence();
+        UUID id = UUID.fromString(generator.toId(sequence));
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, id.getMostSignificantBits() >>> 16);
+        assertEquals(NOW, TransactionIdGenerator.timestampOf(sequence));
+        assertEquals(42, id.getLeastSignificantBits() & ((1L << 52) - 1));
+    }
+
+    @Test
+    void testIdsSortByCreationOrderWithinAndAcrossMilliseconds() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TransactionIdGenerator generator = new TransactionIdGenerator(7, clock::get);
+
+        String previous = generator.toId(generator.nextSequence());
+        for (int i = 0; i < 5_000; i++) {
+            if (i % 1_000 == 0) {
+                clock.incrementAndGet();
+            }
+            String next = generator.toId(generator.nextSequence());
+            assertTrue(previous.compareTo(next) < 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testSequenceNeverGoesBackWhenTheClockDoes() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TransactionIdGenerator generator = new TransactionIdGenerator(7, clock::get);
+
+        long before = generator.nextSequence();
+        clock.set(NOW - 1_000);
+        long after = generator.nextSequence();
+
+        assertTrue(after > before);
+        assertEquals(NOW, TransactionIdGenerator.timestampOf(after));
+    }
+
+    @Test
+    void testSequencesAreUniqueAcrossThreads() throws Exception {
+        TransactionIdGenerator generator = new TransactionIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    long previous = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        long sequence = generator.nextSequence();
+                        assertTrue(sequence > previous);
+                        previous = sequence;
+                        assertTrue(ids.add(generator.toId(sequence)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(40_000, ids.size());
+    }
+
+    @Test
+    void testTransactionTakesIdAndTimestampFromConfiguredGenerator() {
+        try {
+            Transaction.setIdGenerator(new TransactionIdGenerator(1, () -> NOW));
+            Transaction transaction = new Transaction("ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"), "Deposit");
+            assertEquals(NOW, transaction.getTimestampMillis());
+            assertEquals(NOW, UUID.fromString(transaction.getTransactionId()).getMostSignificantBits() >>> 16);
+            assertEquals(NOW, Transaction.toEpochMillis(transaction.getTimestamp()));
+        } finally {
+            Transaction.setIdGenerator(new TransactionIdGenerator());
+        }
+        assertThrows(IllegalArgumentException.class, () -> Transaction.setIdGenerator(null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSnapshotRoundTripKeepsExactBalances() throws IOException {
+        Account account = new Account("ACC1", "CUST001", AccountType.SAVINGS,
+            new Money(new BigDecimal("12345678901234567890.125"), "EUR"), true);
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory);
+        store.write(new BalanceSnapshot(42, List.of(account)));
+
+        BalanceSnapshot loaded = store.loadLatest();
+        assertEquals(42, loaded.getJournalOffset());
+        Account restored = loaded.getAccounts().iterator().next();
+        assertEquals("ACC1", restored.getAccountId());
+        assertEquals("CUST001", restored.getCustomerId());
+        assertEquals(AccountType.SAVINGS, restored.getAccountType());
+        assertEquals(account.getBalance(), restored.getBalance());
+    }
+
+    @Test
+    void testSnapshotPlusTailMatchesFullReplay() throws IOException {
+        Path file = directory.resolve("transactions.journal");
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory.resolve("snapshots"));
+        Account first = new Account("CUST001", AccountType.CHECKING, new Money(100.0, "USD"));
+        Account second = new Account("CUST002", AccountType.SAVINGS, new Money(50.0, "USD"));
+
+        BalanceSnapshot snapshot;
+        try (TransactionJournal journal = TransactionJournal.open(file);
+             BalanceSnapshotter snapshotter = new BalanceSnapshotter(journal, store)) {
+            journal.appendOpening(first);
+            journal.appendOpening(second);
+            journal.append(new Transaction(first.getAccountId(), TransactionType.DEPOSIT, new Money(20.0, "USD"), "Deposit"));
+            snapshot = snapshotter.takeSnapshot();
+            assertEquals(journal.getDurableOffset(), snapshot.getJournalOffset());
+            assertEquals(snapshot.getJournalOffset(), snapshotter.takeSnapshot().getJournalOffset(),
+                "No new records, so no new snapshot");
+
+            journal.append(new Transaction(first.getAccountId(), TransactionType.TRANSFER, new Money(70.0, "USD"), "Transfer", second.getAccountId()));
+            journal.append(new Transaction(second.getAccountId(), TransactionType.WITHDRAWAL, new Money(5.0, "USD"), "Withdrawal"));
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(file, snapshot.getJournalOffset())) {
+            JournalRecovery fromSnapshot = new JournalRecovery(store.loadLatest(), true);
+            journal.replay(snapshot.getJournalOffset(), fromSnapshot);
+            JournalRecovery full = new JournalRecovery();
+            journal.replay(full);
+
+            assertEquals(2, fromSnapshot.getTransactions().size());
+            assertEquals(balances(full), balances(fromSnapshot));
+            assertEquals(0, new BigDecimal("50").compareTo(balances(fromSnapshot).get(first.getAccountId())));
+            assertEquals(0, new BigDecimal("115").compareTo(balances(fromSnapshot).get(second.getAccountId())));
+        }
+    }
+
+    @Test
+    void testFallsBackToOlderSnapshotWhenNewestIsCorrupt() throws IOException {
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory);
+        Account account = new Account("ACC1", "CUST001", AccountType.CHECKING, new Money(10.0, "USD"), true);
+        store.write(new BalanceSnapshot(10, List.of(account)));
+        Path newest = store.write(new BalanceSnapshot(20, List.of(account)));
+        byte[] bytes = Files.readAllBytes(newest);
+        bytes[bytes.length - 10] ^= 0x5A;
+        Files.write(newest, bytes);
+
+        assertEquals(10, store.loadLatest().getJournalOffset());
+    }
+
+    @Test
+    void testKeepsOnlyRetainedSnapshots() throws IOException {
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory, 2);
+        for (long offset = 1; offset <= 4; offset++) {
+            store.write(new BalanceSnapshot(offset, List.of()));
+        }
+        assertEquals(2, store.list().size());
+        assertEquals(4, store.loadLatest().getJournalOffset());
+    }
+
+    @Test
+    void testOpenRejectsOffsetPastEndOfJournal() throws IOException {
+        Path file = directory.resolve("transactions.journal");
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            journal.append(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"), "Deposit"));
+        }
+        assertThrows(IOException.class, () -> TransactionJournal.open(file, Files.size(file) + 1));
+    }
+
+    private static Map<String, BigDecimal> balances(JournalRecovery recovery) {
+        return recovery.getAccounts().stream()
+            .collect(Collectors.toMap(Account::getAccountId, account -> account.getBalance().getAmount().stripTrailingZeros()));
+    }
+}
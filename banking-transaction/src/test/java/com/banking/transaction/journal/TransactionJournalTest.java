@@ -0,0 +1,174 @@
+package com.banking.transaction.journal;
+
+import com.banking.account.domain.Account;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReplayReturnsRecordsInAppendOrder() throws IOException {
+        Path file = directory.resolve("transactions.journal");
+        Account account = new Account("CUST001", AccountType.SAVINGS, new Money(100.0, "USD"));
+        Transaction deposit = new Transaction(account.getAccountId(), TransactionType.DEPOSIT, new Money(25.5, "USD"), "Salary");
+        Transaction transfer = new Transaction(account.getAccountId(), TransactionType.TRANSFER, new Money(10.0, "USD"), "Rent", "ACC2");
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            journal.appendOpening(account);
+            journal.appendAll(List.of(deposit, transfer));
+        }
+
+        List<Object> replayed = new ArrayList<>();
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            journal.replay(collectingVisitor(replayed));
+        }
+
+        assertEquals(3, replayed.size());
+        Account opened = (Account) replayed.get(0);
+        assertEquals(account.getAccountId(), opened.getAccountId());
+        assertEquals(account.getBalance(), opened.getBalance());
+        assertTransactionEquals(deposit, (Transaction) replayed.get(1));
+        assertTransactionEquals(transfer, (Transaction) replayed.get(2));
+    }
+
+    @Test
+    void testTornTailIsTruncatedOnOpen() throws IOException {
+        Path file = directory.resolve("transactions.journal");
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            journal.append(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"), "First"));
+        }
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            assertEquals(intact, Files.size(file));
+            journal.append(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(2.0, "USD"), "Second"));
+        }
+
+        List<Object> replayed = new ArrayList<>();
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            journal.replay(collectingVisitor(replayed));
+        }
+        assertEquals(2, replayed.size());
+        assertEquals("Second", ((Transaction) replayed.get(1)).getDescription());
+    }
+
+    @Test
+    void testConcurrentAppendsShareSyncs() throws Exception {
+        int threads = 8;
+        int appendsPerThread = 200;
+        Path file = directory.resolve("transactions.journal");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String accountId = "ACC" + t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        journal.append(new Transaction(accountId, TransactionType.DEPOSIT, new Money(1.0, "USD"), "Deposit"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertTrue(journal.getSyncCount() < threads * appendsPerThread,
+                "Expected fewer syncs than appends, got " + journal.getSyncCount());
+            List<Object> replayed = new ArrayList<>();
+            journal.replay(collectingVisitor(replayed));
+            assertEquals(threads * appendsPerThread, replayed.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRecoveryRebuildsBalances() throws IOException {
+        Account first = new Account("CUST001", AccountType.CHECKING, new Money(100.0, "USD"));
+        Account second = new Account("CUST002", AccountType.SAVINGS, new Money(50.0, "USD"));
+        JournalRecovery recovery = new JournalRecovery();
+        Path file = directory.resolve("transactions.journal");
+        try (TransactionJournal journal = TransactionJournal.open(file)) {
+            journal.appendOpening(first);
+            journal.appendOpening(second);
+            journal.appendAll(List.of(
+                new Transaction(first.getAccountId(), TransactionType.DEPOSIT, new Money(20.0, "USD"), "Deposit"),
+                new Transaction(first.getAccountId(), TransactionType.TRANSFER, new Money(70.0, "USD"), "Transfer", second.getAccountId()),
+                new Transaction(second.getAccountId(), TransactionType.WITHDRAWAL, new Money(5.0, "USD"), "Withdrawal"),
+                new Transaction("UNKNOWN", TransactionType.DEPOSIT, new Money(1.0, "USD"), "Before journaling")
+            ));
+            journal.replay(recovery);
+        }
+
+        Map<String, BigDecimal> balances = recovery.getAccounts().stream()
+            .collect(Collectors.toMap(Account::getAccountId, account -> account.getBalance().getAmount()));
+        assertEquals(0, new BigDecimal("50").compareTo(balances.get(first.getAccountId())));
+        assertEquals(0, new BigDecimal("115").compareTo(balances.get(second.getAccountId())));
+        assertEquals(4, recovery.getTransactions().size());
+        assertEquals(List.of("UNKNOWN"), new ArrayList<>(recovery.getUnopenedAccountIds()));
+    }
+
+    @Test
+    void testAppendAfterCloseFails() throws IOException {
+        TransactionJournal journal = TransactionJournal.open(directory.resolve("transactions.journal"));
+        journal.close();
+        assertThrows(IllegalStateException.class, () ->
+            journal.append(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"), "Late")));
+    }
+
+    private static JournalVisitor collectingVisitor(List<Object> records) {
+        return new JournalVisitor() {
+            @Override
+            public void accountOpened(Account account) {
+                records.add(account);
+            }
+
+            @Override
+            public void transactionRecorded(Transaction transaction) {
+                records.add(transaction);
+            }
+        };
+    }
+
+    private static void assertTransactionEquals(Transaction expected, Transaction actual) {
+        assertEquals(expected.getTransactionId(), actual.getTransactionId());
+        assertEquals(expected.getAccountId(), actual.getAccountId());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(0, expected.getAmount().getAmount().compareTo(actual.getAmount().getAmount()));
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getRelatedAccountId(), actual.getRelatedAccountId());
+    }
+}
@@ -0,0 +1,101 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.Transaction;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map-backed {@link TransactionRepository} for tests and benchmarks, shipped in this
+ * module's test jar so there is one copy of it.
+ *
+ * The repository is a dynamic proxy that answers the save, delete and finder methods
+ * the services call, so the fixture does not depend on the rest of the repository
+ * interface; any other method throws {@link UnsupportedOperationException}.
+ */
+public final class InMemoryTransactionRepository {
+
+    private InMemoryTransactionRepository() {
+    }
+
+    public static TransactionRepository create() {
+        Map<String, Transaction> store = new ConcurrentHashMap<>();
+        return (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(),
+                new Class<?>[] {TransactionRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "save":
+                            Transaction transaction = (Transaction) args[0];
+                            store.put(transaction.getTransactionId(), transaction);
+                            return transaction;
+                        case "saveAll":
+                            for (Object saved : (Iterable<?>) args[0]) {
+                                store.put(((Transaction) saved).getTransactionId(), (Transaction) saved);
+                            }
+                            return args[0];
+                        case "deleteAll":
+                            for (Object deleted : (Iterable<?>) args[0]) {
+                                store.remove(((Transaction) deleted).getTransactionId());
+                            }
+                            return null;
+                        case "findById":
+                            return Optional.ofNullable(store.get((String) args[0]));
+                        case "findAll":
+                            return new ArrayList<>(store.values());
+                        case "findByAccountIdOrRelatedAccountId":
+                            return involving(store, (String) args[0], (String) args[1]);
+                        case "findHistoryBefore":
+                            return historyBefore(store, (String) args[0], (Long) args[1], (String) args[2],
+                                    (Integer) args[3]);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "InMemoryTransactionRepository";
+                        default:
+                            throw new UnsupportedOperationException(
+                                    "InMemoryTransactionRepository does not support " + method.getName());
+                    }
+                });
+    }
+
+    private static List<Transaction> involving(Map<String, Transaction> store, String accountId,
+                                               String relatedAccountId) {
+        List<Transaction> matches = new ArrayList<>();
+        for (Transaction candidate : store.values()) {
+            if (candidate.getAccountId().equals(accountId) || relatedAccountId.equals(candidate.getRelatedAccountId())) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The keyset query behind the history index: newest first by timestamp, then ID.
+     */
+    private static List<Transaction> historyBefore(Map<String, Transaction> store, String accountId,
+                                                   long beforeTimestamp, String beforeTransactionId, int limit) {
+        List<Transaction> matches = involving(store, accountId, accountId);
+        matches.sort(Comparator.comparingLong(Transaction::getTimestampMillis)
+                .thenComparing(Transaction::getTransactionId).reversed());
+        List<Transaction> page = new ArrayList<>();
+        for (Transaction candidate : matches) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (beforeTransactionId == null || candidate.getTimestampMillis() < beforeTimestamp
+                    || (candidate.getTimestampMillis() == beforeTimestamp
+                        && candidate.getTransactionId().compareTo(beforeTransactionId) < 0)) {
+                page.add(candidate);
+            }
+        }
+        return page;
+    }
+}
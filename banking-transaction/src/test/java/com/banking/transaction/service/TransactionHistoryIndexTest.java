@@ -0,0 +1,203 @@
+package com.banking.transaction.service;
+
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.domain.TransactionHistoryPage;
+import com.banking.transaction.repository.InMemoryTransactionRepository;
+import com.banking.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionHistoryIndexTest {
+
+    private TransactionRepository stored;
+    private AtomicInteger loads;
+    private AtomicInteger rowsLoaded;
+    private TransactionHistoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        stored = InMemoryTransactionRepository.create();
+        loads = new AtomicInteger();
+        rowsLoaded = new AtomicInteger();
+        index = new TransactionHistoryIndex(this::load);
+    }
+
+    private List<Transaction> load(String accountId, long beforeTimestamp, String beforeTransactionId, int limit) {
+        loads.incrementAndGet();
+        List<Transaction> page = stored.findHistoryBefore(accountId, beforeTimestamp, beforeTransactionId, limit);
+        rowsLoaded.addAndGet(page.size());
+        return page;
+    }
+
+    @Test
+    void testPagesNewestFirstUntilExhausted() {
+        for (int i = 0; i < 25; i++) {
+            store(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(i + 1.0, "USD"), "Deposit " + i));
+        }
+
+        Set<String> seen = new HashSet<>();
+        LocalDateTime previous = LocalDateTime.MAX;
+        String token = null;
+        int pages = 0;
+        do {
+            TransactionHistoryPage page = index.page("ACC1", null, null, 10, token);
+            for (Transaction transaction : page.getTransactions()) {
+                assertFalse(transaction.getTimestamp().isAfter(previous));
+                previous = transaction.getTimestamp();
+                assertTrue(seen.add(transaction.getTransactionId()));
+            }
+            token = page.getContinuationToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testTransferAppearsInBothHistories() {
+        index.page("ACC1", null, null, 10, null);
+        index.page("ACC2", null, null, 10, null);
+        Transaction transfer = new Transaction("ACC1", TransactionType.TRANSFER, new Money(5.0, "USD"), "Transfer", "ACC2");
+        store(transfer);
+
+        assertEquals(List.of(transfer), index.page("ACC1", null, null, 10, null).getTransactions());
+        assertEquals(List.of(transfer), index.page("ACC2", null, null, 10, null).getTransactions());
+    }
+
+    @Test
+    void testHistoryIsLoadedOnFirstQuery() {
+        Transaction earlier = store(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"), "Before"));
+        TransactionHistoryPage first = index.page("ACC1", null, null, 10, null);
+        assertEquals(List.of(earlier), first.getTransactions());
+
+        Transaction later = store(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(2.0, "USD"), "After"));
+        assertEquals(List.of(later, earlier), index.page("ACC1", null, null, 10, null).getTransactions());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testTimeRange() throws InterruptedException {
+        // Bounds come from the transactions themselves: timestamps are whole milliseconds
+        // from the ID sequence, so they need not agree with LocalDateTime.now()
+        store(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"), "Old"));
+        Thread.sleep(5);
+        Transaction inRange = store(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(2.0, "USD"), "In range"));
+        Thread.sleep(5);
+        Transaction newer = store(new Transaction("ACC1", TransactionType.DEPOSIT, new Money(3.0, "USD"), "New"));
+
+        TransactionHistoryPage page = index.page("ACC1", inRange.getTimestamp(), newer.getTimestamp(), 10, null);
+        assertEquals(List.of(inRange), page.getTransactions());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void testSameMillisecondIsPagedByTransactionId() {
+        for (int i = 0; i < 30; i++) {
+            stored.save(new Transaction(String.format("TXN%03d", i), "ACC1", TransactionType.DEPOSIT,
+                    new Money(1.0, "USD"), 1_000L + i / 10, "Deposit", null));
+        }
+
+        List<String> ids = new ArrayList<>();
+        String token = null;
+        do {
+            TransactionHistoryPage page = index.page("ACC1", null, null, 4, token);
+            page.getTransactions().forEach(transaction -> ids.add(transaction.getTransactionId()));
+            token = page.getContinuationToken();
+        } while (token != null);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 29; i >= 0; i--) {
+            expected.add(String.format("TXN%03d", i));
+        }
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void testBoundsFinerThanAMillisecondAreExact() {
+        Transaction transaction = new Transaction("TXN001", "ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"),
+                1_000L, "Deposit", null);
+        stored.save(transaction);
+        LocalDateTime instant = transaction.getTimestamp();
+
+        assertEquals(List.of(transaction),
+                index.page("ACC1", null, instant.plusNanos(500), 10, null).getTransactions());
+        assertEquals(List.of(transaction), index.page("ACC1", instant, null, 10, null).getTransactions());
+        assertTrue(index.page("ACC1", instant.plusNanos(500), null, 10, null).getTransactions().isEmpty());
+        assertTrue(index.page("ACC1", null, instant, 10, null).getTransactions().isEmpty());
+    }
+
+    @Test
+    void testFirstPageLoadsOneChunk() {
+        for (int i = 0; i < 10_000; i++) {
+            stored.save(new Transaction("TXN" + i, "ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"),
+                    1_000L + i, "Deposit", null));
+        }
+
+        TransactionHistoryPage first = index.page("ACC1", null, null, 50, null);
+        assertEquals("TXN9999", first.getTransactions().get(0).getTransactionId());
+        assertEquals(TransactionHistoryIndex.LOAD_CHUNK, rowsLoaded.get());
+
+        index.page("ACC1", null, null, 50, first.getContinuationToken());
+        assertEquals(2 * TransactionHistoryIndex.LOAD_CHUNK, rowsLoaded.get());
+    }
+
+    @Test
+    void testTokenAfterEvictionReadsOnlyThatPage() {
+        for (int i = 0; i < 1_000; i++) {
+            stored.save(new Transaction("TXN" + i, "ACC1", TransactionType.DEPOSIT, new Money(1.0, "USD"),
+                    1_000L + i, "Deposit", null));
+        }
+        String token = index.page("ACC1", null, null, 500, null).getContinuationToken();
+
+        TransactionHistoryIndex restarted = new TransactionHistoryIndex(this::load);
+        rowsLoaded.set(0);
+        TransactionHistoryPage page = restarted.page("ACC1", null, null, 10, token);
+
+        assertEquals("TXN499", page.getTransactions().get(0).getTransactionId());
+        assertEquals(11, rowsLoaded.get());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void testInvalidContinuationToken() {
+        assertThrows(IllegalArgumentException.class, () -> index.page("ACC1", null, null, 10, "not-a-token"));
+    }
+
+    @Test
+    void testEvictedHistoryIsReloadedOnQuery() {
+        index = new TransactionHistoryIndex((accountId, timestamp, transactionId, limit) -> {
+            loads.incrementAndGet();
+            return List.of();
+        }, 10);
+        for (int i = 0; i < 100; i++) {
+            index.page("ACC" + i, null, null, 10, null);
+        }
+        assertTrue(index.loadedHistories() <= 10);
+
+        int before = loads.get();
+        for (int i = 0; i < 100; i++) {
+            index.page("ACC" + i, null, null, 10, null);
+        }
+        assertTrue(loads.get() - before >= 90);
+        assertTrue(index.loadedHistories() <= 10);
+    }
+
+    private Transaction store(Transaction transaction) {
+        stored.save(transaction);
+        index.add(transaction);
+        return transaction;
+    }
+}
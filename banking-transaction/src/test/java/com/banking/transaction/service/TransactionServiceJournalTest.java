@@ -0,0 +1,103 @@
+package com.banking.transaction.service;
+
+import com.banking.account.service.AccountService;
+import com.banking.account.service.InMemoryAccountRepository;
+import com.banking.account.util.LocalKmsClient;
+import com.banking.core.domain.AccountType;
+import com.banking.core.domain.Money;
+import com.banking.core.domain.TransactionType;
+import com.banking.transaction.domain.BatchEntry;
+import com.banking.transaction.domain.Transaction;
+import com.banking.transaction.journal.TransactionJournal;
+import com.banking.transaction.repository.InMemoryTransactionRepository;
+import com.banking.transaction.repository.TransactionRepository;
+import com.banking.transaction.util.InputValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionServiceJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private AccountService accountService;
+    private TransactionRepository transactionRepository;
+    private Path journalFile;
+
+    @BeforeEach
+    void setUp() {
+        accountService = new AccountService(new InMemoryAccountRepository(), new LocalKmsClient(), "test-key",
+                directory.resolve("account-index.keys"));
+        transactionRepository = InMemoryTransactionRepository.create();
+        journalFile = directory.resolve("transactions.journal");
+    }
+
+    private TransactionService newService(TransactionJournal journal) {
+        return new TransactionService(accountService, transactionRepository, new InputValidator(), journal);
+    }
+
+    @Test
+    void testFailedJournalAppendLeavesBalancesUnchanged() throws Exception {
+        TransactionJournal journal = TransactionJournal.open(journalFile);
+        TransactionService transactionService = newService(journal);
+        String from = transactionService.openAccount("CUST001", AccountType.CHECKING, new Money(100.0, "USD")).getAccountId();
+        String to = transactionService.openAccount("CUST002", AccountType.CHECKING, new Money(50.0, "USD")).getAccountId();
+        journal.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> transactionService.deposit(from, new Money(25.0, "USD"), "Salary"));
+        assertThrows(IllegalStateException.class,
+                () -> transactionService.transfer(from, to, new Money(30.0, "USD"), "Rent"));
+        assertThrows(IllegalStateException.class, () -> transactionService.applyBatch(Arrays.asList(
+                new BatchEntry(TransactionType.WITHDRAWAL, from, null, new Money(5.0, "USD"), "Fee"))));
+
+        assertEquals(new Money(100.0, "USD"), accountService.getBalance(from));
+        assertEquals(new Money(50.0, "USD"), accountService.getBalance(to));
+        assertTrue(transactionRepository.findAll().isEmpty());
+        assertTrue(transactionService.getTransactionsByAccount(from).isEmpty());
+
+        try (TransactionJournal reopened = TransactionJournal.open(journalFile)) {
+            assertEquals(2, newService(reopened).recoverFromJournal());
+        }
+        assertEquals(new Money(100.0, "USD"), accountService.getBalance(from));
+        assertEquals(new Money(50.0, "USD"), accountService.getBalance(to));
+    }
+
+    @Test
+    void testFailedOpeningAppendStoresNoAccount() throws Exception {
+        TransactionJournal journal = TransactionJournal.open(journalFile);
+        TransactionService transactionService = newService(journal);
+        journal.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> transactionService.openAccount("CUST001", AccountType.CHECKING, new Money(100.0, "USD")));
+
+        assertTrue(accountService.getAccountsByCustomer("CUST001").isEmpty());
+        assertTrue(accountService.getAllAccounts().isEmpty());
+    }
+
+    @Test
+    void testAcknowledgedTransactionsSurviveRecovery() throws Exception {
+        String from;
+        String to;
+        try (TransactionJournal journal = TransactionJournal.open(journalFile)) {
+            TransactionService transactionService = newService(journal);
+            from = transactionService.openAccount("CUST001", AccountType.CHECKING, new Money(100.0, "USD")).getAccountId();
+            to = transactionService.openAccount("CUST002", AccountType.CHECKING, new Money(50.0, "USD")).getAccountId();
+            transactionService.deposit(from, new Money(25.0, "USD"), "Salary");
+            transactionService.transfer(from, to, new Money(30.0, "USD"), "Rent");
+        }
+
+        try (TransactionJournal reopened = TransactionJournal.open(journalFile)) {
+            newService(reopened).recoverFromJournal();
+        }
+        assertEquals(new Money(95.0, "USD"), accountService.getBalance(from));
+        assertEquals(new Money(80.0, "USD"), accountService.getBalance(to));
+    }
+}